@@ -0,0 +1,15 @@
+package ge.evstore.ev_store.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a GET handler whose response only depends on the request and the catalog. Such handlers get the catalog
+ * version as ETag and Last-Modified, and matching conditional requests are answered with 304 before the handler runs.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CatalogVersioned {
+}
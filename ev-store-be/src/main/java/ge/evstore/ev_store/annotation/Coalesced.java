@@ -0,0 +1,17 @@
+package ge.evstore.ev_store.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Concurrent calls of the annotated method with the same key share one execution and all receive its result.
+ * The key is built by the named {@link org.springframework.cache.interceptor.KeyGenerator} bean, or from the raw
+ * arguments when none is given.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Coalesced {
+    String keyGenerator() default "";
+}
@@ -0,0 +1,16 @@
+package ge.evstore.ev_store.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a handler serving a single product, identified by the named path variable. Its requests count as product
+ * views before any other interceptor runs, so conditional requests answered with 304 are counted as well.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CountsProductView {
+    String pathVariable() default "id";
+}
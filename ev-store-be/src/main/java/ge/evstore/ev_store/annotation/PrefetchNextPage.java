@@ -0,0 +1,20 @@
+package ge.evstore.ev_store.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * After the annotated method returns a {@link org.springframework.data.domain.Slice} with a next page, the next page
+ * is loaded in the background through the same proxy, so it is cached before the client asks for it. The page
+ * number is the argument at {@link #pageArgument()}, keys for hit tracking come from the named
+ * {@link org.springframework.cache.interceptor.KeyGenerator} bean.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PrefetchNextPage {
+    String keyGenerator();
+
+    int pageArgument() default 0;
+}
@@ -0,0 +1,48 @@
+package ge.evstore.ev_store.aspect;
+
+import ge.evstore.ev_store.annotation.Coalesced;
+import ge.evstore.ev_store.cache.SingleFlight;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.cache.interceptor.SimpleKeyGenerator;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+
+/**
+ * Applies {@link Coalesced}. Runs outside the transaction and cache advice, so callers waiting for an in-flight
+ * execution do not hold a database connection.
+ */
+@Component
+@Aspect
+@Order(CoalescingAspect.ORDER)
+@Slf4j
+public class CoalescingAspect {
+    // must stay behind ExposeInvocationInterceptor (HIGHEST_PRECEDENCE + 1), which binds the annotation argument
+    public static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 2;
+
+    private final BeanFactory beanFactory;
+    private final SingleFlight<Object, Object> singleFlight = new SingleFlight<>();
+
+    public CoalescingAspect(final BeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+
+    @Around("@annotation(coalesced)")
+    public Object coalesce(final ProceedingJoinPoint pjp, final Coalesced coalesced) throws Throwable {
+        final Method method = ((MethodSignature) pjp.getSignature()).getMethod();
+        final KeyGenerator keyGenerator = coalesced.keyGenerator().isEmpty()
+                ? new SimpleKeyGenerator()
+                : beanFactory.getBean(coalesced.keyGenerator(), KeyGenerator.class);
+        final Object key = new SimpleKey(method, keyGenerator.generate(pjp.getTarget(), method, pjp.getArgs()));
+        return singleFlight.execute(key, pjp::proceed);
+    }
+}
@@ -0,0 +1,53 @@
+package ge.evstore.ev_store.aspect;
+
+import ge.evstore.ev_store.annotation.PrefetchNextPage;
+import ge.evstore.ev_store.cache.ListingPrefetcher;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+
+/**
+ * Applies {@link PrefetchNextPage}. Runs outside the cache advice, so pages served from the cache trigger the
+ * prefetch of their successor too, and the prefetch calls the proxy, so the loaded page lands in the cache. Like
+ * {@link CoalescingAspect} it must stay behind ExposeInvocationInterceptor.
+ */
+@Component
+@Aspect
+@Order(CoalescingAspect.ORDER + 1)
+public class ListingPrefetchAspect {
+    private final BeanFactory beanFactory;
+    private final ListingPrefetcher listingPrefetcher;
+
+    public ListingPrefetchAspect(final BeanFactory beanFactory, final ListingPrefetcher listingPrefetcher) {
+        this.beanFactory = beanFactory;
+        this.listingPrefetcher = listingPrefetcher;
+    }
+
+    @Around("@annotation(prefetchNextPage)")
+    public Object prefetch(final ProceedingJoinPoint pjp, final PrefetchNextPage prefetchNextPage) throws Throwable {
+        if (listingPrefetcher.isPrefetching()) {
+            return pjp.proceed();
+        }
+        final Method method = ((MethodSignature) pjp.getSignature()).getMethod();
+        final KeyGenerator keyGenerator = beanFactory.getBean(prefetchNextPage.keyGenerator(), KeyGenerator.class);
+        final Object[] args = pjp.getArgs();
+        final Object result = listingPrefetcher.serve(keyGenerator.generate(pjp.getTarget(), method, args), pjp::proceed);
+        if (result instanceof Slice<?> slice && slice.hasNext()) {
+            final Object[] next = args.clone();
+            next[prefetchNextPage.pageArgument()] = (Integer) args[prefetchNextPage.pageArgument()] + 1;
+            final Object proxy = pjp.getThis();
+            final Method proxyMethod = ReflectionUtils.findMethod(proxy.getClass(), method.getName(), method.getParameterTypes());
+            listingPrefetcher.prefetch(keyGenerator.generate(pjp.getTarget(), method, next), () -> proxyMethod.invoke(proxy, next));
+        }
+        return result;
+    }
+}
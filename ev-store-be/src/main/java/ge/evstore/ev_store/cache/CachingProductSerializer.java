@@ -0,0 +1,70 @@
+package ge.evstore.ev_store.cache;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.json.JsonGeneratorImpl;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import ge.evstore.ev_store.response.ProductResponse;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+/**
+ * Writes product responses from {@link ProductJsonCache} fragments, so list and bulk responses are assembled from
+ * already serialized products. Misses are serialized by the regular bean serializer and cached. Responses without a
+ * version, pretty printed output and non-JSON formats always go through the regular serializer.
+ */
+public class CachingProductSerializer extends StdSerializer<ProductResponse> implements ContextualSerializer, ResolvableSerializer {
+    private static final JsonFactory FRAGMENT_FACTORY = new JsonFactory();
+
+    private final JsonSerializer<Object> delegate;
+    private final ProductJsonCache cache;
+
+    @SuppressWarnings("unchecked")
+    public CachingProductSerializer(final JsonSerializer<?> delegate, final ProductJsonCache cache) {
+        super(ProductResponse.class);
+        this.delegate = (JsonSerializer<Object>) delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public void serialize(final ProductResponse value, final JsonGenerator gen, final SerializerProvider provider) throws IOException {
+        if (value.getProductId() == null || value.getVersion() == null || !(gen instanceof JsonGeneratorImpl) || gen.getPrettyPrinter() != null) {
+            delegate.serialize(value, gen, provider);
+            return;
+        }
+        SerializableString json = cache.get(value.getProductId(), value.getVersion(), value.getCategoryName());
+        if (json == null) {
+            final StringWriter writer = new StringWriter();
+            try (JsonGenerator fragmentGen = FRAGMENT_FACTORY.createGenerator(writer)) {
+                delegate.serialize(value, fragmentGen, provider);
+            }
+            json = new SerializedString(writer.toString());
+            cache.put(value.getProductId(), value.getVersion(), value.getCategoryName(), json);
+        }
+        gen.writeRawValue(json);
+    }
+
+    @Override
+    public JsonSerializer<?> createContextual(final SerializerProvider provider, final BeanProperty property) throws JsonMappingException {
+        if (delegate instanceof ContextualSerializer contextual) {
+            return new CachingProductSerializer(contextual.createContextual(provider, property), cache);
+        }
+        return this;
+    }
+
+    @Override
+    public void resolve(final SerializerProvider provider) throws JsonMappingException {
+        if (delegate instanceof ResolvableSerializer resolvable) {
+            resolvable.resolve(provider);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package ge.evstore.ev_store.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import ge.evstore.ev_store.catalog.CatalogSnapshot;
+import ge.evstore.ev_store.config.CacheConfig;
+import ge.evstore.ev_store.entity.Product;
+import ge.evstore.ev_store.event.CatalogChangedEvent;
+import ge.evstore.ev_store.event.PopularityRankingChangedEvent;
+import ge.evstore.ev_store.response.ProductResponse;
+import ge.evstore.ev_store.service.interf.CatalogIndexService;
+import ge.evstore.ev_store.service.interf.ProductPopularityService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Evicts cached product reads after committed catalog writes. A product change only drops its own by-id entries and
+ * the listing entries whose filter could select the product before or after the change; category changes drop
+ * everything since category names are denormalized into every response.
+ * <p>
+ * The state before the change is read from the catalog snapshot before the index patches it, and eviction runs
+ * after the patch, so a listing cached from the old snapshot in between is dropped as well.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class CatalogCacheInvalidator {
+    private final CacheManager cacheManager;
+    private final CatalogIndexService catalogIndexService;
+    private final ListingPrefetcher listingPrefetcher;
+
+    private final Map<CatalogChangedEvent, Optional<ProductResponse>> previousStates = new ConcurrentHashMap<>();
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void capturePreviousState(final CatalogChangedEvent event) {
+        if (event.getType() != CatalogChangedEvent.Type.CATEGORY_CHANGED) {
+            previousStates.put(event, catalogIndexService.getSnapshot().flatMap(snapshot -> snapshot.findById(event.getEntityId())));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(CatalogChangedEvent.CACHE_LISTENER_ORDER)
+    public void evict(final CatalogChangedEvent event) {
+        final Optional<ProductResponse> previous = previousStates.remove(event);
+        final Optional<CatalogSnapshot> snapshot = catalogIndexService.getSnapshot();
+        if (event.getType() == CatalogChangedEvent.Type.CATEGORY_CHANGED || previous == null || snapshot.isEmpty()) {
+            log.info("Clearing product caches for {}", event);
+            Stream.of(CacheConfig.PRODUCT_LISTINGS, CacheConfig.PRODUCT_BY_ID, CacheConfig.PRODUCTS_BY_IDS)
+                    .map(this::nativeCache)
+                    .forEach(Cache::invalidateAll);
+            listingPrefetcher.forget(key -> true);
+            return;
+        }
+        final Long productId = event.getEntityId();
+        nativeCache(CacheConfig.PRODUCT_BY_ID).invalidate(productId);
+        nativeCache(CacheConfig.PRODUCTS_BY_IDS).asMap().keySet()
+                .removeIf(key -> key instanceof Collection<?> ids && ids.contains(productId));
+
+        final List<ProductResponse> states = Stream.concat(previous.stream(), Optional.ofNullable(event.getProduct()).map(CatalogCacheInvalidator::toFilterRow).stream())
+                .toList();
+        final Predicate<ProductListingKey> affected = key -> states.stream()
+                .anyMatch(state -> key.getFilter().mayMatch(state, snapshot.get()::getDescendantCategoryIds));
+        evictListings(key -> !(key instanceof ProductListingKey listingKey) || affected.test(listingKey));
+    }
+
+    @EventListener
+    @Order(CatalogChangedEvent.CACHE_LISTENER_ORDER)
+    public void evictPopularityListings(final PopularityRankingChangedEvent event) {
+        evictListings(key -> !(key instanceof ProductListingKey listingKey) || ProductPopularityService.SORT_PROPERTY.equals(listingKey.getSortBy()));
+    }
+
+    // prefetched pages are tracked by the same keys, a page evicted before it was requested never becomes a hit
+    private void evictListings(final Predicate<Object> evicted) {
+        nativeCache(CacheConfig.PRODUCT_LISTINGS).asMap().keySet().removeIf(evicted);
+        listingPrefetcher.forget(evicted);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Cache<Object, Object> nativeCache(final String name) {
+        return ((CaffeineCache) cacheManager.getCache(name)).getNativeCache();
+    }
+
+    // only the fields listing filters look at
+    private static ProductResponse toFilterRow(final Product product) {
+        return ProductResponse.builder()
+                .productId(product.getId())
+                .itemCode(product.getItemCode())
+                .price(product.getPrice())
+                .stockAmount(product.getStockAmount())
+                .isPopular(product.getIsPopular())
+                .comingSoon(product.getComingSoon())
+                .categoryId(product.getCategory() == null ? null : product.getCategory().getId())
+                .build();
+    }
+}
@@ -0,0 +1,54 @@
+package ge.evstore.ev_store.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Caches total row counts of listing queries keyed by their normalized filter, so paging through a listing runs
+ * the count query once instead of on every page. Owners invalidate the affected keys when the underlying rows change.
+ * Keys include free-text filters, so only the given number of them is kept.
+ */
+public class CountStore<K> {
+    private final Cache<K, Long> counts;
+    // bumped on every invalidation so a count computed concurrently with a write is not stored; checking it and
+    // storing the count happen under the lock of this, like invalidating, so no invalidation can fall in between
+    private final AtomicLong generation = new AtomicLong();
+
+    public CountStore(final long maximumSize) {
+        this.counts = Caffeine.newBuilder().maximumSize(maximumSize).build();
+    }
+
+    public long getOrCount(final K key, final LongSupplier counter) {
+        final Long cached = counts.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        final long before = generation.get();
+        final long count = counter.getAsLong();
+        synchronized (this) {
+            if (generation.get() == before) {
+                counts.put(key, count);
+            }
+        }
+        return count;
+    }
+
+    public synchronized void invalidateIf(final Predicate<K> affected) {
+        generation.incrementAndGet();
+        counts.asMap().keySet().removeIf(affected);
+    }
+
+    public synchronized void invalidateAll() {
+        generation.incrementAndGet();
+        counts.invalidateAll();
+    }
+
+    public long size() {
+        counts.cleanUp();
+        return counts.estimatedSize();
+    }
+}
@@ -0,0 +1,70 @@
+package ge.evstore.ev_store.cache;
+
+import ge.evstore.ev_store.catalog.ProductFilter;
+import ge.evstore.ev_store.entity.Order;
+import ge.evstore.ev_store.entity.OrderStatus;
+import ge.evstore.ev_store.event.CatalogChangedEvent;
+import ge.evstore.ev_store.event.OrderChangedEvent;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Objects;
+import java.util.function.LongSupplier;
+
+/**
+ * Totals of the product and order listings, counted once per filter and dropped only for the filters a committed
+ * change can affect.
+ */
+@Component
+@Slf4j
+public class ListingCountCache {
+    // filters counted per listing, least recently used ones are dropped beyond it
+    private static final int MAX_CACHED_FILTERS = 10_000;
+
+    private final CountStore<ProductFilter> productCounts = new CountStore<>(MAX_CACHED_FILTERS);
+    private final CountStore<OrderFilter> orderCounts = new CountStore<>(MAX_CACHED_FILTERS);
+
+    public long countProducts(final ProductFilter filter, final LongSupplier counter) {
+        return productCounts.getOrCount(filter, counter);
+    }
+
+    public long countOrders(final Long orderId, final OrderStatus status, final LongSupplier counter) {
+        return orderCounts.getOrCount(new OrderFilter(orderId, status), counter);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @org.springframework.core.annotation.Order(CatalogChangedEvent.CACHE_LISTENER_ORDER)
+    public void onCatalogChanged(final CatalogChangedEvent event) {
+        if (event.getType() == CatalogChangedEvent.Type.CATEGORY_CHANGED) {
+            productCounts.invalidateAll();
+            return;
+        }
+        // a single product can move in or out of any filter except one pinned to a different product id
+        productCounts.invalidateIf(filter -> filter.getProductId() == null || filter.getProductId().equals(event.getEntityId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderChanged(final OrderChangedEvent event) {
+        final Order order = event.getOrder();
+        switch (event.getType()) {
+            case PLACED -> orderCounts.invalidateIf(filter -> filter.matchesId(order.getId())
+                    && (filter.getStatus() == null || filter.getStatus() == order.getStatus()));
+            // unfiltered totals stay the same when an order only changes status
+            case STATUS_CHANGED -> orderCounts.invalidateIf(filter -> filter.matchesId(order.getId())
+                    && (filter.getStatus() == event.getPreviousStatus() || filter.getStatus() == order.getStatus())
+                    && filter.getStatus() != null);
+        }
+    }
+
+    @Value
+    private static class OrderFilter {
+        Long id;
+        OrderStatus status;
+
+        boolean matchesId(final Long orderId) {
+            return id == null || Objects.equals(id, orderId);
+        }
+    }
+}
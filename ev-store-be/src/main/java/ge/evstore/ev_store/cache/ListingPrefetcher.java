@@ -0,0 +1,163 @@
+package ge.evstore.ev_store.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * Runs speculative page loads on a small pool of low priority daemon threads with a bounded queue. Prefetches are
+ * skipped rather than queued when the storefront is busy, i.e. more listing requests than configured are in flight
+ * or the queue is full, so they never compete with real requests.
+ * <p>
+ * Enabled by default, {@code catalog.prefetch.enabled=false} turns it off. Prefetched keys are remembered until
+ * requested, until they would have expired from the listing cache, or until the listing cache evicts them. Metrics:
+ * {@code catalog.listing.prefetch} by outcome (submitted, busy, queue_full, failed), {@code catalog.listing.prefetch.hits}
+ * and {@code .unused} for prefetched pages that were and were not requested, and {@code .hit.ratio} of the two.
+ */
+@Component
+@Slf4j
+public class ListingPrefetcher implements DisposableBean {
+    private static final ThreadLocal<Boolean> PREFETCHING = ThreadLocal.withInitial(() -> false);
+
+    private final boolean enabled;
+    private final int maxInFlight;
+    private final ThreadPoolExecutor executor;
+    private final Cache<Object, Boolean> prefetched;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final Counter submitted;
+    private final Counter busy;
+    private final Counter queueFull;
+    private final Counter failed;
+    private final Counter hits;
+    private final Counter unused;
+
+    public ListingPrefetcher(final MeterRegistry meterRegistry,
+                             @Value("${catalog.prefetch.enabled:true}") final boolean enabled,
+                             @Value("${catalog.prefetch.threads:2}") final int threads,
+                             @Value("${catalog.prefetch.queue-capacity:32}") final int queueCapacity,
+                             @Value("${catalog.prefetch.max-in-flight:16}") final int maxInFlight,
+                             @Value("${catalog.prefetch.track-for:PT10M}") final Duration trackFor) {
+        this.enabled = enabled;
+        this.maxInFlight = maxInFlight;
+        final AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            final Thread thread = new Thread(runnable, "listing-prefetch-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        this.submitted = outcome(meterRegistry, "submitted");
+        this.busy = outcome(meterRegistry, "busy");
+        this.queueFull = outcome(meterRegistry, "queue_full");
+        this.failed = outcome(meterRegistry, "failed");
+        this.hits = meterRegistry.counter("catalog.listing.prefetch.hits");
+        this.unused = meterRegistry.counter("catalog.listing.prefetch.unused");
+        this.prefetched = Caffeine.newBuilder()
+                .expireAfterWrite(trackFor)
+                .maximumSize(10_000)
+                .removalListener((key, value, cause) -> {
+                    if (cause.wasEvicted()) {
+                        unused.increment();
+                    }
+                })
+                .build();
+        Gauge.builder("catalog.listing.prefetch.hit.ratio", this, ListingPrefetcher::hitRatio).register(meterRegistry);
+        Gauge.builder("catalog.listing.prefetch.queue", executor, e -> e.getQueue().size()).register(meterRegistry);
+    }
+
+    /**
+     * True on prefetch threads, whose loads must not trigger further prefetches or count as requests.
+     */
+    public boolean isPrefetching() {
+        return PREFETCHING.get();
+    }
+
+    /**
+     * Serves a client request, counting it as a hit when its key was prefetched and as in flight while it runs.
+     */
+    public Object serve(final Object key, final SingleFlight.Call<Object> call) throws Throwable {
+        if (prefetched.asMap().remove(key) != null) {
+            hits.increment();
+        }
+        inFlight.incrementAndGet();
+        try {
+            return call.call();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    public void prefetch(final Object key, final SingleFlight.Call<?> load) {
+        if (!enabled) {
+            return;
+        }
+        // the request that triggers the prefetch is still in flight
+        if (inFlight.get() > maxInFlight) {
+            busy.increment();
+            return;
+        }
+        if (prefetched.asMap().putIfAbsent(key, Boolean.TRUE) != null) {
+            return;
+        }
+        try {
+            executor.execute(() -> load(key, load));
+            submitted.increment();
+        } catch (final RejectedExecutionException e) {
+            prefetched.invalidate(key);
+            queueFull.increment();
+        }
+    }
+
+    /**
+     * Stops tracking prefetched keys the listing cache evicted, counting them as unused, so a later request for the
+     * same key is a fresh load rather than a hit.
+     */
+    public void forget(final Predicate<Object> evicted) {
+        prefetched.asMap().keySet().removeIf(key -> {
+            if (!evicted.test(key)) {
+                return false;
+            }
+            unused.increment();
+            return true;
+        });
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private void load(final Object key, final SingleFlight.Call<?> load) {
+        PREFETCHING.set(true);
+        try {
+            load.call();
+        } catch (final Throwable t) {
+            prefetched.invalidate(key);
+            failed.increment();
+            log.debug("Prefetch of {} failed", key, t);
+        } finally {
+            PREFETCHING.remove();
+        }
+    }
+
+    private double hitRatio() {
+        final double resolved = hits.count() + unused.count();
+        return resolved == 0 ? Double.NaN : hits.count() / resolved;
+    }
+
+    private static Counter outcome(final MeterRegistry meterRegistry, final String outcome) {
+        return meterRegistry.counter("catalog.listing.prefetch", "outcome", outcome);
+    }
+}
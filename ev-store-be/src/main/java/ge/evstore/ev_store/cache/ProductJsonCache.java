@@ -0,0 +1,57 @@
+package ge.evstore.ev_store.cache;
+
+import com.fasterxml.jackson.core.SerializableString;
+import ge.evstore.ev_store.event.CatalogChangedEvent;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serialized JSON of each product response, keyed by product id and valid for one product version and category name.
+ * A product write bumps the version, so stale fragments are simply never hit again. The category name is denormalized
+ * into the fragment without bumping the version when the category is renamed, so it is compared as well: a response
+ * built before a rename that is still in flight or in a Spring cache may put a fragment with the old name after the
+ * clear below, but that fragment is only ever served for responses carrying the old name themselves.
+ */
+@Component
+@Slf4j
+public class ProductJsonCache {
+    private final Map<Long, Fragment> fragments = new ConcurrentHashMap<>();
+
+    public SerializableString get(final Long productId, final Long version, final String categoryName) {
+        final Fragment fragment = fragments.get(productId);
+        return fragment != null && fragment.getVersion().equals(version) && Objects.equals(fragment.getCategoryName(), categoryName)
+                ? fragment.getJson() : null;
+    }
+
+    public void put(final Long productId, final Long version, final String categoryName, final SerializableString json) {
+        fragments.put(productId, new Fragment(version, categoryName, json));
+    }
+
+    public int size() {
+        return fragments.size();
+    }
+
+    // fragments of renamed categories would never be hit again, clearing just frees them
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(CatalogChangedEvent.CACHE_LISTENER_ORDER)
+    public void onCatalogChanged(final CatalogChangedEvent event) {
+        switch (event.getType()) {
+            case PRODUCT_SAVED, PRODUCT_DELETED -> fragments.remove(event.getEntityId());
+            case CATEGORY_CHANGED -> fragments.clear();
+        }
+    }
+
+    @Value
+    private static class Fragment {
+        Long version;
+        String categoryName;
+        SerializableString json;
+    }
+}
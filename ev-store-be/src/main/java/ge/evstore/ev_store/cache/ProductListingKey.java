@@ -0,0 +1,26 @@
+package ge.evstore.ev_store.cache;
+
+import ge.evstore.ev_store.catalog.ProductFilter;
+import lombok.Value;
+
+/**
+ * Cache key of a product listing page. Built from the raw {@code getAllProducts} arguments, normalized through
+ * {@link ProductFilter} so equivalent requests share an entry and invalidation can inspect the filter.
+ */
+@Value
+public class ProductListingKey {
+    ProductFilter filter;
+    int page;
+    int size;
+    String sortBy;
+    boolean descending;
+    boolean withTotal;
+
+    // argument order of ProductService.getAllProducts
+    public static ProductListingKey of(final Object[] params) {
+        final ProductFilter filter = ProductFilter.of((String) params[4], (String) params[5], (Double) params[6], (Double) params[7],
+                (Boolean) params[8], (Boolean) params[9], (Long) params[10], (String) params[11], (Boolean) params[12]);
+        return new ProductListingKey(filter, (Integer) params[0], (Integer) params[1], (String) params[2],
+                "desc".equalsIgnoreCase((String) params[3]), (Boolean) params[13]);
+    }
+}
@@ -0,0 +1,52 @@
+package ge.evstore.ev_store.cache;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Coalesces concurrent executions per key: the first caller runs the call, callers arriving while it is in flight
+ * wait for and receive the same result or exception. Nothing is kept once the call completes.
+ */
+public class SingleFlight<K, V> {
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    @FunctionalInterface
+    public interface Call<V> {
+        V call() throws Throwable;
+    }
+
+    public V execute(final K key, final Call<V> call) throws Throwable {
+        final CompletableFuture<V> own = new CompletableFuture<>();
+        final CompletableFuture<V> running = inFlight.putIfAbsent(key, own);
+        if (running != null) {
+            return await(running);
+        }
+        try {
+            final V result = call.call();
+            own.complete(result);
+            return result;
+        } catch (final Throwable t) {
+            own.completeExceptionally(t);
+            throw t;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private V await(final CompletableFuture<V> running) throws Throwable {
+        try {
+            return running.get();
+        } catch (final ExecutionException e) {
+            throw e.getCause();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,458 @@
+package ge.evstore.ev_store.catalog;
+
+import ge.evstore.ev_store.response.ProductResponse;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Immutable in-memory copy of the product catalog.
+ * Every product gets a dense ordinal; boolean filters and categories are kept as bitsets over those ordinals and
+ * each supported sort order is kept as a pre-sorted ordinal array, so listings are answered by AND-ing bitsets and
+ * walking one array. Writes never mutate a snapshot, they produce a new one via {@link #withProduct} / {@link #withoutProduct}
+ * that patches copies of the arrays: the written ordinal is removed from and binary-search inserted into each sort
+ * order and only the bitsets it touches are copied, so a write costs array copies rather than a re-sort.
+ * <p>
+ * Rows are copied on the way in and on the way out, callers and caches never share a row with the snapshot.
+ */
+public final class CatalogSnapshot {
+    private static final Comparator<String> STRING_NULLS_LAST = Comparator.nullsLast(Comparator.naturalOrder());
+    // ties are broken by id, so every row has exactly one position in each order
+    private static final Map<String, Comparator<ProductResponse>> SORT_KEYS = Map.of(
+            "id", Comparator.comparing(ProductResponse::getProductId),
+            "price", withIdTieBreak(Comparator.comparing(ProductResponse::getPrice, Comparator.nullsLast(Comparator.naturalOrder()))),
+            "nameGE", withIdTieBreak(Comparator.comparing(ProductResponse::getNameGE, STRING_NULLS_LAST)),
+            "nameENG", withIdTieBreak(Comparator.comparing(ProductResponse::getNameENG, STRING_NULLS_LAST)),
+            "nameRUS", withIdTieBreak(Comparator.comparing(ProductResponse::getNameRUS, STRING_NULLS_LAST))
+    );
+
+    private final ProductResponse[] rows;
+    private final Map<Long, Integer> ordinalById;
+    private final BitSet inStock;
+    private final BitSet popular;
+    private final BitSet comingSoon;
+    private final Map<Long, BitSet> byCategory;
+    private final Map<Long, Long> parentByCategory;
+    private final Map<Long, List<Long>> childrenByCategory;
+    private final Map<String, int[]> ordinalsBySortKey;
+    // Ascending prices of priced rows, aligned with ordinalsBySortKey.get("price")
+    private final double[] sortedPrices;
+
+    private CatalogSnapshot(final Collection<ProductResponse> products, final Map<Long, Long> parentByCategory) {
+        this.rows = products.stream().map(CatalogSnapshot::copy).toArray(ProductResponse[]::new);
+        this.parentByCategory = Collections.unmodifiableMap(new HashMap<>(parentByCategory));
+        this.ordinalById = new HashMap<>(rows.length * 2);
+        this.inStock = new BitSet(rows.length);
+        this.popular = new BitSet(rows.length);
+        this.comingSoon = new BitSet(rows.length);
+        this.byCategory = new HashMap<>();
+        for (int ordinal = 0; ordinal < rows.length; ordinal++) {
+            final ProductResponse row = rows[ordinal];
+            ordinalById.put(row.getProductId(), ordinal);
+            inStock.set(ordinal, isInStock(row));
+            popular.set(ordinal, Boolean.TRUE.equals(row.getIsPopular()));
+            comingSoon.set(ordinal, Boolean.TRUE.equals(row.getComingSoon()));
+            if (row.getCategoryId() != null) {
+                byCategory.computeIfAbsent(row.getCategoryId(), id -> new BitSet(rows.length)).set(ordinal);
+            }
+        }
+        this.childrenByCategory = new HashMap<>();
+        parentByCategory.forEach((child, parent) -> {
+            if (parent != null) {
+                childrenByCategory.computeIfAbsent(parent, id -> new ArrayList<>()).add(child);
+            }
+        });
+        this.ordinalsBySortKey = new HashMap<>();
+        SORT_KEYS.forEach((key, comparator) -> ordinalsBySortKey.put(key, sortOrdinals(comparator)));
+        this.sortedPrices = sortedPrices(rows, ordinalsBySortKey.get("price"));
+    }
+
+    // a patched copy of source; the category tree is shared since writes never change it
+    private CatalogSnapshot(final CatalogSnapshot source, final ProductResponse[] rows, final Map<Long, Integer> ordinalById,
+                            final BitSet inStock, final BitSet popular, final BitSet comingSoon,
+                            final Map<Long, BitSet> byCategory, final Map<String, int[]> ordinalsBySortKey) {
+        this.rows = rows;
+        this.ordinalById = ordinalById;
+        this.inStock = inStock;
+        this.popular = popular;
+        this.comingSoon = comingSoon;
+        this.byCategory = byCategory;
+        this.parentByCategory = source.parentByCategory;
+        this.childrenByCategory = source.childrenByCategory;
+        this.ordinalsBySortKey = ordinalsBySortKey;
+        this.sortedPrices = sortedPrices(rows, ordinalsBySortKey.get("price"));
+    }
+
+    public static CatalogSnapshot of(final Collection<ProductResponse> products, final Map<Long, Long> parentByCategory) {
+        return new CatalogSnapshot(products, parentByCategory);
+    }
+
+    /**
+     * Adds or replaces the product. A replaced product keeps its ordinal, a new one is appended.
+     */
+    public CatalogSnapshot withProduct(final ProductResponse product) {
+        final ProductResponse row = copy(product);
+        final Integer existing = ordinalById.get(row.getProductId());
+        final int ordinal = existing == null ? rows.length : existing;
+        final ProductResponse[] patchedRows = Arrays.copyOf(rows, existing == null ? rows.length + 1 : rows.length);
+        patchedRows[ordinal] = row;
+        Map<Long, Integer> patchedOrdinals = ordinalById;
+        if (existing == null) {
+            patchedOrdinals = new HashMap<>(ordinalById);
+            patchedOrdinals.put(row.getProductId(), ordinal);
+        }
+
+        final Map<Long, BitSet> patchedCategories = new HashMap<>(byCategory);
+        if (existing != null) {
+            setCategoryBit(patchedCategories, rows[ordinal].getCategoryId(), ordinal, false);
+        }
+        setCategoryBit(patchedCategories, row.getCategoryId(), ordinal, true);
+
+        final Map<String, int[]> patchedOrders = new HashMap<>();
+        SORT_KEYS.forEach((key, comparator) -> {
+            int[] ordinals = ordinalsBySortKey.get(key);
+            if (existing != null) {
+                ordinals = removeAt(ordinals, search(ordinals, rows, rows[ordinal], comparator));
+            }
+            patchedOrders.put(key, insertAt(ordinals, search(ordinals, patchedRows, row, comparator), ordinal));
+        });
+        return new CatalogSnapshot(this, patchedRows, patchedOrdinals,
+                withBit(inStock, ordinal, isInStock(row)),
+                withBit(popular, ordinal, Boolean.TRUE.equals(row.getIsPopular())),
+                withBit(comingSoon, ordinal, Boolean.TRUE.equals(row.getComingSoon())),
+                patchedCategories, patchedOrders);
+    }
+
+    /**
+     * Removes the product. The last row moves into the freed ordinal, so the ordinals stay dense.
+     */
+    public CatalogSnapshot withoutProduct(final Long productId) {
+        final Integer removed = ordinalById.get(productId);
+        if (removed == null) {
+            return this;
+        }
+        final int last = rows.length - 1;
+        final ProductResponse[] patchedRows = Arrays.copyOf(rows, last);
+        final Map<Long, Integer> patchedOrdinals = new HashMap<>(ordinalById);
+        patchedOrdinals.remove(productId);
+        final Map<Long, BitSet> patchedCategories = new HashMap<>(byCategory);
+        setCategoryBit(patchedCategories, rows[removed].getCategoryId(), removed, false);
+        if (removed != last) {
+            patchedRows[removed] = rows[last];
+            patchedOrdinals.put(rows[last].getProductId(), removed);
+            setCategoryBit(patchedCategories, rows[last].getCategoryId(), last, false);
+            setCategoryBit(patchedCategories, rows[last].getCategoryId(), removed, true);
+        }
+
+        final Map<String, int[]> patchedOrders = new HashMap<>();
+        SORT_KEYS.forEach((key, comparator) -> {
+            final int[] ordinals = removeAt(ordinalsBySortKey.get(key), search(ordinalsBySortKey.get(key), rows, rows[removed], comparator));
+            if (removed != last) {
+                ordinals[search(ordinals, rows, rows[last], comparator)] = removed;
+            }
+            patchedOrders.put(key, ordinals);
+        });
+        return new CatalogSnapshot(this, patchedRows, patchedOrdinals,
+                withMovedBit(inStock, last, removed), withMovedBit(popular, last, removed), withMovedBit(comingSoon, last, removed),
+                patchedCategories, patchedOrders);
+    }
+
+    public static boolean supportsSort(final String sortBy) {
+        return SORT_KEYS.containsKey(sortBy);
+    }
+
+    public boolean containsCategories(final Collection<Long> categoryIds) {
+        return parentByCategory.keySet().containsAll(categoryIds);
+    }
+
+    public int size() {
+        return rows.length;
+    }
+
+    public List<ProductResponse> getProducts() {
+        return Arrays.stream(rows).map(CatalogSnapshot::copy).toList();
+    }
+
+    public Optional<ProductResponse> findById(final Long productId) {
+        final Integer ordinal = ordinalById.get(productId);
+        return ordinal == null ? Optional.empty() : Optional.of(copy(rows[ordinal]));
+    }
+
+    public Map<Long, Long> getParentByCategory() {
+        return parentByCategory;
+    }
+
+    /**
+     * Collects the given category and all of its descendants from the in-memory category tree.
+     */
+    public Set<Long> getDescendantCategoryIds(final Long categoryId) {
+        final Set<Long> result = new HashSet<>();
+        final Deque<Long> pending = new ArrayDeque<>();
+        pending.push(categoryId);
+        while (!pending.isEmpty()) {
+            final Long current = pending.pop();
+            if (result.add(current)) {
+                childrenByCategory.getOrDefault(current, List.of()).forEach(pending::push);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the ordinals of all products matching the filter.
+     *
+     * @param nameMatches ids of products whose names match the filter's name, as resolved by the search index;
+     *                    when null, names are matched by scanning
+     */
+    public BitSet match(final ProductFilter filter, final Set<Long> nameMatches) {
+        final BitSet result = new BitSet(rows.length);
+        result.set(0, rows.length);
+        if (filter.getProductId() != null) {
+            final BitSet single = new BitSet(rows.length);
+            final Integer ordinal = ordinalById.get(filter.getProductId());
+            if (ordinal != null) {
+                single.set(ordinal);
+            }
+            result.and(single);
+        }
+        if (filter.hasCategoryFilter()) {
+            result.and(categoryMatches(filter.getCategoryIds()));
+        }
+        if (filter.getMinPrice() != null || filter.getMaxPrice() != null) {
+            result.and(priceMatches(filter.getMinPrice(), filter.getMaxPrice()));
+        }
+        if (filter.isInStock()) {
+            result.and(inStock);
+        }
+        if (filter.isPopular()) {
+            result.and(popular);
+        }
+        if (filter.isComingSoon()) {
+            result.and(comingSoon);
+        }
+        if (filter.getItemCode() != null) {
+            result.and(scan(row -> filter.getItemCode().equals(row.getItemCode())));
+        }
+        if (filter.getName() != null && nameMatches != null) {
+            result.and(ordinalsOf(nameMatches));
+        } else if (filter.getName() != null) {
+            result.and(scan(row -> containsIgnoreCase(row.getNameENG(), filter.getName())
+                    || containsIgnoreCase(row.getNameGE(), filter.getName())
+                    || containsIgnoreCase(row.getNameRUS(), filter.getName())));
+        }
+        return result;
+    }
+
+    public List<ProductResponse> findAll(final ProductFilter filter, final Set<Long> nameMatches) {
+        final BitSet matches = match(filter, nameMatches);
+        final List<ProductResponse> result = new ArrayList<>(matches.cardinality());
+        for (int ordinal = matches.nextSetBit(0); ordinal >= 0; ordinal = matches.nextSetBit(ordinal + 1)) {
+            result.add(copy(rows[ordinal]));
+        }
+        return result;
+    }
+
+    /**
+     * Answers a listing page. The pageable must be sorted by a single key for which {@link #supportsSort} is true.
+     */
+    public Page<ProductResponse> findAll(final ProductFilter filter, final Set<Long> nameMatches, final Pageable pageable) {
+        final BitSet matches = match(filter, nameMatches);
+        final Sort.Order order = pageable.getSort().stream().findFirst().orElse(Sort.Order.asc("id"));
+        final int[] ordinals = ordinalsBySortKey.get(order.getProperty());
+        final List<ProductResponse> content = new ArrayList<>(pageable.getPageSize());
+        long skipped = 0;
+        for (int i = 0; i < ordinals.length && content.size() < pageable.getPageSize(); i++) {
+            final int ordinal = ordinals[order.isAscending() ? i : ordinals.length - 1 - i];
+            if (!matches.get(ordinal)) {
+                continue;
+            }
+            if (skipped < pageable.getOffset()) {
+                skipped++;
+            } else {
+                content.add(copy(rows[ordinal]));
+            }
+        }
+        return new PageImpl<>(content, pageable, matches.cardinality());
+    }
+
+    private BitSet categoryMatches(final List<Long> categoryIds) {
+        final BitSet result = new BitSet(rows.length);
+        for (final Long categoryId : categoryIds) {
+            for (final Long descendant : getDescendantCategoryIds(categoryId)) {
+                final BitSet products = byCategory.get(descendant);
+                if (products != null) {
+                    result.or(products);
+                }
+            }
+        }
+        return result;
+    }
+
+    private BitSet priceMatches(final Double minPrice, final Double maxPrice) {
+        final int from = minPrice == null ? 0 : lowerBound(minPrice);
+        final int to = maxPrice == null ? sortedPrices.length : upperBound(maxPrice);
+        final int[] byPrice = ordinalsBySortKey.get("price");
+        final BitSet result = new BitSet(rows.length);
+        for (int i = from; i < to; i++) {
+            result.set(byPrice[i]);
+        }
+        return result;
+    }
+
+    // first index whose price is >= value
+    private int lowerBound(final double value) {
+        int low = 0;
+        int high = sortedPrices.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (sortedPrices[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // first index whose price is > value
+    private int upperBound(final double value) {
+        int low = 0;
+        int high = sortedPrices.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (sortedPrices[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private BitSet ordinalsOf(final Set<Long> productIds) {
+        final BitSet result = new BitSet(rows.length);
+        for (final Long productId : productIds) {
+            final Integer ordinal = ordinalById.get(productId);
+            if (ordinal != null) {
+                result.set(ordinal);
+            }
+        }
+        return result;
+    }
+
+    private BitSet scan(final Predicate<ProductResponse> predicate) {
+        final BitSet result = new BitSet(rows.length);
+        for (int ordinal = 0; ordinal < rows.length; ordinal++) {
+            if (predicate.test(rows[ordinal])) {
+                result.set(ordinal);
+            }
+        }
+        return result;
+    }
+
+    private int[] sortOrdinals(final Comparator<ProductResponse> comparator) {
+        final Integer[] boxed = new Integer[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            boxed[i] = i;
+        }
+        Arrays.sort(boxed, (a, b) -> comparator.compare(rows[a], rows[b]));
+        final int[] result = new int[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            result[i] = boxed[i];
+        }
+        return result;
+    }
+
+    // first position in the order whose row does not sort before the given row
+    private static int search(final int[] ordinals, final ProductResponse[] rows, final ProductResponse row, final Comparator<ProductResponse> comparator) {
+        int low = 0;
+        int high = ordinals.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (comparator.compare(rows[ordinals[mid]], row) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int[] removeAt(final int[] ordinals, final int index) {
+        final int[] result = new int[ordinals.length - 1];
+        System.arraycopy(ordinals, 0, result, 0, index);
+        System.arraycopy(ordinals, index + 1, result, index, result.length - index);
+        return result;
+    }
+
+    private static int[] insertAt(final int[] ordinals, final int index, final int ordinal) {
+        final int[] result = new int[ordinals.length + 1];
+        System.arraycopy(ordinals, 0, result, 0, index);
+        result[index] = ordinal;
+        System.arraycopy(ordinals, index, result, index + 1, ordinals.length - index);
+        return result;
+    }
+
+    private static BitSet withBit(final BitSet bits, final int ordinal, final boolean value) {
+        if (bits.get(ordinal) == value) {
+            return bits;
+        }
+        final BitSet result = (BitSet) bits.clone();
+        result.set(ordinal, value);
+        return result;
+    }
+
+    private static BitSet withMovedBit(final BitSet bits, final int from, final int to) {
+        final BitSet result = (BitSet) bits.clone();
+        result.set(to, bits.get(from));
+        result.clear(from);
+        return result;
+    }
+
+    // copies the category's bitset before changing it, the original may still be shared with the source snapshot
+    private static void setCategoryBit(final Map<Long, BitSet> byCategory, final Long categoryId, final int ordinal, final boolean value) {
+        if (categoryId == null) {
+            return;
+        }
+        final BitSet bits = withBit(byCategory.getOrDefault(categoryId, new BitSet()), ordinal, value);
+        if (bits.isEmpty()) {
+            byCategory.remove(categoryId);
+        } else {
+            byCategory.put(categoryId, bits);
+        }
+    }
+
+    private static double[] sortedPrices(final ProductResponse[] rows, final int[] byPrice) {
+        int priced = 0;
+        while (priced < byPrice.length && rows[byPrice[priced]].getPrice() != null) {
+            priced++;
+        }
+        final double[] result = new double[priced];
+        for (int i = 0; i < priced; i++) {
+            result[i] = rows[byPrice[i]].getPrice();
+        }
+        return result;
+    }
+
+    private static boolean isInStock(final ProductResponse row) {
+        return row.getStockAmount() != null && row.getStockAmount() > 0;
+    }
+
+    private static Comparator<ProductResponse> withIdTieBreak(final Comparator<ProductResponse> comparator) {
+        return comparator.thenComparing(ProductResponse::getProductId);
+    }
+
+    private static ProductResponse copy(final ProductResponse row) {
+        return row.toBuilder()
+                .imageIds(row.getImageIds() == null ? null : new ArrayList<>(row.getImageIds()))
+                .build();
+    }
+
+    private static boolean containsIgnoreCase(final String value, final String lowerCasePart) {
+        return value != null && value.toLowerCase().contains(lowerCasePart);
+    }
+}
@@ -0,0 +1,226 @@
+package ge.evstore.ev_store.catalog;
+
+import ge.evstore.ev_store.response.ProductResponse;
+import lombok.Value;
+
+import java.io.*;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Compact binary copy of the catalog for warm starts: the category tree and every product row, tagged with the
+ * catalog change log sequence the rows are at least as new as. The bitsets and sort orders of
+ * {@link CatalogSnapshot} are not stored, deriving them from the rows takes milliseconds and keeps the format
+ * independent of the index layout.
+ * <p>
+ * Layout: magic, format version, sequence, category count, product count, the categories as (id, parent) pairs,
+ * the products field by field in {@link ProductResponse} order, and a CRC32 of everything before it. Nullable
+ * values are written with a presence flag, strings as UTF-8 with their byte length. Files are written to a
+ * temporary file and moved into place, and read through a read-only memory mapping.
+ */
+public final class CatalogSnapshotFile {
+    private static final int MAGIC = 0x45564353; // "EVCS"
+    private static final int FORMAT_VERSION = 1;
+    private static final long NO_PARENT = -1;
+
+    private CatalogSnapshotFile() {
+    }
+
+    public static void write(final Path path, final long sequence, final CatalogSnapshot snapshot) throws IOException {
+        final Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        final Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        try {
+            final CRC32 crc = new CRC32();
+            try (OutputStream file = new BufferedOutputStream(Files.newOutputStream(temp));
+                 DataOutputStream out = new DataOutputStream(new CheckedOutputStream(file, crc))) {
+                final Map<Long, Long> parentByCategory = snapshot.getParentByCategory();
+                final List<ProductResponse> products = snapshot.getProducts();
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeLong(sequence);
+                out.writeInt(parentByCategory.size());
+                out.writeInt(products.size());
+                for (final Map.Entry<Long, Long> category : parentByCategory.entrySet()) {
+                    out.writeLong(category.getKey());
+                    out.writeLong(category.getValue() == null ? NO_PARENT : category.getValue());
+                }
+                for (final ProductResponse product : products) {
+                    writeProduct(out, product);
+                }
+                out.flush();
+                // the checksum itself must stay out of the checked stream
+                new DataOutputStream(file).writeLong(crc.getValue());
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Reads a snapshot file, failing with an {@link IOException} when it is missing, truncated, corrupt or of
+     * another format version.
+     */
+    public static Contents read(final Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.limit() < Long.BYTES) {
+                throw new IOException("Catalog snapshot file is truncated: " + path);
+            }
+            final CRC32 crc = new CRC32();
+            crc.update(buffer.slice(0, buffer.limit() - Long.BYTES));
+            if (crc.getValue() != buffer.getLong(buffer.limit() - Long.BYTES)) {
+                throw new IOException("Catalog snapshot file is corrupt: " + path);
+            }
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                throw new IOException("Unsupported catalog snapshot file: " + path);
+            }
+            final long sequence = buffer.getLong();
+            final int categoryCount = readCount(buffer, 2 * Long.BYTES);
+            final int productCount = readCount(buffer, Long.BYTES);
+            final Map<Long, Long> parentByCategory = new HashMap<>(categoryCount * 2);
+            for (int i = 0; i < categoryCount; i++) {
+                final long id = buffer.getLong();
+                final long parent = buffer.getLong();
+                parentByCategory.put(id, parent == NO_PARENT ? null : parent);
+            }
+            final List<ProductResponse> products = new ArrayList<>(productCount);
+            for (int i = 0; i < productCount; i++) {
+                products.add(readProduct(buffer));
+            }
+            return new Contents(sequence, products, parentByCategory);
+        } catch (final BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("Catalog snapshot file is malformed: " + path, e);
+        }
+    }
+
+    private static void writeProduct(final DataOutputStream out, final ProductResponse product) throws IOException {
+        out.writeLong(product.getProductId());
+        writeString(out, product.getNameGE());
+        writeString(out, product.getNameENG());
+        writeString(out, product.getNameRUS());
+        writeString(out, product.getDescriptionGE());
+        writeString(out, product.getDescriptionENG());
+        writeString(out, product.getDescriptionRUS());
+        out.writeBoolean(product.getPrice() != null);
+        if (product.getPrice() != null) {
+            out.writeDouble(product.getPrice());
+        }
+        writeString(out, product.getItemCode());
+        out.writeBoolean(product.getStockAmount() != null);
+        if (product.getStockAmount() != null) {
+            out.writeInt(product.getStockAmount());
+        }
+        writeString(out, product.getCategoryName());
+        writeLong(out, product.getCategoryId());
+        writeLong(out, product.getMainImageId());
+        final List<Long> imageIds = product.getImageIds() == null ? List.of() : product.getImageIds();
+        out.writeInt(imageIds.size());
+        for (final Long imageId : imageIds) {
+            out.writeLong(imageId);
+        }
+        writeBoolean(out, product.getIsPopular());
+        writeString(out, product.getTutorialLink());
+        writeBoolean(out, product.getComingSoon());
+        writeLong(out, product.getVersion());
+    }
+
+    private static ProductResponse readProduct(final ByteBuffer in) {
+        final ProductResponse.ProductResponseBuilder product = ProductResponse.builder()
+                .productId(in.getLong())
+                .nameGE(readString(in))
+                .nameENG(readString(in))
+                .nameRUS(readString(in))
+                .descriptionGE(readString(in))
+                .descriptionENG(readString(in))
+                .descriptionRUS(readString(in))
+                .price(in.get() != 0 ? in.getDouble() : null)
+                .itemCode(readString(in))
+                .stockAmount(in.get() != 0 ? in.getInt() : null)
+                .categoryName(readString(in))
+                .categoryId(readLong(in))
+                .mainImageId(readLong(in));
+        final Long[] imageIds = new Long[readCount(in, Long.BYTES)];
+        for (int i = 0; i < imageIds.length; i++) {
+            imageIds[i] = in.getLong();
+        }
+        return product.imageIds(List.of(imageIds))
+                .isPopular(readBoolean(in))
+                .tutorialLink(readString(in))
+                .comingSoon(readBoolean(in))
+                .version(readLong(in))
+                .build();
+    }
+
+    private static void writeString(final DataOutputStream out, final String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(final ByteBuffer in) {
+        final int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length > in.remaining()) {
+            throw new IllegalArgumentException("String length " + length + " exceeds the remaining " + in.remaining() + " bytes");
+        }
+        final byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // checked against the bytes left, so a corrupt count fails the read instead of allocating a huge or negative array
+    private static int readCount(final ByteBuffer in, final int bytesPerElement) {
+        final int count = in.getInt();
+        if (count < 0 || count > in.remaining() / bytesPerElement) {
+            throw new IllegalArgumentException("Element count " + count + " does not fit the remaining " + in.remaining() + " bytes");
+        }
+        return count;
+    }
+
+    private static void writeLong(final DataOutputStream out, final Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    private static Long readLong(final ByteBuffer in) {
+        return in.get() != 0 ? in.getLong() : null;
+    }
+
+    // -1 for null
+    private static void writeBoolean(final DataOutputStream out, final Boolean value) throws IOException {
+        out.writeByte(value == null ? -1 : value ? 1 : 0);
+    }
+
+    private static Boolean readBoolean(final ByteBuffer in) {
+        final byte value = in.get();
+        return value < 0 ? null : value == 1;
+    }
+
+    @Value
+    public static class Contents {
+        // products reflect at least every change log entry up to this sequence
+        long sequence;
+        List<ProductResponse> products;
+        Map<Long, Long> parentByCategory;
+    }
+}
@@ -0,0 +1,14 @@
+package ge.evstore.ev_store.catalog;
+
+import lombok.Value;
+
+/**
+ * Version of everything served from the catalog, used as validator for conditional GETs.
+ */
+@Value
+public class CatalogVersion {
+    // quoted strong entity tag
+    String eTag;
+    // epoch millis truncated to seconds, the resolution of the Last-Modified header
+    long lastModified;
+}
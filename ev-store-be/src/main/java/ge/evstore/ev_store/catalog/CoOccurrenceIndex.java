@@ -0,0 +1,67 @@
+package ge.evstore.ev_store.catalog;
+
+import lombok.Value;
+
+import java.util.*;
+
+/**
+ * Immutable in-memory copy of the persisted top neighbours of every product. Looking up a product is a single map
+ * access; neighbours of several products, such as a cart, are merged by adding up their order counts.
+ */
+public final class CoOccurrenceIndex {
+    private static final CoOccurrenceIndex EMPTY = new CoOccurrenceIndex(Map.of());
+
+    private final Map<Long, List<Neighbour>> neighboursByProduct;
+
+    private CoOccurrenceIndex(final Map<Long, List<Neighbour>> neighboursByProduct) {
+        this.neighboursByProduct = neighboursByProduct;
+    }
+
+    /**
+     * @param neighboursByProduct neighbours of every product, most often bought together first
+     */
+    public static CoOccurrenceIndex of(final Map<Long, List<Neighbour>> neighboursByProduct) {
+        final Map<Long, List<Neighbour>> copy = new HashMap<>();
+        neighboursByProduct.forEach((productId, neighbours) -> copy.put(productId, List.copyOf(neighbours)));
+        return new CoOccurrenceIndex(copy);
+    }
+
+    public static CoOccurrenceIndex empty() {
+        return EMPTY;
+    }
+
+    public int size() {
+        return neighboursByProduct.size();
+    }
+
+    /**
+     * Returns the ids of the products most often bought together with the given ones, excluding the given ones.
+     */
+    public List<Long> neighbours(final Collection<Long> productIds, final int limit) {
+        if (productIds.size() == 1) {
+            final Long productId = productIds.iterator().next();
+            return neighboursByProduct.getOrDefault(productId, List.of()).stream()
+                    .limit(limit)
+                    .map(Neighbour::getProductId)
+                    .toList();
+        }
+        final Map<Long, Long> merged = new HashMap<>();
+        for (final Long productId : productIds) {
+            for (final Neighbour neighbour : neighboursByProduct.getOrDefault(productId, List.of())) {
+                merged.merge(neighbour.getProductId(), neighbour.getOrderCount(), Long::sum);
+            }
+        }
+        productIds.forEach(merged::remove);
+        return merged.entrySet().stream()
+                .sorted(Map.Entry.<Long, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    @Value
+    public static class Neighbour {
+        Long productId;
+        long orderCount;
+    }
+}
@@ -0,0 +1,21 @@
+package ge.evstore.ev_store.catalog;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Formats of the admin catalog export feed.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ExportFormat {
+    // one product JSON object per line
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+    CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+}
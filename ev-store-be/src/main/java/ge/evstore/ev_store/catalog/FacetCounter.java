@@ -0,0 +1,89 @@
+package ge.evstore.ev_store.catalog;
+
+import ge.evstore.ev_store.response.ProductFacetsResponse;
+import ge.evstore.ev_store.response.ProductFacetsResponse.PriceBucket;
+import ge.evstore.ev_store.response.ProductResponse;
+
+import java.util.*;
+
+/**
+ * Computes sidebar facet counts for the products matching a filter in a single pass over them.
+ * Category counts are rolled up the category tree afterwards, so a parent category counts the products of all its
+ * descendants. The price histogram splits the price range of the matching products into equal-width buckets.
+ */
+public final class FacetCounter {
+
+    private FacetCounter() {
+    }
+
+    public static ProductFacetsResponse count(final Collection<ProductResponse> products, final Map<Long, Long> parentByCategory, final int buckets) {
+        final Map<Long, Long> directCounts = new HashMap<>();
+        long inStock = 0;
+        long popular = 0;
+        long comingSoon = 0;
+        final double[] prices = new double[products.size()];
+        int priced = 0;
+        double minPrice = Double.MAX_VALUE;
+        double maxPrice = -Double.MAX_VALUE;
+        for (final ProductResponse product : products) {
+            if (product.getCategoryId() != null) {
+                directCounts.merge(product.getCategoryId(), 1L, Long::sum);
+            }
+            if (product.getStockAmount() != null && product.getStockAmount() > 0) {
+                inStock++;
+            }
+            if (Boolean.TRUE.equals(product.getIsPopular())) {
+                popular++;
+            }
+            if (Boolean.TRUE.equals(product.getComingSoon())) {
+                comingSoon++;
+            }
+            if (product.getPrice() != null) {
+                final double price = product.getPrice();
+                prices[priced++] = price;
+                minPrice = Math.min(minPrice, price);
+                maxPrice = Math.max(maxPrice, price);
+            }
+        }
+        return ProductFacetsResponse.builder()
+                .total(products.size())
+                .categoryCounts(rollUp(directCounts, parentByCategory))
+                .inStock(inStock)
+                .popular(popular)
+                .comingSoon(comingSoon)
+                .priceHistogram(histogram(prices, priced, minPrice, maxPrice, buckets))
+                .build();
+    }
+
+    private static Map<Long, Long> rollUp(final Map<Long, Long> directCounts, final Map<Long, Long> parentByCategory) {
+        final Map<Long, Long> result = new HashMap<>();
+        directCounts.forEach((categoryId, count) -> {
+            final Set<Long> visited = new HashSet<>();
+            // the visited set guards against a corrupted tree with cycles
+            for (Long current = categoryId; current != null && visited.add(current); current = parentByCategory.get(current)) {
+                result.merge(current, count, Long::sum);
+            }
+        });
+        return result;
+    }
+
+    private static List<PriceBucket> histogram(final double[] prices, final int priced, final double minPrice, final double maxPrice, final int buckets) {
+        if (priced == 0 || buckets < 1) {
+            return List.of();
+        }
+        if (minPrice == maxPrice) {
+            return List.of(new PriceBucket(minPrice, maxPrice, priced));
+        }
+        final double width = (maxPrice - minPrice) / buckets;
+        final long[] counts = new long[buckets];
+        for (int i = 0; i < priced; i++) {
+            counts[Math.min((int) ((prices[i] - minPrice) / width), buckets - 1)]++;
+        }
+        final List<PriceBucket> result = new ArrayList<>(buckets);
+        for (int i = 0; i < buckets; i++) {
+            final double to = i == buckets - 1 ? maxPrice : minPrice + width * (i + 1);
+            result.add(new PriceBucket(minPrice + width * i, to, counts[i]));
+        }
+        return result;
+    }
+}
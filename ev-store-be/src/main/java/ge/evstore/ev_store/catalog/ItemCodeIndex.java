@@ -0,0 +1,57 @@
+package ge.evstore.ev_store.catalog;
+
+import ge.evstore.ev_store.response.ProductResponse;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Products by exact item code. Item codes are not unique, so every code maps to an immutable list of products
+ * ordered by id that is replaced as a whole on writes. Reads are lock-free, writes are serialized so moving a
+ * product to another code removes it from the previous one.
+ */
+public class ItemCodeIndex {
+    private final Map<String, List<ProductResponse>> byCode = new ConcurrentHashMap<>();
+    private final Map<Long, String> codeByProduct = new HashMap<>();
+
+    public static ItemCodeIndex of(final Collection<ProductResponse> products) {
+        final ItemCodeIndex index = new ItemCodeIndex();
+        products.forEach(index::put);
+        return index;
+    }
+
+    public synchronized void put(final ProductResponse product) {
+        remove(product.getProductId());
+        if (product.getItemCode() == null) {
+            return;
+        }
+        codeByProduct.put(product.getProductId(), product.getItemCode());
+        byCode.compute(product.getItemCode(), (code, products) -> {
+            final List<ProductResponse> updated = products == null ? new ArrayList<>(1) : new ArrayList<>(products);
+            updated.add(product);
+            updated.sort(Comparator.comparing(ProductResponse::getProductId));
+            return List.copyOf(updated);
+        });
+    }
+
+    public synchronized void remove(final Long productId) {
+        final String previous = codeByProduct.remove(productId);
+        if (previous == null) {
+            return;
+        }
+        byCode.computeIfPresent(previous, (code, products) -> {
+            final List<ProductResponse> updated = products.stream()
+                    .filter(product -> !product.getProductId().equals(productId))
+                    .toList();
+            return updated.isEmpty() ? null : updated;
+        });
+    }
+
+    public List<ProductResponse> get(final String itemCode) {
+        return byCode.getOrDefault(itemCode, List.of());
+    }
+
+    public int size() {
+        return byCode.size();
+    }
+}
@@ -0,0 +1,25 @@
+package ge.evstore.ev_store.catalog;
+
+import lombok.Value;
+
+/**
+ * The arguments of one product listing request, in {@code ProductService.getAllProducts} order, so a logged query
+ * can be replayed to warm the listing cache.
+ */
+@Value
+public class ListingQuery {
+    int page;
+    int size;
+    String sortBy;
+    String direction;
+    String name;
+    String categoryId;
+    Double minPrice;
+    Double maxPrice;
+    Boolean inStock;
+    Boolean isPopular;
+    Long productId;
+    String itemCode;
+    Boolean comingSoon;
+    boolean withTotal;
+}
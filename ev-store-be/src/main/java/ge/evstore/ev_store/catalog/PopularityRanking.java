@@ -0,0 +1,87 @@
+package ge.evstore.ev_store.catalog;
+
+import lombok.Value;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Immutable top-N of products by popularity score, for the whole catalog and for every category holding products
+ * directly. The top-N of a category subtree is merged from the lists of its categories at query time, which is exact
+ * because the top-N of a union is always contained in the union of the top-N lists.
+ */
+public final class PopularityRanking {
+    private static final Comparator<RankedProduct> MOST_POPULAR_FIRST = Comparator.comparingLong(RankedProduct::getScore).reversed()
+            .thenComparing(RankedProduct::getProductId);
+
+    private final int size;
+    private final List<RankedProduct> overall;
+    private final Map<Long, List<RankedProduct>> byCategory;
+
+    private PopularityRanking(final Collection<RankedProduct> products, final int size) {
+        this.size = size;
+        this.overall = top(products.stream(), size);
+        final Map<Long, List<RankedProduct>> grouped = new HashMap<>();
+        for (final RankedProduct product : products) {
+            grouped.computeIfAbsent(product.getCategoryId(), id -> new ArrayList<>()).add(product);
+        }
+        this.byCategory = new HashMap<>();
+        grouped.forEach((categoryId, ranked) -> byCategory.put(categoryId, top(ranked.stream(), size)));
+    }
+
+    public static PopularityRanking of(final Collection<RankedProduct> products, final int size) {
+        return new PopularityRanking(products, size);
+    }
+
+    public static PopularityRanking empty(final int size) {
+        return new PopularityRanking(List.of(), size);
+    }
+
+    /**
+     * Returns the ids of the most popular products, most popular first.
+     *
+     * @param categoryIds categories to rank, already expanded with all descendants, or null for the whole catalog
+     */
+    public List<Long> top(final Collection<Long> categoryIds) {
+        if (categoryIds == null) {
+            return ids(overall);
+        }
+        return ids(top(categoryIds.stream().flatMap(categoryId -> byCategory.getOrDefault(categoryId, List.of()).stream()), size));
+    }
+
+    /**
+     * Tells whether both rankings list the same products in the same order, whatever their scores.
+     */
+    public boolean hasSameOrderAs(final PopularityRanking other) {
+        if (!ids(overall).equals(ids(other.overall)) || !byCategory.keySet().equals(other.byCategory.keySet())) {
+            return false;
+        }
+        return byCategory.entrySet().stream()
+                .allMatch(entry -> ids(entry.getValue()).equals(ids(other.byCategory.get(entry.getKey()))));
+    }
+
+    /**
+     * Hashes the order of all lists, whatever their scores, so every instance computes the same fingerprint for
+     * rankings that tell apart as {@link #hasSameOrderAs(PopularityRanking)} does.
+     */
+    public int fingerprint() {
+        final Map<Long, List<Long>> orders = new HashMap<>();
+        byCategory.forEach((categoryId, ranked) -> orders.put(categoryId, ids(ranked)));
+        return Objects.hash(ids(overall), orders);
+    }
+
+    private static List<RankedProduct> top(final Stream<RankedProduct> products, final int size) {
+        return products.sorted(MOST_POPULAR_FIRST).limit(size).toList();
+    }
+
+    private static List<Long> ids(final List<RankedProduct> products) {
+        return products.stream().map(RankedProduct::getProductId).toList();
+    }
+
+    @Value
+    public static class RankedProduct {
+        Long productId;
+        Long categoryId;
+        long score;
+    }
+}
@@ -0,0 +1,232 @@
+package ge.evstore.ev_store.catalog;
+
+import ge.evstore.ev_store.response.AutocompleteSuggestion;
+import ge.evstore.ev_store.utils.TransliterationUtils;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Prefix trie for search-box autocomplete. Every field is folded with {@link TransliterationUtils} and inserted once
+ * from each word start, so "char" completes both "Charger" and "Wall charger". Keys are cut off after
+ * {@link #MAX_KEY_LENGTH} characters, so a long name costs at most that many nodes per word; longer prefixes walk
+ * the cut-off key and check the candidates against their fields. Children are kept in sorted parallel
+ * arrays instead of maps to keep nodes small. Lookups walk the prefix and then visit the subtree breadth first,
+ * so shorter completions come first and the walk stops as soon as enough distinct products are found.
+ */
+public class PrefixTrie {
+    static final int MAX_KEY_LENGTH = 20;
+    private static final char[] NO_LABELS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final AutocompleteSuggestion[] NO_ENTRIES = new AutocompleteSuggestion[0];
+
+    private final Node root = new Node();
+    // keys inserted per product, needed to remove them again
+    private final Map<Long, List<Key>> keysByProduct = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(final Long productId, final List<String> fields) {
+        final List<Key> keys = new ArrayList<>();
+        for (final String field : fields) {
+            if (field == null || field.isBlank()) {
+                continue;
+            }
+            final String folded = TransliterationUtils.fold(field).trim();
+            final AutocompleteSuggestion entry = new AutocompleteSuggestion(productId, field);
+            for (int start = 0; start < folded.length(); start++) {
+                if (isWordStart(folded, start)) {
+                    keys.add(new Key(folded.substring(start, Math.min(folded.length(), start + MAX_KEY_LENGTH)), entry));
+                }
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            removeInternal(productId);
+            for (final Key key : keys) {
+                insert(key);
+            }
+            keysByProduct.put(productId, keys);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(final Long productId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return keysByProduct.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} suggestions for distinct products with a word starting with the prefix.
+     */
+    public List<AutocompleteSuggestion> complete(final String prefix, final int limit) {
+        final String folded = TransliterationUtils.fold(prefix).trim();
+        if (folded.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            // keys stop at the cut-off, the rest of a longer prefix is checked per candidate
+            final boolean verify = folded.length() > MAX_KEY_LENGTH;
+            Node node = root;
+            for (int i = 0; i < Math.min(folded.length(), MAX_KEY_LENGTH) && node != null; i++) {
+                node = node.child(folded.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+            final Map<Long, AutocompleteSuggestion> result = new LinkedHashMap<>();
+            final Deque<Node> pending = new ArrayDeque<>();
+            pending.add(node);
+            while (!pending.isEmpty() && result.size() < limit) {
+                final Node current = pending.poll();
+                for (final AutocompleteSuggestion entry : current.entries) {
+                    if (verify && !hasWordStartingWith(TransliterationUtils.fold(entry.getText()).trim(), folded)) {
+                        continue;
+                    }
+                    result.putIfAbsent(entry.getProductId(), entry);
+                    if (result.size() == limit) {
+                        break;
+                    }
+                }
+                pending.addAll(Arrays.asList(current.children));
+            }
+            return new ArrayList<>(result.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void insert(final Key key) {
+        Node node = root;
+        for (int i = 0; i < key.text.length(); i++) {
+            node = node.childOrCreate(key.text.charAt(i));
+        }
+        node.addEntry(key.entry);
+    }
+
+    private void removeInternal(final Long productId) {
+        final List<Key> keys = keysByProduct.remove(productId);
+        if (keys == null) {
+            return;
+        }
+        for (final Key key : keys) {
+            remove(root, key, 0);
+        }
+    }
+
+    // returns true when the node ended up empty and can be unlinked by its parent
+    private static boolean remove(final Node node, final Key key, final int depth) {
+        if (depth == key.text.length()) {
+            node.removeEntry(key.entry);
+        } else {
+            final char label = key.text.charAt(depth);
+            final Node child = node.child(label);
+            if (child != null && remove(child, key, depth + 1)) {
+                node.removeChild(label);
+            }
+        }
+        return node.entries.length == 0 && node.children.length == 0;
+    }
+
+    private static boolean hasWordStartingWith(final String text, final String prefix) {
+        for (int index = text.indexOf(prefix); index >= 0; index = text.indexOf(prefix, index + 1)) {
+            if (isWordStart(text, index)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isWordStart(final String text, final int index) {
+        return Character.isLetterOrDigit(text.charAt(index))
+                && (index == 0 || !Character.isLetterOrDigit(text.charAt(index - 1)));
+    }
+
+    private static final class Key {
+        private final String text;
+        private final AutocompleteSuggestion entry;
+
+        Key(final String text, final AutocompleteSuggestion entry) {
+            this.text = text;
+            this.entry = entry;
+        }
+    }
+
+    private static final class Node {
+        private char[] labels = NO_LABELS;
+        private Node[] children = NO_CHILDREN;
+        private AutocompleteSuggestion[] entries = NO_ENTRIES;
+
+        Node child(final char label) {
+            final int index = Arrays.binarySearch(labels, label);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node childOrCreate(final char label) {
+            final int index = Arrays.binarySearch(labels, label);
+            if (index >= 0) {
+                return children[index];
+            }
+            final int insertAt = -index - 1;
+            final Node created = new Node();
+            final char[] newLabels = new char[labels.length + 1];
+            final Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            newLabels[insertAt] = label;
+            newChildren[insertAt] = created;
+            System.arraycopy(labels, insertAt, newLabels, insertAt + 1, labels.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            labels = newLabels;
+            children = newChildren;
+            return created;
+        }
+
+        void removeChild(final char label) {
+            final int index = Arrays.binarySearch(labels, label);
+            if (index < 0) {
+                return;
+            }
+            final char[] newLabels = new char[labels.length - 1];
+            final Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(labels, 0, newLabels, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(labels, index + 1, newLabels, index, labels.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            labels = newLabels;
+            children = newChildren;
+        }
+
+        void addEntry(final AutocompleteSuggestion entry) {
+            entries = Arrays.copyOf(entries, entries.length + 1);
+            entries[entries.length - 1] = entry;
+        }
+
+        void removeEntry(final AutocompleteSuggestion entry) {
+            for (int i = 0; i < entries.length; i++) {
+                if (entries[i] == entry) {
+                    final AutocompleteSuggestion[] newEntries = new AutocompleteSuggestion[entries.length - 1];
+                    System.arraycopy(entries, 0, newEntries, 0, i);
+                    System.arraycopy(entries, i + 1, newEntries, i, entries.length - i - 1);
+                    entries = newEntries;
+                    return;
+                }
+            }
+        }
+    }
+}
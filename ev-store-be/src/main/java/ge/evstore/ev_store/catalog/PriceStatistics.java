@@ -0,0 +1,127 @@
+package ge.evstore.ev_store.catalog;
+
+import ge.evstore.ev_store.response.PriceStatisticsResponse;
+import lombok.Value;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Sorted multisets of product prices, kept per category and for the whole catalog. Every product is remembered with
+ * its current category and price, so repricing, moving or deleting a product removes exactly its previous price
+ * again and the extremes shrink as well as grow. Products without a price are not counted.
+ */
+public class PriceStatistics {
+    private final Map<Long, PricedProduct> products = new HashMap<>();
+    private final Map<Long, TreeMap<Double, Integer>> byCategory = new HashMap<>();
+    private final TreeMap<Double, Integer> all = new TreeMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(final Long productId, final Long categoryId, final Double price) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(productId);
+            if (price == null) {
+                return;
+            }
+            products.put(productId, new PricedProduct(categoryId, price));
+            increment(all, price);
+            increment(byCategory.computeIfAbsent(categoryId, c -> new TreeMap<>()), price);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(final Long productId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return products.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Summarizes the prices of all products, or of the products in the given categories when not null.
+     */
+    public PriceStatisticsResponse summarize(final Collection<Long> categoryIds) {
+        lock.readLock().lock();
+        try {
+            if (categoryIds == null) {
+                return summarize(all);
+            }
+            final TreeMap<Double, Integer> merged = new TreeMap<>();
+            for (final Long categoryId : categoryIds) {
+                final TreeMap<Double, Integer> prices = byCategory.get(categoryId);
+                if (prices != null) {
+                    prices.forEach((price, count) -> merged.merge(price, count, Integer::sum));
+                }
+            }
+            return summarize(merged);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeInternal(final Long productId) {
+        final PricedProduct previous = products.remove(productId);
+        if (previous == null) {
+            return;
+        }
+        decrement(all, previous.getPrice());
+        final TreeMap<Double, Integer> prices = byCategory.get(previous.getCategoryId());
+        decrement(prices, previous.getPrice());
+        if (prices.isEmpty()) {
+            byCategory.remove(previous.getCategoryId());
+        }
+    }
+
+    private static PriceStatisticsResponse summarize(final TreeMap<Double, Integer> prices) {
+        if (prices.isEmpty()) {
+            return new PriceStatisticsResponse(0, null, null, null, null);
+        }
+        long count = 0;
+        for (final int n : prices.values()) {
+            count += n;
+        }
+        return new PriceStatisticsResponse(count, prices.firstKey(), prices.lastKey(),
+                percentile(prices, count, 0.5), percentile(prices, count, 0.9));
+    }
+
+    // nearest-rank percentile
+    private static Double percentile(final TreeMap<Double, Integer> prices, final long count, final double fraction) {
+        final long rank = Math.max(1, (long) Math.ceil(fraction * count));
+        long seen = 0;
+        for (final Map.Entry<Double, Integer> entry : prices.entrySet()) {
+            seen += entry.getValue();
+            if (seen >= rank) {
+                return entry.getKey();
+            }
+        }
+        return prices.lastKey();
+    }
+
+    private static void increment(final TreeMap<Double, Integer> prices, final Double price) {
+        prices.merge(price, 1, Integer::sum);
+    }
+
+    private static void decrement(final TreeMap<Double, Integer> prices, final Double price) {
+        prices.computeIfPresent(price, (p, count) -> count == 1 ? null : count - 1);
+    }
+
+    @Value
+    private static class PricedProduct {
+        Long categoryId;
+        Double price;
+    }
+}
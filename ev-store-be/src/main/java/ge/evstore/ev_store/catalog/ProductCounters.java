@@ -0,0 +1,61 @@
+package ge.evstore.ev_store.catalog;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per product view and order counters for hot request paths. Increments go to striped {@link LongAdder} cells, so
+ * concurrent requests for the same product do not contend, and {@link #drain} hands over what was counted since the
+ * previous drain without losing concurrent increments. {@link LongAdder#sumThenReset} is not atomic, so a drain
+ * subtracts the sum it read instead of resetting the cells.
+ */
+public class ProductCounters {
+    private final Map<Long, LongAdder> views = new ConcurrentHashMap<>();
+    private final Map<Long, LongAdder> orders = new ConcurrentHashMap<>();
+
+    public void recordView(final Long productId) {
+        views.computeIfAbsent(productId, id -> new LongAdder()).increment();
+    }
+
+    public void recordOrder(final Long productId, final long quantity) {
+        orders.computeIfAbsent(productId, id -> new LongAdder()).add(quantity);
+    }
+
+    /**
+     * Puts counts that could not be flushed back, so they go out with the next drain.
+     */
+    public void restore(final List<ProductCounts> counts) {
+        for (final ProductCounts count : counts) {
+            if (count.getViews() > 0) {
+                views.computeIfAbsent(count.getProductId(), id -> new LongAdder()).add(count.getViews());
+            }
+            if (count.getOrders() > 0) {
+                recordOrder(count.getProductId(), count.getOrders());
+            }
+        }
+    }
+
+    public synchronized List<ProductCounts> drain() {
+        final Map<Long, long[]> drained = new HashMap<>();
+        drain(views, drained, 0);
+        drain(orders, drained, 1);
+        final List<ProductCounts> result = new ArrayList<>(drained.size());
+        drained.forEach((productId, counts) -> result.add(new ProductCounts(productId, counts[0], counts[1])));
+        return result;
+    }
+
+    private static void drain(final Map<Long, LongAdder> counters, final Map<Long, long[]> drained, final int slot) {
+        counters.forEach((productId, adder) -> {
+            // only what was summed is taken out, an increment the sum missed stays for the next drain
+            final long count = adder.sum();
+            if (count > 0) {
+                adder.add(-count);
+                drained.computeIfAbsent(productId, id -> new long[2])[slot] = count;
+            }
+        });
+    }
+}
@@ -0,0 +1,13 @@
+package ge.evstore.ev_store.catalog;
+
+import lombok.Value;
+
+/**
+ * Views and ordered units of one product collected since the previous flush.
+ */
+@Value
+public class ProductCounts {
+    Long productId;
+    long views;
+    long orders;
+}
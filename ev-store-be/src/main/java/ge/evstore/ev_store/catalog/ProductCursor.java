@@ -0,0 +1,42 @@
+package ge.evstore.ev_store.catalog;
+
+import ge.evstore.ev_store.exception.InvalidPageRequestException;
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of the last product of a keyset page: its sort key value and id. Clients get it as an opaque
+ * url-safe string and send it back unchanged to fetch the next page.
+ */
+@Value
+public class ProductCursor {
+    private static final String SEPARATOR = "\n";
+    // marks a present value so that empty strings and nulls stay distinguishable
+    private static final String VALUE_PREFIX = "v";
+
+    ProductSortKey sortKey;
+    Comparable<?> value;
+    Long id;
+
+    public String encode() {
+        final String raw = sortKey.name() + SEPARATOR + id + SEPARATOR + (value == null ? "" : VALUE_PREFIX + value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ProductCursor decode(final String cursor, final ProductSortKey expectedSortKey) {
+        try {
+            final String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            final String[] parts = raw.split(SEPARATOR, 3);
+            final ProductSortKey sortKey = ProductSortKey.valueOf(parts[0]);
+            if (sortKey != expectedSortKey) {
+                throw new InvalidPageRequestException("Cursor was issued for a different sort order");
+            }
+            final Comparable<?> value = parts[2].isEmpty() ? null : sortKey.parse(parts[2].substring(VALUE_PREFIX.length()));
+            return new ProductCursor(sortKey, value, Long.valueOf(parts[1]));
+        } catch (final IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new InvalidPageRequestException("Malformed cursor");
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package ge.evstore.ev_store.catalog;
+
+import ge.evstore.ev_store.response.ProductResponse;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Normalized set of catalog listing filters. Two requests that select the same products produce equal filters,
+ * so instances can be used as cache keys.
+ */
+@Value
+@Builder(toBuilder = true)
+public class ProductFilter {
+    String name;
+    @Builder.Default
+    List<Long> categoryIds = List.of();
+    Double minPrice;
+    Double maxPrice;
+    boolean inStock;
+    boolean popular;
+    boolean comingSoon;
+    Long productId;
+    String itemCode;
+
+    public static ProductFilter of(final String name, final String categoryId, final Double minPrice, final Double maxPrice, final Boolean inStock,
+                                   final Boolean isPopular, final Long productId, final String itemCode, final Boolean comingSoon) {
+        return ProductFilter.builder()
+                .name(name == null || name.isBlank() ? null : name.toLowerCase())
+                .categoryIds(parseCategoryIds(categoryId))
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .inStock(Boolean.TRUE.equals(inStock))
+                .popular(Boolean.TRUE.equals(isPopular))
+                .comingSoon(Boolean.TRUE.equals(comingSoon))
+                .productId(productId)
+                .itemCode(itemCode == null || itemCode.isBlank() ? null : itemCode)
+                .build();
+    }
+
+    public boolean hasCategoryFilter() {
+        return !categoryIds.isEmpty();
+    }
+
+    /**
+     * Tells whether the product can be selected by this filter. Name filters are resolved through the search index,
+     * so they are treated as a possible match.
+     *
+     * @param descendantCategoryIds resolves a category to itself and all of its descendants
+     */
+    public boolean mayMatch(final ProductResponse product, final Function<Long, Set<Long>> descendantCategoryIds) {
+        if (productId != null && !productId.equals(product.getProductId())) {
+            return false;
+        }
+        if (itemCode != null && !itemCode.equals(product.getItemCode())) {
+            return false;
+        }
+        if ((minPrice != null || maxPrice != null) && product.getPrice() == null) {
+            return false;
+        }
+        if ((minPrice != null && product.getPrice() < minPrice) || (maxPrice != null && product.getPrice() > maxPrice)) {
+            return false;
+        }
+        if (inStock && (product.getStockAmount() == null || product.getStockAmount() <= 0)) {
+            return false;
+        }
+        if ((popular && !Boolean.TRUE.equals(product.getIsPopular())) || (comingSoon && !Boolean.TRUE.equals(product.getComingSoon()))) {
+            return false;
+        }
+        return !hasCategoryFilter() || categoryIds.stream()
+                .anyMatch(categoryId -> descendantCategoryIds.apply(categoryId).contains(product.getCategoryId()));
+    }
+
+    // categoryId comes in as "n1,n2,n3"
+    private static List<Long> parseCategoryIds(final String categoryId) {
+        if (categoryId == null || categoryId.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(categoryId.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .map(Long::valueOf)
+                .distinct()
+                .sorted()
+                .toList();
+    }
+}
@@ -0,0 +1,151 @@
+package ge.evstore.ev_store.catalog;
+
+import ge.evstore.ev_store.exception.InvalidProjectionException;
+import ge.evstore.ev_store.response.ProductResponse;
+import ge.evstore.ev_store.response.ProjectedProductResponse;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Selects which {@link ProductResponse} fields are written to the client. A language keeps only the names and
+ * descriptions of that locale, and a field list keeps only the named fields; "name" and "description" stand for all
+ * of their localized variants. Field names and order are the same as in the full response.
+ */
+@Getter
+public final class ProductProjection {
+    public static final ProductProjection FULL = new ProductProjection(EnumSet.allOf(Field.class));
+    // resolves the language from the Accept-Language header instead of a query parameter
+    public static final String AUTO_LANGUAGE = "auto";
+
+    private final Set<Field> fields;
+
+    private ProductProjection(final Set<Field> fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * @param lang           language code (ge/ka, en/eng, ru/rus), {@link #AUTO_LANGUAGE} or null for all languages
+     * @param acceptLanguage Accept-Language header, only consulted for {@link #AUTO_LANGUAGE}
+     * @param fields         comma separated field names or null for all fields
+     */
+    public static ProductProjection of(final String lang, final String acceptLanguage, final String fields) {
+        final Language language = AUTO_LANGUAGE.equalsIgnoreCase(lang) ? Language.fromHeader(acceptLanguage) : Language.fromCode(lang);
+        final Set<String> requested = parseFields(fields);
+        if (language == null && requested == null) {
+            return FULL;
+        }
+        final EnumSet<Field> selected = EnumSet.noneOf(Field.class);
+        for (final Field field : Field.values()) {
+            final boolean languageMatches = language == null || field.language == null || field.language == language;
+            final boolean requestedField = requested == null || requested.contains(field.jsonName) || requested.contains(field.group);
+            if (languageMatches && requestedField) {
+                selected.add(field);
+            }
+        }
+        return new ProductProjection(selected);
+    }
+
+    public boolean isFull() {
+        return fields.size() == Field.values().length;
+    }
+
+    public ProjectedProductResponse project(final ProductResponse product) {
+        return new ProjectedProductResponse(product, this);
+    }
+
+    private static Set<String> parseFields(final String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        final Set<String> known = new HashSet<>();
+        for (final Field field : Field.values()) {
+            known.add(field.jsonName);
+            known.add(field.group);
+        }
+        final Set<String> requested = new HashSet<>();
+        for (final String field : fields.split(",")) {
+            final String trimmed = field.trim();
+            if (!known.contains(trimmed)) {
+                throw new InvalidProjectionException("Unknown product field: " + trimmed);
+            }
+            requested.add(trimmed);
+        }
+        return requested;
+    }
+
+    public enum Language {
+        GE("ka", "ge"),
+        ENG("en", "eng"),
+        RUS("ru", "rus");
+
+        private final String isoCode;
+        private final String shortCode;
+
+        Language(final String isoCode, final String shortCode) {
+            this.isoCode = isoCode;
+            this.shortCode = shortCode;
+        }
+
+        static Language fromCode(final String code) {
+            if (code == null || code.isBlank()) {
+                return null;
+            }
+            return find(code.trim()).orElseThrow(() -> new InvalidProjectionException("Unsupported language: " + code));
+        }
+
+        // highest weighted supported language, or null so that a browser default never hides content
+        static Language fromHeader(final String header) {
+            if (header == null || header.isBlank()) {
+                return null;
+            }
+            try {
+                for (final Locale.LanguageRange range : Locale.LanguageRange.parse(header)) {
+                    final String primary = range.getRange().split("-")[0];
+                    final Optional<Language> language = find(primary);
+                    if (language.isPresent()) {
+                        return language.get();
+                    }
+                }
+            } catch (final IllegalArgumentException e) {
+                return null;
+            }
+            return null;
+        }
+
+        private static Optional<Language> find(final String code) {
+            return Arrays.stream(values())
+                    .filter(language -> language.isoCode.equalsIgnoreCase(code) || language.shortCode.equalsIgnoreCase(code))
+                    .findFirst();
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public enum Field {
+        PRODUCT_ID("productId", "productId", null, ProductResponse::getProductId),
+        NAME_GE("nameGE", "name", Language.GE, ProductResponse::getNameGE),
+        NAME_ENG("nameENG", "name", Language.ENG, ProductResponse::getNameENG),
+        NAME_RUS("nameRUS", "name", Language.RUS, ProductResponse::getNameRUS),
+        DESCRIPTION_GE("descriptionGE", "description", Language.GE, ProductResponse::getDescriptionGE),
+        DESCRIPTION_ENG("descriptionENG", "description", Language.ENG, ProductResponse::getDescriptionENG),
+        DESCRIPTION_RUS("descriptionRUS", "description", Language.RUS, ProductResponse::getDescriptionRUS),
+        PRICE("price", "price", null, ProductResponse::getPrice),
+        ITEM_CODE("itemCode", "itemCode", null, ProductResponse::getItemCode),
+        STOCK_AMOUNT("stockAmount", "stockAmount", null, ProductResponse::getStockAmount),
+        CATEGORY_NAME("categoryName", "categoryName", null, ProductResponse::getCategoryName),
+        CATEGORY_ID("categoryId", "categoryId", null, ProductResponse::getCategoryId),
+        MAIN_IMAGE_ID("mainImageId", "mainImageId", null, ProductResponse::getMainImageId),
+        IMAGE_IDS("imageIds", "imageIds", null, ProductResponse::getImageIds),
+        IS_POPULAR("isPopular", "isPopular", null, ProductResponse::getIsPopular),
+        TUTORIAL_LINK("tutorialLink", "tutorialLink", null, ProductResponse::getTutorialLink),
+        COMING_SOON("comingSoon", "comingSoon", null, ProductResponse::getComingSoon);
+
+        private final String jsonName;
+        private final String group;
+        private final Language language;
+        private final Function<ProductResponse, Object> accessor;
+    }
+}
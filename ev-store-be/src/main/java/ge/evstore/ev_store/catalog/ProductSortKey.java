@@ -0,0 +1,35 @@
+package ge.evstore.ev_store.catalog;
+
+import ge.evstore.ev_store.exception.InvalidPageRequestException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * Sort orders allowed for keyset pagination. Each one is backed by a composite (key, id) index on products.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ProductSortKey {
+    PRICE("price", Double::valueOf),
+    ID("id", Long::valueOf),
+    NAME_GE("nameGE", value -> value),
+    NAME_ENG("nameENG", value -> value),
+    NAME_RUS("nameRUS", value -> value);
+
+    private final String property;
+    private final Function<String, Comparable<?>> parser;
+
+    public static ProductSortKey fromProperty(final String property) {
+        return Arrays.stream(values())
+                .filter(key -> key.property.equals(property))
+                .findFirst()
+                .orElseThrow(() -> new InvalidPageRequestException("Unsupported sort for cursor pagination: " + property));
+    }
+
+    public Comparable<?> parse(final String value) {
+        return parser.apply(value);
+    }
+}
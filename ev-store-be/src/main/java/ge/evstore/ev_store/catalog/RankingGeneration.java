@@ -0,0 +1,15 @@
+package ge.evstore.ev_store.catalog;
+
+import lombok.Value;
+
+/**
+ * Generation of the popularity ranking order, shared by all instances serving that order.
+ */
+@Value
+public class RankingGeneration {
+    public static final RankingGeneration INITIAL = new RankingGeneration(0, 0);
+
+    long generation;
+    // epoch millis of the change to this generation
+    long changedAt;
+}
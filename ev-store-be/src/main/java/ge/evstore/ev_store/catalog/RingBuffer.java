@@ -0,0 +1,72 @@
+package ge.evstore.ev_store.catalog;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free buffer for many producers and a single consumer. Producers claim a slot with a CAS on the tail
+ * and never wait: when the buffer is full the element is dropped and counted instead. The consumer takes elements
+ * in claim order and stops at a slot that is claimed but not yet filled, picking it up on its next drain.
+ */
+public class RingBuffer<T> {
+    private final AtomicReferenceArray<T> slots;
+    private final int capacity;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    // only advanced by the consumer
+    private volatile long head;
+
+    public RingBuffer(final int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * @return false when the buffer was full and the element was dropped
+     */
+    public boolean offer(final T element) {
+        while (true) {
+            final long claimed = tail.get();
+            if (claimed - head >= capacity) {
+                dropped.incrementAndGet();
+                return false;
+            }
+            if (tail.compareAndSet(claimed, claimed + 1)) {
+                slots.set(index(claimed), element);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Takes up to max elements. Must not be called concurrently.
+     */
+    public List<T> drain(final int max) {
+        final List<T> drained = new ArrayList<>(Math.min(max, capacity));
+        long next = head;
+        while (drained.size() < max && next < tail.get()) {
+            final T element = slots.get(index(next));
+            if (element == null) {
+                break;
+            }
+            slots.set(index(next), null);
+            drained.add(element);
+            next++;
+            head = next;
+        }
+        return drained;
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    private int index(final long sequence) {
+        return (int) (sequence % capacity);
+    }
+}
@@ -0,0 +1,119 @@
+package ge.evstore.ev_store.catalog;
+
+import lombok.Value;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes sitemaps.org URL sets and sitemap indexes. Every file is written together with a gzip precompressed
+ * {@code .gz} sibling, each to a temporary file that is moved into place, so readers never see a partial file.
+ */
+public final class SitemapFiles {
+    // per sitemaps.org a single file may list at most 50,000 URLs
+    public static final int MAX_URLS = 50_000;
+    public static final String GZIP_SUFFIX = ".gz";
+    private static final String NAMESPACE = "http://www.sitemaps.org/schemas/sitemap/0.9";
+
+    private SitemapFiles() {
+    }
+
+    public static void writeUrlSet(final Path path, final List<String> urls) throws IOException {
+        if (urls.size() > MAX_URLS) {
+            throw new IllegalArgumentException("A sitemap lists at most " + MAX_URLS + " URLs");
+        }
+        write(path, render("urlset", xml -> {
+            for (final String url : urls) {
+                xml.writeStartElement("url");
+                element(xml, "loc", url);
+                xml.writeEndElement();
+            }
+        }));
+    }
+
+    public static void writeIndex(final Path path, final List<Entry> sitemaps) throws IOException {
+        write(path, render("sitemapindex", xml -> {
+            for (final Entry sitemap : sitemaps) {
+                xml.writeStartElement("sitemap");
+                element(xml, "loc", sitemap.getLocation());
+                element(xml, "lastmod", DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(sitemap.getLastModified().atOffset(ZoneOffset.UTC)));
+                xml.writeEndElement();
+            }
+        }));
+    }
+
+    public static void delete(final Path path) throws IOException {
+        Files.deleteIfExists(path);
+        Files.deleteIfExists(gzipped(path));
+    }
+
+    public static Path gzipped(final Path path) {
+        return path.resolveSibling(path.getFileName() + GZIP_SUFFIX);
+    }
+
+    private static byte[] render(final String root, final Body body) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            final XMLStreamWriter xml = XMLOutputFactory.newFactory().createXMLStreamWriter(out, StandardCharsets.UTF_8.name());
+            xml.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+            xml.writeStartElement(root);
+            xml.writeDefaultNamespace(NAMESPACE);
+            body.write(xml);
+            xml.writeEndElement();
+            xml.writeEndDocument();
+            xml.close();
+        } catch (final XMLStreamException e) {
+            throw new IOException("Failed to render sitemap", e);
+        }
+        return out.toByteArray();
+    }
+
+    private static void element(final XMLStreamWriter xml, final String name, final String text) throws XMLStreamException {
+        xml.writeStartElement(name);
+        xml.writeCharacters(text);
+        xml.writeEndElement();
+    }
+
+    private static void write(final Path path, final byte[] content) throws IOException {
+        final Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        // the compressed sibling goes first, so a plain file is never newer than its gzip variant
+        final Path gzipTemp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        final Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream gzip = new GZIPOutputStream(Files.newOutputStream(gzipTemp))) {
+                gzip.write(content);
+            }
+            Files.write(temp, content);
+            Files.move(gzipTemp, gzipped(path), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(gzipTemp);
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Body {
+        void write(XMLStreamWriter xml) throws XMLStreamException;
+    }
+
+    @Value
+    public static class Entry {
+        String location;
+        Instant lastModified;
+    }
+}
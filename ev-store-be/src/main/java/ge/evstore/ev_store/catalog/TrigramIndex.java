@@ -0,0 +1,199 @@
+package ge.evstore.ev_store.catalog;
+
+import ge.evstore.ev_store.utils.TransliterationUtils;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted trigram index for substring search over a few short text fields per document.
+ * Text is folded with {@link TransliterationUtils} before indexing and querying. Queries of three or more characters
+ * intersect the posting lists of their trigrams and verify the survivors; shorter queries scan the folded documents.
+ */
+public class TrigramIndex {
+    private static final int GRAM = 3;
+
+    private final Map<Long, String[]> documents = new HashMap<>();
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(final Long id, final List<String> fields) {
+        final String[] folded = fields.stream()
+                .filter(Objects::nonNull)
+                .map(TransliterationUtils::fold)
+                .toArray(String[]::new);
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            documents.put(id, folded);
+            for (final String field : folded) {
+                for (final String gram : trigrams(field)) {
+                    postings.computeIfAbsent(gram, g -> new HashSet<>()).add(id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(final Long id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            postings.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the ids of all documents with a field containing the query.
+     */
+    public Set<Long> matchAll(final String query) {
+        final String folded = TransliterationUtils.fold(query).trim();
+        lock.readLock().lock();
+        try {
+            final Set<Long> result = new HashSet<>();
+            for (final Long id : candidates(folded)) {
+                if (bestMatchRank(documents.get(id), folded) >= 0) {
+                    result.add(id);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} matching ids, best matches first: exact field matches, then prefix matches,
+     * then word-prefix matches, then plain substring matches; shorter fields win ties.
+     */
+    public List<Long> search(final String query, final int limit) {
+        final String folded = TransliterationUtils.fold(query).trim();
+        if (folded.isEmpty()) {
+            return List.of();
+        }
+        final List<long[]> scored = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (final Long id : candidates(folded)) {
+                final String[] fields = documents.get(id);
+                final int rank = bestMatchRank(fields, folded);
+                if (rank >= 0) {
+                    scored.add(new long[]{rank, shortestMatchingField(fields, folded), id});
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        scored.sort(Comparator.<long[]>comparingLong(s -> s[0]).thenComparingLong(s -> s[1]).thenComparingLong(s -> s[2]));
+        return scored.stream().limit(limit).map(s -> s[2]).toList();
+    }
+
+    private Collection<Long> candidates(final String folded) {
+        if (folded.length() < GRAM) {
+            return documents.keySet();
+        }
+        final List<Set<Long>> lists = new ArrayList<>();
+        for (final String gram : trigrams(folded)) {
+            final Set<Long> posting = postings.get(gram);
+            if (posting == null) {
+                return List.of();
+            }
+            lists.add(posting);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+        final Set<Long> result = new HashSet<>(lists.get(0));
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result.retainAll(lists.get(i));
+        }
+        return result;
+    }
+
+    private void removeInternal(final Long id) {
+        final String[] previous = documents.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (final String field : previous) {
+            for (final String gram : trigrams(field)) {
+                final Set<Long> posting = postings.get(gram);
+                if (posting != null) {
+                    posting.remove(id);
+                    if (posting.isEmpty()) {
+                        postings.remove(gram);
+                    }
+                }
+            }
+        }
+    }
+
+    // -1 when nothing matches, otherwise lower is better
+    private static int bestMatchRank(final String[] fields, final String query) {
+        int best = -1;
+        for (final String field : fields) {
+            final int rank = matchRank(field, query);
+            if (rank >= 0 && (best < 0 || rank < best)) {
+                best = rank;
+            }
+        }
+        return best;
+    }
+
+    private static int matchRank(final String field, final String query) {
+        final int index = field.indexOf(query);
+        if (index < 0) {
+            return -1;
+        }
+        if (field.length() == query.length()) {
+            return 0;
+        }
+        if (index == 0) {
+            return 1;
+        }
+        for (int i = index; i >= 0; i = field.indexOf(query, i + 1)) {
+            if (!Character.isLetterOrDigit(field.charAt(i - 1))) {
+                return 2;
+            }
+        }
+        return 3;
+    }
+
+    private static int shortestMatchingField(final String[] fields, final String query) {
+        int shortest = Integer.MAX_VALUE;
+        for (final String field : fields) {
+            if (field.contains(query)) {
+                shortest = Math.min(shortest, field.length());
+            }
+        }
+        return shortest;
+    }
+
+    private static Set<String> trigrams(final String text) {
+        final Set<String> result = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            result.add(text.substring(i, i + GRAM));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,22 @@
+package ge.evstore.ev_store.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers SQL functions missing from the Hibernate dialect. Picked up by Hibernate through the service loader.
+ */
+public class ArrayFunctionContributor implements FunctionContributor {
+    // matches a value against a single array parameter, "any" itself is taken by the bool_or aggregate
+    public static final String EQUALS_ANY = "equals_any";
+
+    @Override
+    public void contributeFunctions(final FunctionContributions functionContributions) {
+        functionContributions.getFunctionRegistry()
+                .patternDescriptorBuilder(EQUALS_ANY, "(?1 = any(?2))")
+                .setExactArgumentCount(2)
+                .setInvariantType(functionContributions.getTypeConfiguration().getBasicTypeRegistry().resolve(StandardBasicTypes.BOOLEAN))
+                .register();
+    }
+}
@@ -0,0 +1,24 @@
+package ge.evstore.ev_store.config;
+
+import ge.evstore.ev_store.cache.ProductListingKey;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Caffeine backed caches for storefront product reads. Sizes, TTL and stats recording come from
+ * {@code spring.cache.caffeine.spec}; hit/miss metrics are published by actuator as {@code cache.gets}.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String PRODUCT_LISTINGS = "productListings";
+    public static final String PRODUCT_BY_ID = "productById";
+    public static final String PRODUCTS_BY_IDS = "productsByIds";
+
+    @Bean
+    public KeyGenerator productListingKeyGenerator() {
+        return (target, method, params) -> ProductListingKey.of(params);
+    }
+}
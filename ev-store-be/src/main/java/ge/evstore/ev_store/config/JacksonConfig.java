@@ -0,0 +1,45 @@
+package ge.evstore.ev_store.config;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import ge.evstore.ev_store.cache.CachingProductSerializer;
+import ge.evstore.ev_store.cache.ProductJsonCache;
+import ge.evstore.ev_store.response.ProductResponse;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+@Configuration
+public class JacksonConfig {
+
+    // picked up by Spring Boot's auto-configured ObjectMapper
+    @Bean
+    public Module productJsonCacheModule(final ProductJsonCache productJsonCache) {
+        final SimpleModule module = new SimpleModule("productJsonCache");
+        module.setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            public JsonSerializer<?> modifySerializer(final SerializationConfig config, final BeanDescription beanDesc, final JsonSerializer<?> serializer) {
+                if (beanDesc.getBeanClass() == ProductResponse.class) {
+                    return new CachingProductSerializer(serializer, productJsonCache);
+                }
+                return serializer;
+            }
+        });
+        return module;
+    }
+
+    /**
+     * Lets clients ask for {@code application/cbor} instead of JSON. The mapper gets the same modules and settings as
+     * the JSON one; Spring Boot keeps JSON first, so requests without an explicit Accept header are unchanged.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(final Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+}
@@ -1,9 +1,20 @@
 package ge.evstore.ev_store.config;
 
+import ge.evstore.ev_store.interceptor.CatalogVersionInterceptor;
+import ge.evstore.ev_store.interceptor.ProductViewInterceptor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.PathResourceResolver;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 public class WebConfig {
@@ -21,4 +32,33 @@ public class WebConfig {
             }
         };
     }
+
+    @Bean
+    public WebMvcConfigurer catalogVersionConfigurer(final ProductViewInterceptor productViewInterceptor,
+                                                     final CatalogVersionInterceptor catalogVersionInterceptor) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(final InterceptorRegistry registry) {
+                // views are counted before conditional requests are answered
+                registry.addInterceptor(productViewInterceptor);
+                registry.addInterceptor(catalogVersionInterceptor);
+            }
+        };
+    }
+
+    // sitemap files are served straight from disk, the .gz variants to clients accepting gzip
+    @Bean
+    public WebMvcConfigurer sitemapConfigurer(@Value("${sitemap.directory}") final String directory) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addResourceHandlers(final ResourceHandlerRegistry registry) {
+                registry.addResourceHandler("/sitemap.xml", "/sitemap-*.xml")
+                        .addResourceLocations("file:" + Path.of(directory).toAbsolutePath() + "/")
+                        .setCacheControl(CacheControl.maxAge(1, TimeUnit.HOURS))
+                        .resourceChain(false)
+                        .addResolver(new EncodedResourceResolver())
+                        .addResolver(new PathResourceResolver());
+            }
+        };
+    }
 }
@@ -1,5 +1,6 @@
 package ge.evstore.ev_store.controller;
 
+import ge.evstore.ev_store.catalog.ExportFormat;
 import ge.evstore.ev_store.entity.Category;
 import ge.evstore.ev_store.entity.Dictionary;
 import ge.evstore.ev_store.entity.OrderStatus;
@@ -7,15 +8,19 @@ import ge.evstore.ev_store.entity.Product;
 import ge.evstore.ev_store.request.CreateCategoryRequest;
 import ge.evstore.ev_store.request.ProductRequest;
 import ge.evstore.ev_store.response.ImageSaveResponse;
+import ge.evstore.ev_store.response.ListingQueryStatsResponse;
 import ge.evstore.ev_store.response.OrderHistoryResponse;
 import ge.evstore.ev_store.service.interf.AdminService;
 import ge.evstore.ev_store.service.interf.DictionaryService;
 import jakarta.servlet.http.HttpServletRequest;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
 import java.nio.file.AccessDeniedException;
@@ -68,6 +73,21 @@ public class AdminController {
         return ResponseEntity.ok().build();
     }
 
+    @GetMapping("/products/export")
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @RequestParam(required = false, defaultValue = "NDJSON") final ExportFormat format,
+            final HttpServletRequest request) {
+        final String accessToken = extractBearer(request);
+        final StreamingResponseBody body = adminService.exportProducts(format, accessToken);
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("products." + format.getExtension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
     @PatchMapping("/products/{id}/stock")
     public ResponseEntity<Product> updateStock(
             @PathVariable final Long id,
@@ -154,14 +174,23 @@ public class AdminController {
     }
 
     @GetMapping("/orders/get-all")
-    public ResponseEntity<Page<OrderHistoryResponse>> getAllOrders(
+    public ResponseEntity<Slice<OrderHistoryResponse>> getAllOrders(
             final HttpServletRequest request,
             @RequestParam(required = false, defaultValue = "0") final int page,
             @RequestParam(required = false, defaultValue = "10") final int size,
             @RequestParam(required = false) final Long id,
-            @RequestParam(required = false) final OrderStatus orderStatus) {
+            @RequestParam(required = false) final OrderStatus orderStatus,
+            @RequestParam(required = false, defaultValue = "true") final boolean withTotal) {
         final String accessToken = extractBearer(request);
-        return ResponseEntity.ok(adminService.getAllOrders(page, size, id, orderStatus, accessToken));
+        return ResponseEntity.ok(adminService.getAllOrders(page, size, id, orderStatus, withTotal, accessToken));
     }
-}
 
+    /*--------------------Listing Queries --------------*/
+
+    @GetMapping("/queries/top")
+    public ResponseEntity<List<ListingQueryStatsResponse>> getTopListingQueries(
+            final HttpServletRequest request, @RequestParam(required = false, defaultValue = "50") final int limit) {
+        final String accessToken = extractBearer(request);
+        return ResponseEntity.ok(adminService.getTopListingQueries(limit, accessToken));
+    }
+}
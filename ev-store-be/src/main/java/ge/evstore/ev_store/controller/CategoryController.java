@@ -1,5 +1,6 @@
 package ge.evstore.ev_store.controller;
 
+import ge.evstore.ev_store.annotation.CatalogVersioned;
 import ge.evstore.ev_store.entity.Category;
 import ge.evstore.ev_store.response.CategoryFullTreeResponse;
 import ge.evstore.ev_store.response.CategoryWithoutChildren;
@@ -20,12 +21,14 @@ public class CategoryController {
 
     private final CategoryService categoryService;
 
+    @CatalogVersioned
     @GetMapping("/get-full-path/{id}")
     public ResponseEntity<List<CategoryWithoutChildren>> getFullCategoryPath(
             @PathVariable final Long id) {
         return ResponseEntity.ok(categoryService.getFullCategoryPath(id));
     }
 
+    @CatalogVersioned
     @GetMapping("/all")
     public ResponseEntity<List<CategoryFullTreeResponse>> listCategories() {
         return ResponseEntity.ok(
@@ -33,11 +36,13 @@ public class CategoryController {
         );
     }
 
+    @CatalogVersioned
     @GetMapping("/list-all")
     public ResponseEntity<List<CategoryWithoutChildren>> listAllCategories() {
         return ResponseEntity.ok(categoryService.flatListAllCategories());
     }
 
+    @CatalogVersioned
     @GetMapping("/{id}")
     public ResponseEntity<Category> getCategory(
             @PathVariable final Long id) {
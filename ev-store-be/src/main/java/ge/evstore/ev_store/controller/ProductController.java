@@ -1,12 +1,31 @@
 package ge.evstore.ev_store.controller;
 
+import ge.evstore.ev_store.annotation.CatalogVersioned;
+import ge.evstore.ev_store.annotation.CountsProductView;
+import ge.evstore.ev_store.catalog.ListingQuery;
+import ge.evstore.ev_store.catalog.ProductFilter;
+import ge.evstore.ev_store.catalog.ProductProjection;
+import ge.evstore.ev_store.response.AutocompleteSuggestion;
+import ge.evstore.ev_store.response.CatalogChangesResponse;
 import ge.evstore.ev_store.response.MaxPriceResponse;
+import ge.evstore.ev_store.response.PriceStatisticsResponse;
+import ge.evstore.ev_store.response.ProductFacetsResponse;
 import ge.evstore.ev_store.response.ProductResponse;
+import ge.evstore.ev_store.response.ProductScrollResponse;
+import ge.evstore.ev_store.service.interf.CatalogChangeService;
+import ge.evstore.ev_store.service.interf.FrequentlyBoughtTogetherService;
+import ge.evstore.ev_store.service.interf.ItemCodeLookupService;
+import ge.evstore.ev_store.service.interf.ListingQueryLogService;
+import ge.evstore.ev_store.service.interf.PriceStatisticsService;
+import ge.evstore.ev_store.service.interf.ProductFacetService;
 import ge.evstore.ev_store.service.interf.ProductService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -16,27 +35,172 @@ import java.util.List;
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductFacetService productFacetService;
+    private final CatalogChangeService catalogChangeService;
+    private final PriceStatisticsService priceStatisticsService;
+    private final FrequentlyBoughtTogetherService frequentlyBoughtTogetherService;
+    private final ListingQueryLogService listingQueryLogService;
+    private final ItemCodeLookupService itemCodeLookupService;
 
+    @CatalogVersioned
     @GetMapping("/max-price")
-    public ResponseEntity<MaxPriceResponse> getMaxPrice() {
+    public ResponseEntity<MaxPriceResponse> getMaxPrice(@RequestParam(required = false) final Long categoryId) {
         return ResponseEntity.ok(
-                productService.getOverAllMaxPrice()
+                categoryId == null ? productService.getOverAllMaxPrice() : productService.getMaxPriceByCategory(categoryId)
         );
     }
 
+    @CatalogVersioned
+    @GetMapping("/price-stats")
+    public ResponseEntity<PriceStatisticsResponse> getPriceStatistics(@RequestParam(required = false) final Long categoryId) {
+        return ResponseEntity.ok(priceStatisticsService.getStatistics(categoryId));
+    }
+
+    @CatalogVersioned
+    @CountsProductView
     @GetMapping("/{id}")
-    public ResponseEntity<ProductResponse> getProductById(@PathVariable final Long id) {
-        return ResponseEntity.ok(productService.getProductResponseById(id));
+    public ResponseEntity<?> getProductById(
+            @PathVariable final Long id,
+            @RequestParam(required = false) final String lang, // ge, en, ru or auto for Accept-Language
+            @RequestParam(required = false) final String fields, // "price,name,imageIds"
+            @RequestHeader(value = HttpHeaders.ACCEPT_LANGUAGE, required = false) final String acceptLanguage) {
+        final ProductProjection projection = ProductProjection.of(lang, acceptLanguage, fields);
+        final ProductResponse product = productService.getProductResponseById(id);
+        return projected(lang).body(projection.isFull() ? product : projection.project(product));
+    }
+
+    @CatalogVersioned
+    @GetMapping("/search")
+    public ResponseEntity<List<Long>> searchProducts(
+            @RequestParam final String query,
+            @RequestParam(required = false, defaultValue = "20") final int limit) {
+        return ResponseEntity.ok(productService.searchProductIds(query, limit));
+    }
+
+    @CatalogVersioned
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<AutocompleteSuggestion>> autocomplete(
+            @RequestParam final String prefix,
+            @RequestParam(required = false, defaultValue = "10") final int limit) {
+        return ResponseEntity.ok(productService.autocomplete(prefix, limit));
+    }
+
+    @CatalogVersioned
+    @GetMapping("/scroll")
+    public ResponseEntity<ProductScrollResponse> scrollProducts(
+            @RequestParam(required = false) final String after,
+            @RequestParam(required = false, defaultValue = "10") final int size,
+            @RequestParam(required = false, defaultValue = "price") final String sortBy,
+            @RequestParam(required = false, defaultValue = "asc") final String direction,
+            @RequestParam(required = false) final Long productId,
+            @RequestParam(required = false) final String name,
+            @RequestParam(required = false) final String categoryId, // "n1,n2,n3"
+            @RequestParam(required = false) final Double minPrice,
+            @RequestParam(required = false) final Double maxPrice,
+            @RequestParam(required = false) final Boolean inStock,
+            @RequestParam(required = false) final Boolean isPopular,
+            @RequestParam(required = false) final String itemCode,
+            @RequestParam(required = false) final Boolean comingSoon
+    ) {
+        final ProductFilter filter = ProductFilter.of(name, categoryId, minPrice, maxPrice, inStock, isPopular, productId, itemCode, comingSoon);
+        return ResponseEntity.ok(productService.scrollProducts(filter, size, sortBy, direction, after));
+    }
+
+    @CatalogVersioned
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamProducts(
+            @RequestParam(required = false, defaultValue = "0") final int page,
+            @RequestParam(required = false, defaultValue = "10") final int size,
+            @RequestParam(required = false, defaultValue = "price") final String sortBy,
+            @RequestParam(required = false, defaultValue = "asc") final String direction,
+            @RequestParam(required = false) final Long productId,
+            @RequestParam(required = false) final String name,
+            @RequestParam(required = false) final String categoryId, // "n1,n2,n3"
+            @RequestParam(required = false) final Double minPrice,
+            @RequestParam(required = false) final Double maxPrice,
+            @RequestParam(required = false) final Boolean inStock,
+            @RequestParam(required = false) final Boolean isPopular,
+            @RequestParam(required = false) final String itemCode,
+            @RequestParam(required = false) final Boolean comingSoon
+    ) {
+        final ProductFilter filter = ProductFilter.of(name, categoryId, minPrice, maxPrice, inStock, isPopular, productId, itemCode, comingSoon);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(productService.streamProducts(filter, page, size, sortBy, direction));
+    }
+
+    // without "since" only the current sequence is returned; clients take it before downloading the full catalog
+    @CatalogVersioned
+    @GetMapping("/changes")
+    public ResponseEntity<CatalogChangesResponse> getChanges(
+            @RequestParam(required = false) final Long since,
+            @RequestParam(required = false, defaultValue = "500") final int limit) {
+        return ResponseEntity.ok(catalogChangeService.getChanges(since, limit));
+    }
+
+    @CatalogVersioned
+    @GetMapping("/facets")
+    public ResponseEntity<ProductFacetsResponse> getFacets(
+            @RequestParam(required = false) final Long productId,
+            @RequestParam(required = false) final String name,
+            @RequestParam(required = false) final String categoryId, // "n1,n2,n3"
+            @RequestParam(required = false) final Double minPrice,
+            @RequestParam(required = false) final Double maxPrice,
+            @RequestParam(required = false) final Boolean inStock,
+            @RequestParam(required = false) final Boolean isPopular,
+            @RequestParam(required = false) final String itemCode,
+            @RequestParam(required = false) final Boolean comingSoon,
+            @RequestParam(required = false, defaultValue = "10") final int priceBuckets
+    ) {
+        final ProductFilter filter = ProductFilter.of(name, categoryId, minPrice, maxPrice, inStock, isPopular, productId, itemCode, comingSoon);
+        return ResponseEntity.ok(productFacetService.getFacets(filter, priceBuckets));
+    }
+
+    @GetMapping("/frequently-bought-together")
+    public ResponseEntity<List<?>> getFrequentlyBoughtTogether(
+            @RequestParam final List<Long> productIds, // "n1,n2,n3", e.g. the products of a cart
+            @RequestParam(required = false, defaultValue = "10") final int limit,
+            @RequestParam(required = false) final String lang,
+            @RequestParam(required = false) final String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT_LANGUAGE, required = false) final String acceptLanguage) {
+        final ProductProjection projection = ProductProjection.of(lang, acceptLanguage, fields);
+        final List<ProductResponse> products = frequentlyBoughtTogetherService.getFrequentlyBoughtTogether(productIds, limit);
+        return projected(lang).body(projection.isFull() ? products : products.stream().map(projection::project).toList());
+    }
+
+    @GetMapping("/item-codes")
+    public ResponseEntity<List<?>> getProductsByItemCodes(
+            @RequestParam final List<String> itemCodes, // "c1,c2,c3"
+            @RequestParam(required = false) final String lang,
+            @RequestParam(required = false) final String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT_LANGUAGE, required = false) final String acceptLanguage) {
+        return itemCodeLookup(itemCodes, lang, fields, acceptLanguage);
+    }
+
+    // for code lists too long for a query string, e.g. ERP synchronisation
+    @PostMapping("/item-codes")
+    public ResponseEntity<List<?>> getProductsByItemCodesBulk(
+            @RequestBody final List<String> itemCodes,
+            @RequestParam(required = false) final String lang,
+            @RequestParam(required = false) final String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT_LANGUAGE, required = false) final String acceptLanguage) {
+        return itemCodeLookup(itemCodes, lang, fields, acceptLanguage);
     }
 
     @PostMapping("/bulk")
-    public ResponseEntity<List<ProductResponse>> getProductsBulk(@RequestBody final List<Long> productIds) {
+    public ResponseEntity<List<?>> getProductsBulk(
+            @RequestBody final List<Long> productIds,
+            @RequestParam(required = false) final String lang,
+            @RequestParam(required = false) final String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT_LANGUAGE, required = false) final String acceptLanguage) {
+        final ProductProjection projection = ProductProjection.of(lang, acceptLanguage, fields);
         final List<ProductResponse> products = productService.getProductsByIds(productIds);
-        return ResponseEntity.ok(products);
+        return projected(lang).body(projection.isFull() ? products : products.stream().map(projection::project).toList());
     }
 
+    @CatalogVersioned
     @GetMapping
-    public ResponseEntity<Page<ProductResponse>> getAllProducts(
+    public ResponseEntity<Slice<?>> getAllProducts(
             @RequestParam(required = false, defaultValue = "0") final int page,
             @RequestParam(required = false, defaultValue = "10") final int size,
             @RequestParam(required = false, defaultValue = "price") final String sortBy,
@@ -49,11 +213,32 @@ public class ProductController {
             @RequestParam(required = false) final Boolean inStock,
             @RequestParam(required = false) final Boolean isPopular,
             @RequestParam(required = false) final String itemCode,
-            @RequestParam(required = false) final Boolean comingSoon
+            @RequestParam(required = false) final Boolean comingSoon,
+            // false skips the total count and only reports whether a next page exists
+            @RequestParam(required = false, defaultValue = "true") final boolean withTotal,
+            @RequestParam(required = false) final String lang,
+            @RequestParam(required = false) final String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT_LANGUAGE, required = false) final String acceptLanguage
     ) {
-        final Page<ProductResponse> products = productService.getAllProducts(page, size, sortBy,
+        final ProductProjection projection = ProductProjection.of(lang, acceptLanguage, fields);
+        final Slice<ProductResponse> products = productService.getAllProducts(page, size, sortBy,
                 direction, name, categoryId, minPrice,
-                maxPrice, inStock, isPopular, productId, itemCode, comingSoon);
-        return ResponseEntity.ok(products);
+                maxPrice, inStock, isPopular, productId, itemCode, comingSoon, withTotal);
+        // logged after the listing was served, so rejected arguments are never replayed
+        listingQueryLogService.record(new ListingQuery(page, size, sortBy, direction, name, categoryId, minPrice,
+                maxPrice, inStock, isPopular, productId, itemCode, comingSoon, withTotal));
+        return projected(lang).body(projection.isFull() ? products : products.map(projection::project));
+    }
+
+    private ResponseEntity<List<?>> itemCodeLookup(final List<String> itemCodes, final String lang, final String fields, final String acceptLanguage) {
+        final ProductProjection projection = ProductProjection.of(lang, acceptLanguage, fields);
+        final List<ProductResponse> products = itemCodeLookupService.findByItemCodes(itemCodes);
+        return projected(lang).body(projection.isFull() ? products : products.stream().map(projection::project).toList());
+    }
+
+    // responses negotiated from Accept-Language must not be shared between languages by caches
+    private static ResponseEntity.BodyBuilder projected(final String lang) {
+        final ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        return ProductProjection.AUTO_LANGUAGE.equalsIgnoreCase(lang) ? builder.varyBy(HttpHeaders.ACCEPT_LANGUAGE) : builder;
     }
 }
@@ -1,41 +0,0 @@
-package ge.evstore.ev_store.converter;
-
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import jakarta.persistence.AttributeConverter;
-import jakarta.persistence.Converter;
-import org.springframework.stereotype.Service;
-
-import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
-
-@Converter
-@Service
-public class JsonListConverter implements AttributeConverter<List<Long>, String> {
-
-    private static final ObjectMapper objectMapper = new ObjectMapper();
-
-    @Override
-    public String convertToDatabaseColumn(final List<Long> attribute) {
-        try {
-            return attribute == null ? null : objectMapper.writeValueAsString(attribute);
-        } catch (final JsonProcessingException e) {
-            throw new RuntimeException("Failed to convert list to JSON string", e);
-        }
-    }
-
-    @Override
-    public List<Long> convertToEntityAttribute(final String dbData) {
-        try {
-            if (dbData == null || dbData.isBlank()) {
-                return new ArrayList<>();
-            }
-            return objectMapper.readValue(dbData, new TypeReference<>() {
-            });
-        } catch (final IOException e) {
-            throw new RuntimeException("Failed to convert JSON string to list", e);
-        }
-    }
-}
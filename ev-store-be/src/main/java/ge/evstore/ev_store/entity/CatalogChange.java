@@ -0,0 +1,36 @@
+package ge.evstore.ev_store.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of the catalog change log. The id doubles as the change sequence handed to syncing clients.
+ */
+@Entity
+@Data
+@Table(name = "catalog_changes")
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CatalogChange {
+    public enum Type {
+        UPSERT,
+        DELETE
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long productId;
+
+    @Enumerated(EnumType.STRING)
+    private Type type;
+
+    private LocalDateTime changedAt;
+}
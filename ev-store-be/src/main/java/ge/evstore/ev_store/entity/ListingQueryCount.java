@@ -0,0 +1,49 @@
+package ge.evstore.ev_store.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * How often one set of product listing arguments was served on one day. Rows are only written by batched upserts
+ * adding the counts collected since the previous flush, so the table grows with distinct listings, not requests.
+ */
+@Entity
+@Data
+@Table(name = "listing_query_counts",
+        uniqueConstraints = @UniqueConstraint(name = "uk_listing_query_counts_key_day", columnNames = {"queryKey", "queryDay"}),
+        indexes = @Index(name = "idx_listing_query_counts_day", columnList = "queryDay"))
+@NoArgsConstructor
+public class ListingQueryCount {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // derived from all listing arguments, the arguments themselves are nullable and cannot be part of the unique key
+    @Column(nullable = false)
+    private UUID queryKey;
+
+    @Column(nullable = false)
+    private LocalDate queryDay;
+
+    private int page;
+    private int size;
+    private String sortBy;
+    private String direction;
+    private String name;
+    private String categoryId;
+    private Double minPrice;
+    private Double maxPrice;
+    private Boolean inStock;
+    private Boolean isPopular;
+    private Long productId;
+    private String itemCode;
+    private Boolean comingSoon;
+    private boolean withTotal;
+
+    @Column(nullable = false)
+    private long queryCount;
+}
@@ -39,6 +39,8 @@ public class Order {
 
     @Column(length = 1000)
     private String specialInstructions;
+    // set once the co-occurrence job has counted the products of this order
+    private Boolean coOccurrenceCounted;
     // The list of items in this order
     @OneToMany(
             mappedBy = "order",
@@ -17,6 +17,9 @@ public class OrderItem {
     @JoinColumn(name = "order_id", nullable = false)
     private Order order;
 
+    // null for items ordered before product ids were recorded
+    private Long productId;
+
     private String productNameENG;
     private String productNameGE;
     private String productNameRUS;
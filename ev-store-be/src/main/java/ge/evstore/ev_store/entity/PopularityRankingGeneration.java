@@ -0,0 +1,31 @@
+package ge.evstore.ev_store.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * The single row counting how often the popularity ranking changed its order. Every instance rebuilds the ranking
+ * on its own, the fingerprint of the last order lets instances arriving at the same order share its generation.
+ */
+@Entity
+@Data
+@Table(name = "popularity_ranking_generation")
+@NoArgsConstructor
+public class PopularityRankingGeneration {
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private long generation;
+
+    @Column(nullable = false)
+    private int fingerprint;
+
+    private LocalDateTime changedAt;
+}
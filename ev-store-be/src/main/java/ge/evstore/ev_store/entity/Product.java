@@ -8,14 +8,28 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import org.modelmapper.Conditions;
 import org.modelmapper.ModelMapper;
 
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
-@Table(name = "products")
+@Table(name = "products", indexes = {
+        // composite (sort key, id) indexes backing keyset pagination
+        @Index(name = "idx_products_price_id", columnList = "price, id"),
+        @Index(name = "idx_products_name_ge_id", columnList = "nameGE, id"),
+        @Index(name = "idx_products_name_eng_id", columnList = "nameENG, id"),
+        @Index(name = "idx_products_name_rus_id", columnList = "nameRUS, id"),
+        @Index(name = "idx_products_main_image_id", columnList = "mainImageId"),
+        @Index(name = "idx_products_item_code", columnList = "itemCode")
+})
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
@@ -48,12 +62,22 @@ public class Product {
 
     private String itemCode;
 
-    private String imageIds;
+    // native bigint[] read straight into the list, the GIN index on it is created by ProductImageIdsMigration
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "image_id_array", columnDefinition = "bigint[]")
+    private List<Long> imageIds;
 
     private Boolean isPopular;
 
     private Boolean comingSoon;
-    
+
+    // optimistic lock version, checked and incremented by every update statement, so each committed write of the
+    // product has its own version; it also identifies cached serialized forms of the product
+    @Schema(hidden = true)
+    @Version
+    @Column(columnDefinition = "bigint default 0")
+    private Long version;
+
     public void update(final Product product) {
         final ModelMapper modelMapper = new ModelMapper();
         modelMapper.getConfiguration().setPropertyCondition(Conditions.isNotNull());
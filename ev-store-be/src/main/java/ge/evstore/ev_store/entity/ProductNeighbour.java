@@ -0,0 +1,39 @@
+package ge.evstore.ev_store.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * A product most often bought together with another one, kept for the top ranks of every product.
+ */
+@Entity
+@Data
+@Table(name = "product_neighbours")
+@IdClass(ProductNeighbour.Key.class)
+@NoArgsConstructor
+public class ProductNeighbour {
+    @Id
+    private Long productId;
+
+    // 1 for the product bought together most often
+    @Id
+    private Integer neighbourRank;
+
+    @Column(nullable = false)
+    private Long neighbourId;
+
+    @Column(nullable = false)
+    private long orderCount;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long productId;
+        private Integer neighbourRank;
+    }
+}
@@ -0,0 +1,36 @@
+package ge.evstore.ev_store.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * One non-zero cell of the sparse product co-occurrence matrix: the number of orders containing both products.
+ * Every pair is stored in both directions.
+ */
+@Entity
+@Data
+@Table(name = "product_pair_counts")
+@IdClass(ProductPairCount.Key.class)
+@NoArgsConstructor
+public class ProductPairCount {
+    @Id
+    private Long productId;
+
+    @Id
+    private Long otherProductId;
+
+    @Column(nullable = false)
+    private long orderCount;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long productId;
+        private Long otherProductId;
+    }
+}
@@ -0,0 +1,31 @@
+package ge.evstore.ev_store.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Accumulated view and order counts of a product. Rows are only written by batched upserts that add the counts
+ * collected in memory since the previous flush.
+ */
+@Entity
+@Data
+@Table(name = "product_stats")
+@NoArgsConstructor
+public class ProductStats {
+    @Id
+    private Long productId;
+
+    @Column(nullable = false)
+    private long viewCount;
+
+    @Column(nullable = false)
+    private long orderCount;
+
+    private LocalDateTime updatedAt;
+}
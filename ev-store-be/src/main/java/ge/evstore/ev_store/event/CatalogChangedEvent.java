@@ -0,0 +1,59 @@
+package ge.evstore.ev_store.event;
+
+import ge.evstore.ev_store.entity.Product;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.core.Ordered;
+
+/**
+ * Published by admin write paths whenever a product or category changes.
+ * Listeners keeping in-memory catalog structures use it to patch or rebuild their state after commit.
+ * <p>
+ * Writes made on other instances are replayed from the catalog change log as {@link #isReplayed() replayed} events,
+ * published outside any transaction, so the same listeners bring this instance up to date.
+ */
+@Getter
+@ToString
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class CatalogChangedEvent {
+    // Listeners maintaining in-memory indexes run at this order, ahead of cache eviction
+    public static final int INDEX_LISTENER_ORDER = 0;
+    // Listeners dropping cached results run at this order, after the indexes have been patched
+    public static final int CACHE_LISTENER_ORDER = Ordered.LOWEST_PRECEDENCE - 1;
+    // The catalog version is bumped last, so a new version is never answered from a cache that is not evicted yet
+    public static final int VERSION_LISTENER_ORDER = Ordered.LOWEST_PRECEDENCE;
+
+    public enum Type {
+        PRODUCT_SAVED,
+        PRODUCT_DELETED,
+        CATEGORY_CHANGED
+    }
+
+    private final Type type;
+    private final Long entityId;
+    // Saved product state, only present for PRODUCT_SAVED
+    @ToString.Exclude
+    private final Product product;
+    // read back from the change log, which already records it
+    private final boolean replayed;
+    // change log sequence the replay brings this instance up to, 0 for local writes
+    private final long sequence;
+
+    public static CatalogChangedEvent productSaved(final Product product) {
+        return new CatalogChangedEvent(Type.PRODUCT_SAVED, product.getId(), product, false, 0);
+    }
+
+    public static CatalogChangedEvent productDeleted(final Long productId) {
+        return new CatalogChangedEvent(Type.PRODUCT_DELETED, productId, null, false, 0);
+    }
+
+    public static CatalogChangedEvent categoryChanged(final Long categoryId) {
+        return new CatalogChangedEvent(Type.CATEGORY_CHANGED, categoryId, null, false, 0);
+    }
+
+    public CatalogChangedEvent asReplayed(final long sequence) {
+        return new CatalogChangedEvent(type, entityId, product, true, sequence);
+    }
+}
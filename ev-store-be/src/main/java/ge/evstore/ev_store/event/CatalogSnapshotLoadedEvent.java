@@ -0,0 +1,15 @@
+package ge.evstore.ev_store.event;
+
+import ge.evstore.ev_store.catalog.CatalogSnapshot;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Published after the catalog index has been fully (re)loaded, so derived in-memory structures can rebuild from
+ * the snapshot instead of querying the database themselves.
+ */
+@Getter
+@RequiredArgsConstructor
+public class CatalogSnapshotLoadedEvent {
+    private final CatalogSnapshot snapshot;
+}
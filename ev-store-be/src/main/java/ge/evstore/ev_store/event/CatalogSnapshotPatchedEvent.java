@@ -0,0 +1,24 @@
+package ge.evstore.ev_store.event;
+
+import ge.evstore.ev_store.catalog.CatalogSnapshot;
+import ge.evstore.ev_store.response.ProductResponse;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Published after the catalog index applied a committed product write. Loads and patches are both published under
+ * the index lock, so structures derived from the snapshot see them in the order the index applied them and a patch
+ * is never overwritten by a reload that read the database before the write.
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class CatalogSnapshotPatchedEvent {
+    @ToString.Exclude
+    private final CatalogSnapshot snapshot;
+    private final Long productId;
+    // Saved product row, null when the product was deleted
+    @ToString.Exclude
+    private final ProductResponse product;
+}
@@ -0,0 +1,36 @@
+package ge.evstore.ev_store.event;
+
+import ge.evstore.ev_store.entity.Order;
+import ge.evstore.ev_store.entity.OrderStatus;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published when an order is placed or its status changes, for listeners keeping derived order data up to date.
+ */
+@Getter
+@ToString
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class OrderChangedEvent {
+
+    public enum Type {
+        PLACED,
+        STATUS_CHANGED
+    }
+
+    private final Type type;
+    @ToString.Exclude
+    private final Order order;
+    // Status before the change, only present for STATUS_CHANGED
+    private final OrderStatus previousStatus;
+
+    public static OrderChangedEvent placed(final Order order) {
+        return new OrderChangedEvent(Type.PLACED, order, null);
+    }
+
+    public static OrderChangedEvent statusChanged(final Order order, final OrderStatus previousStatus) {
+        return new OrderChangedEvent(Type.STATUS_CHANGED, order, previousStatus);
+    }
+}
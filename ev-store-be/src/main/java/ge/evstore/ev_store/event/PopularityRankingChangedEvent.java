@@ -0,0 +1,13 @@
+package ge.evstore.ev_store.event;
+
+import ge.evstore.ev_store.catalog.RankingGeneration;
+import lombok.Value;
+
+/**
+ * Published when a rebuilt popularity ranking orders products differently than the previous one, so responses
+ * listing products by popularity can no longer be reused.
+ */
+@Value
+public class PopularityRankingChangedEvent {
+    RankingGeneration generation;
+}
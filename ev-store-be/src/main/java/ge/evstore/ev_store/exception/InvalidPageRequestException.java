@@ -0,0 +1,7 @@
+package ge.evstore.ev_store.exception;
+
+public class InvalidPageRequestException extends RuntimeException {
+    public InvalidPageRequestException(final String message) {
+        super(message);
+    }
+}
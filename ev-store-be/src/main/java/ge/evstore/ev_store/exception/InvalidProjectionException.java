@@ -0,0 +1,7 @@
+package ge.evstore.ev_store.exception;
+
+public class InvalidProjectionException extends RuntimeException {
+    public InvalidProjectionException(final String message) {
+        super(message);
+    }
+}
@@ -11,6 +11,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -137,4 +138,32 @@ public class ControllerExceptionHandler {
                 contentType(MediaType.APPLICATION_JSON).
                 body(generalExceptionResponse);
     }
+
+    @ExceptionHandler(InvalidPageRequestException.class)
+    public ResponseEntity<GeneralExceptionResponse> invalidPageRequest(final InvalidPageRequestException ex) {
+        log.info(ex.getMessage());
+        final GeneralExceptionResponse generalExceptionResponse = new GeneralExceptionResponse(ex.getMessage(), HttpStatus.BAD_REQUEST.value());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).
+                contentType(MediaType.APPLICATION_JSON).
+                body(generalExceptionResponse);
+    }
+
+    @ExceptionHandler(InvalidProjectionException.class)
+    public ResponseEntity<GeneralExceptionResponse> invalidProjection(final InvalidProjectionException ex) {
+        log.info(ex.getMessage());
+        final GeneralExceptionResponse generalExceptionResponse = new GeneralExceptionResponse(ex.getMessage(), HttpStatus.BAD_REQUEST.value());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).
+                contentType(MediaType.APPLICATION_JSON).
+                body(generalExceptionResponse);
+    }
+
+    // a concurrent write committed first, the client has to reload and retry
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<GeneralExceptionResponse> concurrentModification(final ObjectOptimisticLockingFailureException ex) {
+        log.info(ex.getMessage());
+        final GeneralExceptionResponse generalExceptionResponse = new GeneralExceptionResponse("The resource was modified concurrently, reload it and retry", HttpStatus.CONFLICT.value());
+        return ResponseEntity.status(HttpStatus.CONFLICT).
+                contentType(MediaType.APPLICATION_JSON).
+                body(generalExceptionResponse);
+    }
 }
@@ -0,0 +1,45 @@
+package ge.evstore.ev_store.interceptor;
+
+import ge.evstore.ev_store.annotation.CatalogVersioned;
+import ge.evstore.ev_store.catalog.CatalogVersion;
+import ge.evstore.ev_store.catalog.ProductProjection;
+import ge.evstore.ev_store.service.interf.CatalogVersionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Answers conditional GETs of {@link CatalogVersioned} handlers from the catalog version alone, so revalidating an
+ * unchanged response costs no query at all.
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogVersionInterceptor implements HandlerInterceptor {
+    private static final String LANGUAGE_PARAMETER = "lang";
+
+    private final CatalogVersionService catalogVersionService;
+
+    @Override
+    public boolean preHandle(final HttpServletRequest request, final HttpServletResponse response, final Object handler) {
+        if (!(handler instanceof final HandlerMethod method) || !method.hasMethodAnnotation(CatalogVersioned.class)) {
+            return true;
+        }
+        // read before the handler, so the response is at least as new as the version it is tagged with
+        final CatalogVersion version = catalogVersionService.current();
+        // clients must revalidate instead of guessing a freshness lifetime from Last-Modified
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        // JSON and CBOR representations share the tag, so caches have to keep them apart
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        // set here rather than only by the handler, so a 304 names the same Vary headers as the full response
+        if (ProductProjection.AUTO_LANGUAGE.equalsIgnoreCase(request.getParameter(LANGUAGE_PARAMETER))) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_LANGUAGE);
+        }
+        return !new ServletWebRequest(request, response).checkNotModified(version.getETag(), version.getLastModified());
+    }
+}
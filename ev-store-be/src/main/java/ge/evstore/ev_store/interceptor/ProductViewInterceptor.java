@@ -0,0 +1,45 @@
+package ge.evstore.ev_store.interceptor;
+
+import ge.evstore.ev_store.annotation.CountsProductView;
+import ge.evstore.ev_store.service.interf.ProductPopularityService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * Counts views of {@link CountsProductView} handlers. Runs ahead of {@link CatalogVersionInterceptor}, since neither
+ * revalidations answered with 304 nor cached reads reach the handler or the service behind it.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductViewInterceptor implements HandlerInterceptor {
+    private final ProductPopularityService productPopularityService;
+
+    @Override
+    public boolean preHandle(final HttpServletRequest request, final HttpServletResponse response, final Object handler) {
+        if (!(handler instanceof final HandlerMethod method)) {
+            return true;
+        }
+        final CountsProductView annotation = method.getMethodAnnotation(CountsProductView.class);
+        if (annotation == null) {
+            return true;
+        }
+        @SuppressWarnings("unchecked")
+        final Map<String, String> variables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        final String productId = variables == null ? null : variables.get(annotation.pathVariable());
+        if (productId != null) {
+            try {
+                productPopularityService.recordView(Long.valueOf(productId));
+            } catch (final NumberFormatException e) {
+                // the handler rejects the request
+            }
+        }
+        return true;
+    }
+}
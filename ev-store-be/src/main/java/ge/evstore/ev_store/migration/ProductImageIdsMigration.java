@@ -0,0 +1,47 @@
+package ge.evstore.ev_store.migration;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves product image references from the legacy JSON text column {@code image_ids} into the native
+ * {@code image_id_array} column that Hibernate adds, and creates the GIN index used by image reference lookups.
+ * Both steps are idempotent. The legacy column is left in place but no longer written.
+ * <p>
+ * Runs once all singletons exist, so Hibernate has already added the column, but before the web server starts and
+ * before the catalog index is loaded from the products.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ProductImageIdsMigration implements SmartInitializingSingleton {
+    static final String LEGACY_COLUMN_EXISTS = """
+            select count(*) from information_schema.columns
+            where table_schema = current_schema() and table_name = 'products' and column_name = 'image_ids'
+            """;
+    static final String COPY_LEGACY_IMAGE_IDS = """
+            update products
+            set image_id_array = array(select jsonb_array_elements_text(image_ids::jsonb)::bigint)
+            where image_id_array is null and image_ids is not null and image_ids <> ''
+            """;
+    static final String CREATE_GIN_INDEX = "create index if not exists idx_products_image_id_array on products using gin (image_id_array)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        migrate();
+    }
+
+    public void migrate() {
+        final Integer legacyColumns = jdbcTemplate.queryForObject(LEGACY_COLUMN_EXISTS, Integer.class);
+        if (legacyColumns != null && legacyColumns > 0) {
+            final int copied = jdbcTemplate.update(COPY_LEGACY_IMAGE_IDS);
+            log.info("Copied image ids of {} products into image_id_array", copied);
+        }
+        jdbcTemplate.execute(CREATE_GIN_INDEX);
+    }
+}
@@ -0,0 +1,39 @@
+package ge.evstore.ev_store.repository;
+
+import ge.evstore.ev_store.entity.CatalogChange;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CatalogChangeRepository extends JpaRepository<CatalogChange, Long> {
+
+    List<CatalogChange> findByIdGreaterThanOrderByIdAsc(Long since, Limit limit);
+
+    @Query("select max(c.id) from CatalogChange c")
+    Optional<Long> findLatestSequence();
+
+    /**
+     * Records an upsert for every product of the category, whose denormalized category name may have changed.
+     */
+    @Modifying
+    // without declared query spaces Hibernate would drop the whole second-level cache after this native statement
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "catalog_changes"))
+    @Query(value = "insert into catalog_changes (product_id, type, changed_at) select p.id, 'UPSERT', now() from products p where p.category_id = :categoryId", nativeQuery = true)
+    int recordCategoryProducts(@Param("categoryId") Long categoryId);
+
+    /**
+     * Takes a transaction scoped lock, so that change ids are assigned and committed in the same order.
+     */
+    @Query(value = "select count(*) from pg_advisory_xact_lock(:key)", nativeQuery = true)
+    long lockSequence(@Param("key") long key);
+}
@@ -1,8 +1,11 @@
 package ge.evstore.ev_store.repository;
 
 import ge.evstore.ev_store.entity.Category;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -16,5 +19,9 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     /**
      * Fetch all categories where parentCategory is null (i.e. top‐level roots).
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Category> findByParentCategoryIsNull();
+
+    @Query("SELECT c.id FROM Category c ORDER BY c.id")
+    List<Long> findAllIds();
 }
@@ -0,0 +1,94 @@
+package ge.evstore.ev_store.repository;
+
+import ge.evstore.ev_store.catalog.CoOccurrenceIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.*;
+
+/**
+ * Maintains the product co-occurrence matrix in product_pair_counts and the top neighbours derived from it in
+ * product_neighbours. Pairs are counted in the database, so orders never have to be loaded into memory.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CoOccurrenceJdbcRepository {
+    // skip locked lets concurrent runs on other instances take other orders instead of waiting
+    static final String CLAIM_UNCOUNTED_ORDERS = """
+            select o.id from orders o
+            where o.co_occurrence_counted is not true
+            order by o.id
+            limit :limit
+            for update skip locked
+            """;
+    static final String ADD_PAIR_COUNTS = """
+            insert into product_pair_counts (product_id, other_product_id, order_count)
+            select a.product_id, b.product_id, count(distinct a.order_id)
+            from order_items a
+            join order_items b on b.order_id = a.order_id and b.product_id <> a.product_id
+            where a.order_id in (:orderIds)
+            group by a.product_id, b.product_id
+            on conflict (product_id, other_product_id) do update
+            set order_count = product_pair_counts.order_count + excluded.order_count
+            """;
+    static final String MARK_COUNTED = "update orders set co_occurrence_counted = true where id in (:orderIds)";
+    static final String SELECT_ORDERED_PRODUCTS = "select distinct product_id from order_items where order_id in (:orderIds) and product_id is not null";
+    // an upsert rather than delete and insert, runs on two instances sharing a product must not collide on the key
+    static final String UPSERT_NEIGHBOURS = """
+            insert into product_neighbours (product_id, neighbour_rank, neighbour_id, order_count)
+            select product_id, neighbour_rank, other_product_id, order_count
+            from (select product_id, other_product_id, order_count,
+                         row_number() over (partition by product_id order by order_count desc, other_product_id) as neighbour_rank
+                  from product_pair_counts
+                  where product_id in (:productIds)) ranked
+            where neighbour_rank <= :neighbours
+            on conflict (product_id, neighbour_rank) do update
+            set neighbour_id = excluded.neighbour_id,
+                order_count = excluded.order_count
+            """;
+    // ranks beyond the configured number of neighbours, left over when it was lowered
+    static final String DELETE_SURPLUS_NEIGHBOURS = "delete from product_neighbours where product_id in (:productIds) and neighbour_rank > :neighbours";
+    static final String SELECT_NEIGHBOURS = "select product_id, neighbour_id, order_count from product_neighbours order by product_id, neighbour_rank";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Locks up to limit orders whose products are not counted yet. Must run inside a transaction.
+     */
+    public List<Long> claimUncountedOrders(final int limit) {
+        return jdbcTemplate.queryForList(CLAIM_UNCOUNTED_ORDERS, new MapSqlParameterSource("limit", limit), Long.class);
+    }
+
+    /**
+     * Adds every pair of distinct products ordered together in the orders to the matrix and marks the orders counted.
+     *
+     * @return ids of the products whose rows of the matrix changed
+     */
+    public Set<Long> countOrders(final List<Long> orderIds) {
+        final MapSqlParameterSource params = new MapSqlParameterSource("orderIds", orderIds);
+        jdbcTemplate.update(ADD_PAIR_COUNTS, params);
+        jdbcTemplate.update(MARK_COUNTED, params);
+        return new HashSet<>(jdbcTemplate.queryForList(SELECT_ORDERED_PRODUCTS, params, Long.class));
+    }
+
+    /**
+     * Replaces the stored top neighbours of the products with the current top of their matrix rows.
+     */
+    public void rebuildNeighbours(final Set<Long> productIds, final int neighbours) {
+        final MapSqlParameterSource params = new MapSqlParameterSource("productIds", productIds)
+                .addValue("neighbours", neighbours);
+        jdbcTemplate.update(UPSERT_NEIGHBOURS, params);
+        jdbcTemplate.update(DELETE_SURPLUS_NEIGHBOURS, params);
+    }
+
+    public Map<Long, List<CoOccurrenceIndex.Neighbour>> findAllNeighbours() {
+        final Map<Long, List<CoOccurrenceIndex.Neighbour>> result = new HashMap<>();
+        jdbcTemplate.query(SELECT_NEIGHBOURS, rs -> {
+            result.computeIfAbsent(rs.getLong("product_id"), id -> new ArrayList<>())
+                    .add(new CoOccurrenceIndex.Neighbour(rs.getLong("neighbour_id"), rs.getLong("order_count")));
+        });
+        return result;
+    }
+}
@@ -1,7 +1,16 @@
 package ge.evstore.ev_store.repository;
 
 import ge.evstore.ev_store.entity.Dictionary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.List;
 
 public interface DictionaryRepository extends JpaRepository<Dictionary, Long> {
+
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Dictionary> findAll();
 }
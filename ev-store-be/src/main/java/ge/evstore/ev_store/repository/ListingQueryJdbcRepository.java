@@ -0,0 +1,104 @@
+package ge.evstore.ev_store.repository;
+
+import ge.evstore.ev_store.catalog.ListingQuery;
+import ge.evstore.ev_store.response.ListingQueryStatsResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Adds counted listing queries to their daily rows in listing_query_counts and sums them up by their arguments.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ListingQueryJdbcRepository {
+    private static final String COLUMNS = "page, size, sort_by, direction, name, category_id, min_price, max_price, in_stock, is_popular, product_id, item_code, coming_soon, with_total";
+    static final String ADD_COUNTS = "insert into listing_query_counts (query_key, query_day, " + COLUMNS + ", query_count) values "
+            + "(:queryKey, :queryDay, :page, :size, :sortBy, :direction, :name, :categoryId, :minPrice, :maxPrice, :inStock, :isPopular, :productId, :itemCode, :comingSoon, :withTotal, :queryCount) "
+            + "on conflict (query_key, query_day) do update set query_count = listing_query_counts.query_count + excluded.query_count";
+    // one row per listing and day, so this only adds up a handful of rows per distinct listing
+    static final String SELECT_TOP = "select " + COLUMNS + ", sum(query_count) as query_count from listing_query_counts where query_day >= :since "
+            + "group by query_key, " + COLUMNS + " order by query_count desc limit :limit";
+    static final String DELETE_OLDER_THAN = "delete from listing_query_counts where query_day < :before";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public void addCounts(final Map<ListingQuery, Long> counts, final LocalDate queryDay) {
+        final SqlParameterSource[] batch = counts.entrySet().stream()
+                .map(entry -> {
+                    final ListingQuery query = entry.getKey();
+                    return new MapSqlParameterSource()
+                            .addValue("queryKey", keyOf(query))
+                            .addValue("queryDay", queryDay)
+                            .addValue("page", query.getPage())
+                            .addValue("size", query.getSize())
+                            .addValue("sortBy", query.getSortBy())
+                            .addValue("direction", query.getDirection())
+                            .addValue("name", query.getName())
+                            .addValue("categoryId", query.getCategoryId())
+                            .addValue("minPrice", query.getMinPrice())
+                            .addValue("maxPrice", query.getMaxPrice())
+                            .addValue("inStock", query.getInStock())
+                            .addValue("isPopular", query.getIsPopular())
+                            .addValue("productId", query.getProductId())
+                            .addValue("itemCode", query.getItemCode())
+                            .addValue("comingSoon", query.getComingSoon())
+                            .addValue("withTotal", query.isWithTotal())
+                            .addValue("queryCount", entry.getValue());
+                })
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(ADD_COUNTS, batch);
+    }
+
+    public List<ListingQueryStatsResponse> findTop(final LocalDate since, final int limit) {
+        final MapSqlParameterSource params = new MapSqlParameterSource("since", since).addValue("limit", limit);
+        return jdbcTemplate.query(SELECT_TOP, params, (rs, rowNum) -> new ListingQueryStatsResponse(new ListingQuery(
+                rs.getInt("page"),
+                rs.getInt("size"),
+                rs.getString("sort_by"),
+                rs.getString("direction"),
+                rs.getString("name"),
+                rs.getString("category_id"),
+                rs.getObject("min_price", Double.class),
+                rs.getObject("max_price", Double.class),
+                rs.getObject("in_stock", Boolean.class),
+                rs.getObject("is_popular", Boolean.class),
+                rs.getObject("product_id", Long.class),
+                rs.getString("item_code"),
+                rs.getObject("coming_soon", Boolean.class),
+                rs.getBoolean("with_total")), rs.getLong("query_count")));
+    }
+
+    public int deleteOlderThan(final LocalDate before) {
+        return jdbcTemplate.update(DELETE_OLDER_THAN, new MapSqlParameterSource("before", before));
+    }
+
+    /**
+     * Name based UUID of all listing arguments. Every argument is length prefixed, so no two argument lists share
+     * an encoding, and a missing argument is encoded differently from any value.
+     */
+    static UUID keyOf(final ListingQuery query) {
+        final StringBuilder encoded = new StringBuilder();
+        for (final Object argument : Arrays.asList(query.getPage(), query.getSize(), query.getSortBy(), query.getDirection(), query.getName(),
+                query.getCategoryId(), query.getMinPrice(), query.getMaxPrice(), query.getInStock(), query.getIsPopular(),
+                query.getProductId(), query.getItemCode(), query.getComingSoon(), query.isWithTotal())) {
+            if (argument == null) {
+                encoded.append('-');
+            } else {
+                final String value = Objects.toString(argument);
+                encoded.append(value.length()).append(':').append(value);
+            }
+        }
+        return UUID.nameUUIDFromBytes(encoded.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
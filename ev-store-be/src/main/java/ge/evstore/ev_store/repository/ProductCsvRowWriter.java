@@ -0,0 +1,81 @@
+package ge.evstore.ev_store.repository;
+
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Writes rows of {@link ProductJdbcRepository#SELECT_LISTING} as RFC 4180 CSV lines. Columns carry the same names as
+ * the product JSON; image ids stay in their stored JSON array form.
+ */
+public class ProductCsvRowWriter implements RowCallbackHandler {
+    private static final String[][] COLUMNS = {
+            {"productId", "id"},
+            {"nameGE", "namege"},
+            {"nameENG", "nameeng"},
+            {"nameRUS", "namerus"},
+            {"descriptionGE", "descriptionge"},
+            {"descriptionENG", "descriptioneng"},
+            {"descriptionRUS", "descriptionrus"},
+            {"price", "price"},
+            {"itemCode", "item_code"},
+            {"stockAmount", "stock_amount"},
+            {"categoryName", "category_name"},
+            {"categoryId", "category_id"},
+            {"mainImageId", "main_image_id"},
+            {"imageIds", "image_ids"},
+            {"isPopular", "is_popular"},
+            {"tutorialLink", "tutorial_link"},
+            {"comingSoon", "coming_soon"}
+    };
+
+    private final Writer writer;
+
+    public ProductCsvRowWriter(final Writer writer) {
+        this.writer = writer;
+    }
+
+    public void writeHeader() throws IOException {
+        for (int i = 0; i < COLUMNS.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(COLUMNS[i][0]);
+        }
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void processRow(final ResultSet rs) throws SQLException {
+        try {
+            for (int i = 0; i < COLUMNS.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                // getObject keeps booleans as true/false rather than the driver's t/f strings
+                final Object value = rs.getObject(COLUMNS[i][1]);
+                writeValue(value == null ? null : value.toString());
+            }
+            writer.write("\r\n");
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeValue(final String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
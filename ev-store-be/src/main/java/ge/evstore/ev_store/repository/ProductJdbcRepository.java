@@ -0,0 +1,147 @@
+package ge.evstore.ev_store.repository;
+
+import ge.evstore.ev_store.catalog.ProductFilter;
+import ge.evstore.ev_store.catalog.ProductSortKey;
+import ge.evstore.ev_store.response.PriceStatisticsResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Plain JDBC read path for product listings. Selects only the listing columns with a single category join and hands
+ * every row to a callback, so rows can be written out without entities, a persistence context or result lists.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProductJdbcRepository {
+    static final String SELECT_LISTING = """
+            select p.id, p.namege, p.nameeng, p.namerus, p.descriptionge, p.descriptioneng, p.descriptionrus,
+                   p.price, p.item_code, p.stock_amount, c.name as category_name, p.category_id, p.main_image_id,
+                   array_to_json(p.image_id_array)::text as image_ids, p.is_popular, p.tutorial_link, p.coming_soon
+            from products p
+            left join category c on c.id = p.category_id
+            """;
+    private static final Map<ProductSortKey, String> SORT_COLUMNS = Map.of(
+            ProductSortKey.ID, "p.id",
+            ProductSortKey.PRICE, "p.price",
+            ProductSortKey.NAME_GE, "p.namege",
+            ProductSortKey.NAME_ENG, "p.nameeng",
+            ProductSortKey.NAME_RUS, "p.namerus"
+    );
+
+    // rows the driver buffers per round trip while exporting
+    static final int EXPORT_FETCH_SIZE = 500;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Passes every product to the handler in id order through a forward-only cursor. Postgres only honours the fetch
+     * size inside a transaction, otherwise the driver reads the whole result into memory first.
+     */
+    public void exportAll(final RowCallbackHandler handler) {
+        jdbcTemplate.getJdbcTemplate().query(connection -> {
+            final PreparedStatement statement = connection.prepareStatement(SELECT_LISTING + "order by p.id",
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(EXPORT_FETCH_SIZE);
+            return statement;
+        }, handler);
+    }
+
+    /**
+     * Runs the listing query for the filter and passes each row to the handler in order.
+     *
+     * @param categoryIds category ids of the filter already expanded with all descendants
+     * @param nameMatches ids of products matching the name filter as resolved by the search index, or null to fall
+     *                    back to LIKE predicates
+     */
+    public void queryListing(final ProductFilter filter, final Set<Long> categoryIds, final Set<Long> nameMatches, final ProductSortKey sortKey,
+                             final boolean descending, final long offset, final int limit, final RowCallbackHandler handler) {
+        final MapSqlParameterSource params = new MapSqlParameterSource();
+        final StringBuilder sql = new StringBuilder(SELECT_LISTING).append("where 1 = 1");
+
+        if (filter.getName() != null && nameMatches != null) {
+            if (nameMatches.isEmpty()) {
+                sql.append(" and 1 = 0");
+            } else {
+                // a single array parameter, an in list would bind one parameter per id
+                sql.append(" and p.id = any(:nameMatches)");
+                params.addValue("nameMatches", new SqlParameterValue(Types.ARRAY, nameMatches.toArray(Long[]::new)));
+            }
+        } else if (filter.getName() != null) {
+            sql.append(" and (lower(p.nameeng) like :name or lower(p.namege) like :name or lower(p.namerus) like :name)");
+            params.addValue("name", "%" + filter.getName() + "%");
+        }
+        if (filter.getProductId() != null) {
+            sql.append(" and p.id = :productId");
+            params.addValue("productId", filter.getProductId());
+        }
+        if (filter.hasCategoryFilter()) {
+            sql.append(" and p.category_id in (:categoryIds)");
+            params.addValue("categoryIds", categoryIds);
+        }
+        if (filter.getMinPrice() != null) {
+            sql.append(" and p.price >= :minPrice");
+            params.addValue("minPrice", filter.getMinPrice());
+        }
+        if (filter.getMaxPrice() != null) {
+            sql.append(" and p.price <= :maxPrice");
+            params.addValue("maxPrice", filter.getMaxPrice());
+        }
+        if (filter.getItemCode() != null) {
+            sql.append(" and p.item_code = :itemCode");
+            params.addValue("itemCode", filter.getItemCode());
+        }
+        if (filter.isInStock()) {
+            sql.append(" and p.stock_amount > 0");
+        }
+        if (filter.isPopular()) {
+            sql.append(" and p.is_popular = true");
+        }
+        if (filter.isComingSoon()) {
+            sql.append(" and p.coming_soon = true");
+        }
+
+        final String direction = descending ? " desc" : " asc";
+        sql.append(" order by ").append(SORT_COLUMNS.get(sortKey)).append(direction);
+        if (sortKey != ProductSortKey.ID) {
+            sql.append(", p.id").append(direction);
+        }
+        sql.append(" limit :limit offset :offset");
+        params.addValue("limit", limit);
+        params.addValue("offset", offset);
+
+        jdbcTemplate.query(sql.toString(), params, handler);
+    }
+
+    /**
+     * Aggregates the price statistics of all products, or of the products in the given categories when not null.
+     */
+    public PriceStatisticsResponse priceStatistics(final Set<Long> categoryIds) {
+        final MapSqlParameterSource params = new MapSqlParameterSource();
+        final StringBuilder sql = new StringBuilder("""
+                select count(p.price) as price_count, min(p.price) as min_price, max(p.price) as max_price,
+                       percentile_disc(0.5) within group (order by p.price) as median_price,
+                       percentile_disc(0.9) within group (order by p.price) as p90_price
+                from products p
+                where p.price is not null""");
+        if (categoryIds != null) {
+            sql.append(" and p.category_id in (:categoryIds)");
+            params.addValue("categoryIds", categoryIds);
+        }
+        return jdbcTemplate.queryForObject(sql.toString(), params, (rs, rowNum) -> new PriceStatisticsResponse(
+                rs.getLong("price_count"),
+                rs.getObject("min_price", Double.class),
+                rs.getObject("max_price", Double.class),
+                rs.getObject("median_price", Double.class),
+                rs.getObject("p90_price", Double.class)));
+    }
+}
@@ -0,0 +1,84 @@
+package ge.evstore.ev_store.repository;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Writes rows of {@link ProductJdbcRepository#SELECT_LISTING} as product JSON objects with the same field names as
+ * {@link ge.evstore.ev_store.response.ProductResponse}. The query fetches one row more than the page size; that row is
+ * only used to report whether a next page exists.
+ */
+public class ProductJsonRowWriter implements RowCallbackHandler {
+    private final JsonGenerator gen;
+    private final int pageSize;
+    private int rows;
+
+    public ProductJsonRowWriter(final JsonGenerator gen, final int pageSize) {
+        this.gen = gen;
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    public void processRow(final ResultSet rs) throws SQLException {
+        if (++rows > pageSize) {
+            return;
+        }
+        try {
+            gen.writeStartObject();
+            writeNumber("productId", rs.getObject("id", Long.class));
+            gen.writeStringField("nameGE", rs.getString("namege"));
+            gen.writeStringField("nameENG", rs.getString("nameeng"));
+            gen.writeStringField("nameRUS", rs.getString("namerus"));
+            gen.writeStringField("descriptionGE", rs.getString("descriptionge"));
+            gen.writeStringField("descriptionENG", rs.getString("descriptioneng"));
+            gen.writeStringField("descriptionRUS", rs.getString("descriptionrus"));
+            writeNumber("price", rs.getObject("price", Double.class));
+            gen.writeStringField("itemCode", rs.getString("item_code"));
+            writeNumber("stockAmount", rs.getObject("stock_amount", Integer.class));
+            gen.writeStringField("categoryName", rs.getString("category_name"));
+            writeNumber("categoryId", rs.getObject("category_id", Long.class));
+            writeNumber("mainImageId", rs.getObject("main_image_id", Long.class));
+            // stored as a JSON array already
+            final String imageIds = rs.getString("image_ids");
+            gen.writeFieldName("imageIds");
+            gen.writeRawValue(imageIds == null || imageIds.isBlank() ? "[]" : imageIds);
+            writeBoolean("isPopular", rs.getObject("is_popular", Boolean.class));
+            gen.writeStringField("tutorialLink", rs.getString("tutorial_link"));
+            writeBoolean("comingSoon", rs.getObject("coming_soon", Boolean.class));
+            gen.writeEndObject();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public boolean hasNext() {
+        return rows > pageSize;
+    }
+
+    private void writeNumber(final String field, final Number value) throws IOException {
+        gen.writeFieldName(field);
+        if (value == null) {
+            gen.writeNull();
+        } else if (value instanceof Double d) {
+            gen.writeNumber(d);
+        } else if (value instanceof Integer i) {
+            gen.writeNumber(i);
+        } else {
+            gen.writeNumber(value.longValue());
+        }
+    }
+
+    private void writeBoolean(final String field, final Boolean value) throws IOException {
+        gen.writeFieldName(field);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeBoolean(value);
+        }
+    }
+}
@@ -4,13 +4,23 @@ import ge.evstore.ev_store.entity.Product;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
 
-    @Query(value = "SELECT * FROM product p WHERE p.main_image_id = :id OR p.image_ids::jsonb @> to_jsonb(:id::bigint)::jsonb", nativeQuery = true)
+    @Query(value = "SELECT * FROM products p WHERE p.main_image_id = :id OR p.image_id_array @> ARRAY[CAST(:id AS bigint)]", nativeQuery = true)
     List<Product> findByImageId(long id);
+
+    List<Product> findByItemCodeInOrderByIdAsc(Collection<String> itemCodes);
+
+    @Query("SELECT p.id FROM Product p ORDER BY p.id")
+    List<Long> findAllIds();
+
+    @Query("SELECT p.id FROM Product p WHERE p.id BETWEEN :from AND :to ORDER BY p.id")
+    List<Long> findIdsBetween(@Param("from") long from, @Param("to") long to);
 }
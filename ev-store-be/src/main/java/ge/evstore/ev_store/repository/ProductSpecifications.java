@@ -0,0 +1,116 @@
+package ge.evstore.ev_store.repository;
+
+import ge.evstore.ev_store.catalog.ProductCursor;
+import ge.evstore.ev_store.catalog.ProductFilter;
+import ge.evstore.ev_store.catalog.ProductSortKey;
+import ge.evstore.ev_store.config.ArrayFunctionContributor;
+import ge.evstore.ev_store.entity.Product;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Set;
+
+public final class ProductSpecifications {
+    private ProductSpecifications() {
+    }
+
+    /**
+     * Builds the listing specification for a filter.
+     *
+     * @param categoryIds category ids of the filter already expanded with all descendants
+     * @param nameMatches ids of products matching the name filter as resolved by the search index, or null to fall
+     *                    back to LIKE predicates
+     */
+    public static Specification<Product> matching(final ProductFilter filter, final Set<Long> categoryIds, final Set<Long> nameMatches) {
+        Specification<Product> spec = Specification.where(null);
+
+        if (filter.getName() != null && nameMatches != null) {
+            // a single array parameter, an in list would bind one parameter per id and short queries match most of
+            // the catalog
+            spec = spec.and((root, query, cb) -> nameMatches.isEmpty()
+                    ? cb.disjunction()
+                    : cb.isTrue(cb.function(ArrayFunctionContributor.EQUALS_ANY, Boolean.class, root.get("id"),
+                            ((HibernateCriteriaBuilder) cb).value(nameMatches.toArray(Long[]::new)))));
+        } else if (filter.getName() != null) {
+            final String pattern = "%" + filter.getName() + "%";
+            spec = spec.and((root, query, cb) -> cb.or(
+                    cb.like(cb.lower(root.get("nameENG")), pattern),
+                    cb.like(cb.lower(root.get("nameGE")), pattern),
+                    cb.like(cb.lower(root.get("nameRUS")), pattern)
+            ));
+        }
+
+        if (filter.getProductId() != null) {
+            spec = spec.and((root, query, cb) ->
+                    cb.equal(root.get("id"), filter.getProductId()));
+        }
+
+        if (filter.hasCategoryFilter()) {
+            spec = spec.and((root, query, cb) ->
+                    root.get("category").get("id").in(categoryIds));
+        }
+
+        if (filter.getMinPrice() != null) {
+            spec = spec.and((root, query, cb) ->
+                    cb.ge(root.get("price"), filter.getMinPrice()));
+        }
+
+        if (filter.getMaxPrice() != null) {
+            spec = spec.and((root, query, cb) ->
+                    cb.le(root.get("price"), filter.getMaxPrice()));
+        }
+
+        if (filter.getItemCode() != null) {
+            spec = spec.and((root, query, cb) ->
+                    cb.equal(root.get("itemCode"), filter.getItemCode()));
+        }
+
+        if (filter.isInStock()) {
+            spec = spec.and((root, query, cb) ->
+                    cb.greaterThan(root.get("stockAmount"), 0));
+        }
+
+        if (filter.isPopular()) {
+            spec = spec.and((root, query, cb) ->
+                    cb.equal(root.get("isPopular"), true));
+        }
+
+        if (filter.isComingSoon()) {
+            spec = spec.and((root, query, cb) ->
+                    cb.equal(root.get("comingSoon"), true));
+        }
+        return spec;
+    }
+
+    /**
+     * Seek predicate selecting the rows after the cursor in (sort key, id) order. Follows the Postgres defaults of
+     * sorting nulls last ascending and first descending, so products without a price or name are not skipped.
+     */
+    public static Specification<Product> after(final ProductCursor cursor, final boolean descending) {
+        return (root, query, cb) -> {
+            final Path<Long> id = root.get("id");
+            final Predicate idAfter = descending ? cb.lessThan(id, cursor.getId()) : cb.greaterThan(id, cursor.getId());
+            if (cursor.getSortKey() == ProductSortKey.ID) {
+                return idAfter;
+            }
+            final Path<Comparable<Object>> key = root.get(cursor.getSortKey().getProperty());
+            if (cursor.getValue() == null) {
+                final Predicate sameNullKey = cb.and(cb.isNull(key), idAfter);
+                return descending ? cb.or(cb.isNotNull(key), sameNullKey) : sameNullKey;
+            }
+            final Predicate keyAfter = compare(cb, key, cursor.getValue(), descending);
+            final Predicate sameKey = cb.and(cb.equal(key, cursor.getValue()), idAfter);
+            return descending ? cb.or(keyAfter, sameKey) : cb.or(keyAfter, sameKey, cb.isNull(key));
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Predicate compare(final CriteriaBuilder cb, final Expression<Comparable<Object>> key, final Comparable<?> value, final boolean descending) {
+        final Comparable<Object> bound = (Comparable<Object>) value;
+        return descending ? cb.lessThan(key, bound) : cb.greaterThan(key, bound);
+    }
+}
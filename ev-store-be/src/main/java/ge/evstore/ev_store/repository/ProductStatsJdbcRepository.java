@@ -0,0 +1,78 @@
+package ge.evstore.ev_store.repository;
+
+import ge.evstore.ev_store.catalog.PopularityRanking;
+import ge.evstore.ev_store.catalog.ProductCounts;
+import ge.evstore.ev_store.catalog.RankingGeneration;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Writes and reads the accumulated product counters in product_stats, and the generation of the ranking built
+ * from them.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProductStatsJdbcRepository {
+    static final String ADD_COUNTS = """
+            insert into product_stats (product_id, view_count, order_count, updated_at)
+            values (:productId, :views, :orders, now())
+            on conflict (product_id) do update
+            set view_count = product_stats.view_count + excluded.view_count,
+                order_count = product_stats.order_count + excluded.order_count,
+                updated_at = excluded.updated_at
+            """;
+    // products deleted since they were counted drop out through the join
+    static final String SELECT_SCORES = """
+            select s.product_id, p.category_id, s.view_count + :orderWeight * s.order_count as score
+            from product_stats s
+            join products p on p.id = s.product_id
+            """;
+    // the generation only moves when the fingerprint differs, instances rebuilding the same order share it
+    static final String RECORD_RANKING_ORDER = """
+            insert into popularity_ranking_generation (id, generation, fingerprint, changed_at)
+            values (1, 1, :fingerprint, now())
+            on conflict (id) do update
+            set generation = case when popularity_ranking_generation.fingerprint = excluded.fingerprint
+                    then popularity_ranking_generation.generation else popularity_ranking_generation.generation + 1 end,
+                changed_at = case when popularity_ranking_generation.fingerprint = excluded.fingerprint
+                    then popularity_ranking_generation.changed_at else excluded.changed_at end,
+                fingerprint = excluded.fingerprint
+            returning generation, changed_at
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Adds the counts to the stored totals in one batch, creating missing rows.
+     */
+    public void addCounts(final List<ProductCounts> counts) {
+        final SqlParameterSource[] batch = counts.stream()
+                .map(count -> new MapSqlParameterSource()
+                        .addValue("productId", count.getProductId())
+                        .addValue("views", count.getViews())
+                        .addValue("orders", count.getOrders()))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(ADD_COUNTS, batch);
+    }
+
+    /**
+     * Scores every counted product as its views plus its ordered units times the order weight.
+     */
+    public List<PopularityRanking.RankedProduct> findScores(final long orderWeight) {
+        return jdbcTemplate.query(SELECT_SCORES, new MapSqlParameterSource("orderWeight", orderWeight),
+                (rs, rowNum) -> new PopularityRanking.RankedProduct(rs.getLong("product_id"), rs.getObject("category_id", Long.class), rs.getLong("score")));
+    }
+
+    /**
+     * Records the order of a rebuilt ranking and returns the generation of that order.
+     */
+    public RankingGeneration recordRankingOrder(final int fingerprint) {
+        return jdbcTemplate.queryForObject(RECORD_RANKING_ORDER, new MapSqlParameterSource("fingerprint", fingerprint),
+                (rs, rowNum) -> new RankingGeneration(rs.getLong("generation"), rs.getTimestamp("changed_at").getTime()));
+    }
+}
@@ -0,0 +1,14 @@
+package ge.evstore.ev_store.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AutocompleteSuggestion {
+    private Long productId;
+    // the product field the prefix matched, as stored (not folded)
+    private String text;
+}
@@ -0,0 +1,17 @@
+package ge.evstore.ev_store.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class CatalogChangesResponse {
+    // current state of every product created or updated since the requested sequence
+    private List<ProductResponse> updated;
+    private List<Long> deleted;
+    // sequence to pass as "since" on the next sync
+    private long sequence;
+    private boolean hasMore;
+}
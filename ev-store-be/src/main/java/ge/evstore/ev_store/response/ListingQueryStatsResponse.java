@@ -0,0 +1,13 @@
+package ge.evstore.ev_store.response;
+
+import ge.evstore.ev_store.catalog.ListingQuery;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ListingQueryStatsResponse {
+    private ListingQuery query;
+    // requests with exactly these arguments within the aggregation window
+    private long count;
+}
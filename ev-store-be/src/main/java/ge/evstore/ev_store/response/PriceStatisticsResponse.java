@@ -0,0 +1,15 @@
+package ge.evstore.ev_store.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class PriceStatisticsResponse {
+    // number of priced products, the other fields are null when it is zero
+    private long count;
+    private Double min;
+    private Double max;
+    private Double median;
+    private Double p90;
+}
@@ -0,0 +1,35 @@
+package ge.evstore.ev_store.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductFacetsResponse {
+    private long total;
+
+    // product count per category id, including products of all descendant categories
+    private Map<Long, Long> categoryCounts;
+
+    private long inStock;
+    private long popular;
+    private long comingSoon;
+
+    private List<PriceBucket> priceHistogram;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PriceBucket {
+        private double from;
+        private double to;
+        private long count;
+    }
+}
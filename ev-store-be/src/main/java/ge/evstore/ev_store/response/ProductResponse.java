@@ -1,5 +1,6 @@
 package ge.evstore.ev_store.response;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import ge.evstore.ev_store.entity.Product;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -11,7 +12,7 @@ import java.util.List;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class ProductResponse {
     private Long productId;
     private String nameGE;
@@ -40,7 +41,10 @@ public class ProductResponse {
     private String tutorialLink;
     private Boolean comingSoon;
 
-    public static ProductResponse from(final Product product, final List<Long> imageIds) {
+    @JsonIgnore
+    private Long version;
+
+    public static ProductResponse from(final Product product) {
         return ProductResponse.builder()
                 .productId(product.getId())
                 .nameGE(product.getNameGE())
@@ -56,9 +60,10 @@ public class ProductResponse {
                 .mainImageId(product.getMainImageId())
                 .isPopular(product.getIsPopular())
                 .tutorialLink(product.getTutorialLink())
-                .imageIds(imageIds)
+                .imageIds(product.getImageIds() == null ? List.of() : product.getImageIds())
                 .itemCode(product.getItemCode())
                 .comingSoon(product.getComingSoon())
+                .version(product.getVersion())
                 .build();
     }
 }
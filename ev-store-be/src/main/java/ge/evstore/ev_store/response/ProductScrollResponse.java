@@ -0,0 +1,15 @@
+package ge.evstore.ev_store.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ProductScrollResponse {
+    private List<ProductResponse> content;
+    // opaque cursor to pass as "after" for the next page, null on the last page
+    private String nextCursor;
+    private boolean hasNext;
+}
@@ -0,0 +1,45 @@
+package ge.evstore.ev_store.response;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.WritableTypeId;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import ge.evstore.ev_store.catalog.ProductProjection;
+
+import java.io.IOException;
+
+/**
+ * A product written with only the fields of a {@link ProductProjection}, straight from the full response without
+ * building an intermediate object per product.
+ */
+public class ProjectedProductResponse implements JsonSerializable {
+    private final ProductResponse product;
+    private final ProductProjection projection;
+
+    public ProjectedProductResponse(final ProductResponse product, final ProductProjection projection) {
+        this.product = product;
+        this.projection = projection;
+    }
+
+    @Override
+    public void serialize(final JsonGenerator gen, final SerializerProvider serializers) throws IOException {
+        gen.writeStartObject(this);
+        writeFields(gen, serializers);
+        gen.writeEndObject();
+    }
+
+    @Override
+    public void serializeWithType(final JsonGenerator gen, final SerializerProvider serializers, final TypeSerializer typeSer) throws IOException {
+        final WritableTypeId typeId = typeSer.writeTypePrefix(gen, typeSer.typeId(this, JsonToken.START_OBJECT));
+        writeFields(gen, serializers);
+        typeSer.writeTypeSuffix(gen, typeId);
+    }
+
+    private void writeFields(final JsonGenerator gen, final SerializerProvider serializers) throws IOException {
+        for (final ProductProjection.Field field : projection.getFields()) {
+            serializers.defaultSerializeField(field.getJsonName(), field.getAccessor().apply(product), gen);
+        }
+    }
+}
@@ -1,82 +1,78 @@
 package ge.evstore.ev_store.service.impl;
 
-import ge.evstore.ev_store.converter.JsonListConverter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ge.evstore.ev_store.cache.ListingCountCache;
+import ge.evstore.ev_store.catalog.ExportFormat;
 import ge.evstore.ev_store.entity.*;
+import ge.evstore.ev_store.event.CatalogChangedEvent;
+import ge.evstore.ev_store.event.OrderChangedEvent;
 import ge.evstore.ev_store.exception.IsParentCategoryException;
 import ge.evstore.ev_store.repository.CategoryRepository;
-import ge.evstore.ev_store.repository.MaxPriceSaverRepository;
 import ge.evstore.ev_store.repository.OrderRepository;
+import ge.evstore.ev_store.repository.ProductCsvRowWriter;
+import ge.evstore.ev_store.repository.ProductJdbcRepository;
+import ge.evstore.ev_store.repository.ProductJsonRowWriter;
 import ge.evstore.ev_store.repository.ProductRepository;
 import ge.evstore.ev_store.request.ProductRequest;
 import ge.evstore.ev_store.response.ImageSaveResponse;
+import ge.evstore.ev_store.response.ListingQueryStatsResponse;
 import ge.evstore.ev_store.response.OrderHistoryResponse;
 import ge.evstore.ev_store.service.interf.AdminService;
 import ge.evstore.ev_store.service.interf.ImageService;
+import ge.evstore.ev_store.service.interf.ListingQueryLogService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.*;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.io.IOException;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.AccessDeniedException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
 
+import static ge.evstore.ev_store.utils.ScrollUtils.scrollPositionOf;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class AdminServiceImpl implements AdminService {
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
-    private final MaxPriceSaverRepository maxPriceSaverRepository;
     private final ImageService imageService;
-    private final JsonListConverter jsonListConverter;
     private final OrderRepository orderRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ListingCountCache listingCountCache;
+    private final ProductJdbcRepository productJdbcRepository;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+    private final ListingQueryLogService listingQueryLogService;
 
     @Override
     @Transactional
     public Product addProduct(final ProductRequest productRequest, final String accessToken) throws AccessDeniedException {
         log.info("Adding new product: {}", productRequest);
-        updateMaxPrice(productRequest);
-
-        final List<Long> imageIds = productRequest.getImageIds();
-        String imageIdsColumnValue = null;
-        if (imageIds != null && !imageIds.isEmpty()) {
-            imageIdsColumnValue = jsonListConverter.convertToDatabaseColumn(imageIds);
-        }
         final Product product = Product.fromProductRequest(productRequest);
         product.setCategory(categoryRepository.findById(productRequest.getCategoryId()).orElse(null));
-        product.setImageIds(imageIdsColumnValue);
-        return productRepository.save(product);
-    }
-
-    private void updateMaxPrice(final ProductRequest productRequest) {
-        final List<MaxPriceEasySaver> maxPriceSaver = maxPriceSaverRepository.findAll();
-        if (maxPriceSaver.isEmpty()) {
-            final MaxPriceEasySaver maxPriceEasySaver = new MaxPriceEasySaver();
-            maxPriceEasySaver.setMaxPrice(productRequest.getPrice());
-            maxPriceSaverRepository.save(maxPriceEasySaver);
-            log.info("Max price created: {}", maxPriceEasySaver.getMaxPrice());
-        } else {
-            final MaxPriceEasySaver maxPriceEasySaver = maxPriceSaver.get(0);
-            if (productRequest.getPrice() > maxPriceEasySaver.getMaxPrice()) {
-                maxPriceEasySaver.setMaxPrice(productRequest.getPrice());
-                maxPriceSaverRepository.save(maxPriceEasySaver);
-                log.info("Max price updated: {}", maxPriceEasySaver.getMaxPrice());
-            }
+        if (productRequest.getImageIds() != null && !productRequest.getImageIds().isEmpty()) {
+            product.setImageIds(new ArrayList<>(productRequest.getImageIds()));
         }
+        final Product saved = productRepository.save(product);
+        eventPublisher.publishEvent(CatalogChangedEvent.productSaved(saved));
+        return saved;
     }
 
-
     @Override
     public Product getProductById(final Long id, final String accessToken) {
         return productRepository.findById(id).orElse(null);
@@ -89,12 +85,17 @@ public class AdminServiceImpl implements AdminService {
         return productRepository.findById(id)
                 .map(existingProduct -> {
                     final Product updatedProduct = Product.fromProductRequest(productRequest);
-                    updatedProduct.setImageIds(jsonListConverter.convertToDatabaseColumn(productRequest.getImageIds()));
                     if (productRequest.getCategoryId() != null && !productRequest.getCategoryId().equals(existingProduct.getCategory().getId())) {
                         updatedProduct.setCategory(categoryRepository.findById(productRequest.getCategoryId()).orElse(existingProduct.getCategory()));
                     }
                     existingProduct.update(updatedProduct);
-                    return productRepository.save(existingProduct);
+                    // replaced as a whole, a mapped list would be merged element by element
+                    if (productRequest.getImageIds() != null) {
+                        existingProduct.setImageIds(new ArrayList<>(productRequest.getImageIds()));
+                    }
+                    final Product saved = productRepository.save(existingProduct);
+                    eventPublisher.publishEvent(CatalogChangedEvent.productSaved(saved));
+                    return saved;
                 })
                 .orElse(null);
     }
@@ -102,7 +103,13 @@ public class AdminServiceImpl implements AdminService {
     @Override
     @Transactional
     public void deleteProduct(final Long id, final String accessToken) {
+        // deleteById ignores unknown ids, the change log must not record a deletion that never happened
+        if (!productRepository.existsById(id)) {
+            log.info("Product to delete not found -> id: {}", id);
+            return;
+        }
         productRepository.deleteById(id);
+        eventPublisher.publishEvent(CatalogChangedEvent.productDeleted(id));
     }
 
     @Override
@@ -111,7 +118,9 @@ public class AdminServiceImpl implements AdminService {
         return productRepository.findById(id)
                 .map(product -> {
                     product.setStockAmount(stockAmount);
-                    return productRepository.save(product);
+                    final Product saved = productRepository.save(product);
+                    eventPublisher.publishEvent(CatalogChangedEvent.productSaved(saved));
+                    return saved;
                 })
                 .orElseThrow(() -> new EntityNotFoundException("Product with ID " + id + " not found"));
     }
@@ -142,6 +151,9 @@ public class AdminServiceImpl implements AdminService {
                 log.info("Category updated: {} with {} as parent category", child, parent);
             });
         }
+        if (result.get() != null) {
+            eventPublisher.publishEvent(CatalogChangedEvent.categoryChanged(result.get().getId()));
+        }
         return result.get();
     }
 
@@ -156,7 +168,9 @@ public class AdminServiceImpl implements AdminService {
                     if (description != null && !description.isEmpty()) {
                         category1.setDescription(description);
                     }
-                    return categoryRepository.save(category1);
+                    final Category saved = categoryRepository.save(category1);
+                    eventPublisher.publishEvent(CatalogChangedEvent.categoryChanged(saved.getId()));
+                    return saved;
                 })
                 .orElseThrow(() -> new EntityNotFoundException("Category with ID " + id + " not found"));
     }
@@ -174,6 +188,7 @@ public class AdminServiceImpl implements AdminService {
             throw new IsParentCategoryException(String.format("Category with given id is parent category for categories:%s. Delete child categories first", children));
         }
         categoryRepository.deleteById(id);
+        eventPublisher.publishEvent(CatalogChangedEvent.categoryChanged(id));
     }
 
     @Override
@@ -196,14 +211,16 @@ public class AdminServiceImpl implements AdminService {
             throw new EntityNotFoundException("Order not found for id: " + orderId);
         }
         final Order order = byId.get();
+        final OrderStatus previousStatus = order.getStatus();
         order.setStatus(orderStatus);
         final Order ord = orderRepository.save(order);
+        eventPublisher.publishEvent(OrderChangedEvent.statusChanged(ord, previousStatus));
         log.info("Order status updated");
         return OrderHistoryResponse.createFrom(ord);
     }
 
     @Override
-    public Page<OrderHistoryResponse> getAllOrders(final int page, final int size, final Long id, final OrderStatus orderStatus, final String accessToken) {
+    public Slice<OrderHistoryResponse> getAllOrders(final int page, final int size, final Long id, final OrderStatus orderStatus, final boolean withTotal, final String accessToken) {
         log.info("Getting all orders");
         final Pageable pageable = PageRequest.of(page, size);
         Specification<Order> spec = Specification.where(null);
@@ -215,8 +232,65 @@ public class AdminServiceImpl implements AdminService {
             spec = spec.and((root, query, cb) ->
                     cb.equal(root.get("status"), orderStatus));
         }
-        final Page<Order> all = orderRepository.findAll(spec, pageable);
-        final List<OrderHistoryResponse> list = all.stream().map(OrderHistoryResponse::createFrom).toList();
-        return new PageImpl<>(list, all.getPageable(), all.getTotalElements());
+        // fetch one extra row for the has-next flag instead of running a count query per page
+        final Window<Order> window = orderRepository.findBy(spec, query -> query.sortBy(pageable.getSort())
+                .limit(pageable.getPageSize())
+                .scroll(scrollPositionOf(pageable)));
+        final List<OrderHistoryResponse> list = window.stream().map(OrderHistoryResponse::createFrom).toList();
+        if (!withTotal) {
+            return new SliceImpl<>(list, pageable, window.hasNext());
+        }
+        final Specification<Order> countSpec = spec;
+        final long total = listingCountCache.countOrders(id, orderStatus, () -> orderRepository.count(countSpec));
+        return new PageImpl<>(list, pageable, total);
+    }
+
+    @Override
+    public List<ListingQueryStatsResponse> getTopListingQueries(final int limit, final String accessToken) {
+        log.info("Getting top {} listing queries", limit);
+        return listingQueryLogService.getTopQueries(limit);
+    }
+
+    @Override
+    public StreamingResponseBody exportProducts(final ExportFormat format, final String accessToken) {
+        log.info("Exporting products as {}", format);
+        final TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        // the body runs after the request thread has returned, so it opens the transaction holding the cursor itself
+        return outputStream -> readOnlyTransaction.executeWithoutResult(status -> {
+            try {
+                if (format == ExportFormat.CSV) {
+                    writeCsv(outputStream);
+                } else {
+                    writeNdjson(outputStream);
+                }
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void writeNdjson(final OutputStream outputStream) throws IOException {
+        try (JsonGenerator gen = objectMapper.getFactory().createGenerator(outputStream)) {
+            // lines are terminated explicitly instead of separating root values with spaces
+            gen.setRootValueSeparator(null);
+            final ProductJsonRowWriter rowWriter = new ProductJsonRowWriter(gen, Integer.MAX_VALUE);
+            productJdbcRepository.exportAll(rs -> {
+                rowWriter.processRow(rs);
+                try {
+                    gen.writeRaw('\n');
+                } catch (final IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    private void writeCsv(final OutputStream outputStream) throws IOException {
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8))) {
+            final ProductCsvRowWriter rowWriter = new ProductCsvRowWriter(writer);
+            rowWriter.writeHeader();
+            productJdbcRepository.exportAll(rowWriter);
+        }
     }
 }
@@ -0,0 +1,105 @@
+package ge.evstore.ev_store.service.impl;
+
+import ge.evstore.ev_store.entity.CatalogChange;
+import ge.evstore.ev_store.entity.Product;
+import ge.evstore.ev_store.event.CatalogChangedEvent;
+import ge.evstore.ev_store.exception.InvalidPageRequestException;
+import ge.evstore.ev_store.repository.CatalogChangeRepository;
+import ge.evstore.ev_store.repository.ProductRepository;
+import ge.evstore.ev_store.response.CatalogChangesResponse;
+import ge.evstore.ev_store.response.ProductResponse;
+import ge.evstore.ev_store.service.interf.CatalogChangeService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Maintains the catalog change log used by clients that keep products locally. Entries are written in the admin
+ * transaction itself, so a change is visible to syncing clients exactly when the product change is.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class CatalogChangeServiceImpl implements CatalogChangeService {
+    static final int MAX_LIMIT = 1000;
+    // arbitrary application wide key of the advisory lock serializing change log writers
+    private static final long SEQUENCE_LOCK_KEY = 0x63617461L;
+
+    private final CatalogChangeRepository catalogChangeRepository;
+    private final ProductRepository productRepository;
+
+    // runs inside the publishing admin transaction, Spring rejects @Transactional on transactional listeners
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onCatalogChanged(final CatalogChangedEvent event) {
+        if (event.isReplayed()) {
+            return;
+        }
+        // without the lock a later id could commit first and a client syncing in between would skip the earlier one
+        catalogChangeRepository.lockSequence(SEQUENCE_LOCK_KEY);
+        switch (event.getType()) {
+            case PRODUCT_SAVED -> record(event.getEntityId(), CatalogChange.Type.UPSERT);
+            case PRODUCT_DELETED -> record(event.getEntityId(), CatalogChange.Type.DELETE);
+            case CATEGORY_CHANGED -> catalogChangeRepository.recordCategoryProducts(event.getEntityId());
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CatalogChangesResponse getChanges(final Long since, final int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidPageRequestException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        if (since == null) {
+            final long latest = catalogChangeRepository.findLatestSequence().orElse(0L);
+            return new CatalogChangesResponse(List.of(), List.of(), latest, false);
+        }
+        if (since < 0) {
+            throw new InvalidPageRequestException("Sequence must not be negative");
+        }
+        final List<CatalogChange> changes = catalogChangeRepository.findByIdGreaterThanOrderByIdAsc(since, Limit.of(limit + 1));
+        final boolean hasMore = changes.size() > limit;
+        final List<CatalogChange> window = hasMore ? changes.subList(0, limit) : changes;
+
+        // only the latest change of each product matters
+        final Map<Long, CatalogChange.Type> latestByProduct = new LinkedHashMap<>();
+        for (final CatalogChange change : window) {
+            latestByProduct.remove(change.getProductId());
+            latestByProduct.put(change.getProductId(), change.getType());
+        }
+        final List<Long> upserted = new ArrayList<>();
+        final Set<Long> deleted = new LinkedHashSet<>();
+        latestByProduct.forEach((productId, type) -> (type == CatalogChange.Type.UPSERT ? upserted : deleted).add(productId));
+
+        // read from the database rather than the caches, which are only evicted after the commit
+        final Map<Long, Product> products = new HashMap<>();
+        productRepository.findAllById(upserted).forEach(product -> products.put(product.getId(), product));
+        final List<ProductResponse> updated = new ArrayList<>();
+        for (final Long productId : upserted) {
+            final Product product = products.get(productId);
+            if (product == null) {
+                // deleted after this window, its tombstone follows in a later one
+                deleted.add(productId);
+            } else {
+                updated.add(ProductResponse.from(product));
+            }
+        }
+        final long sequence = window.isEmpty() ? since : window.get(window.size() - 1).getId();
+        log.info("Catalog changes since {}: {} updated, {} deleted, next sequence {}", since, updated.size(), deleted.size(), sequence);
+        return new CatalogChangesResponse(updated, new ArrayList<>(deleted), sequence, hasMore);
+    }
+
+    private void record(final Long productId, final CatalogChange.Type type) {
+        catalogChangeRepository.save(CatalogChange.builder()
+                .productId(productId)
+                .type(type)
+                .changedAt(LocalDateTime.now())
+                .build());
+    }
+}
@@ -0,0 +1,311 @@
+package ge.evstore.ev_store.service.impl;
+
+import ge.evstore.ev_store.catalog.CatalogSnapshot;
+import ge.evstore.ev_store.catalog.CatalogSnapshotFile;
+import ge.evstore.ev_store.catalog.ProductFilter;
+import ge.evstore.ev_store.entity.CatalogChange;
+import ge.evstore.ev_store.entity.Category;
+import ge.evstore.ev_store.entity.Product;
+import ge.evstore.ev_store.event.CatalogChangedEvent;
+import ge.evstore.ev_store.event.CatalogSnapshotLoadedEvent;
+import ge.evstore.ev_store.event.CatalogSnapshotPatchedEvent;
+import ge.evstore.ev_store.repository.CatalogChangeRepository;
+import ge.evstore.ev_store.repository.CategoryRepository;
+import ge.evstore.ev_store.repository.ProductRepository;
+import ge.evstore.ev_store.response.ProductResponse;
+import ge.evstore.ev_store.service.interf.CatalogIndexService;
+import ge.evstore.ev_store.service.interf.ProductSearchService;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Keeps a {@link CatalogSnapshot} of all products in memory. The snapshot is loaded on startup and patched after
+ * every committed admin write, so storefront listings can be answered without going to the database.
+ * Serving listings from it can be switched off with {@code catalog.index.enabled=false}.
+ * <p>
+ * Writes made on other instances only reach this one through the catalog change log, which is tailed every
+ * {@code catalog.index.catch-up-interval-ms}. Changed products are read again and replayed as
+ * {@link CatalogChangedEvent}s, so the snapshot and everything derived from it or cached from it are updated the same
+ * way as for a local write; products the snapshot already holds in the same state were written locally and skipped.
+ * <p>
+ * After every full load the snapshot is written to {@code catalog.snapshot.path}. On startup that file is memory
+ * mapped and caught up through the catalog change log, so only products changed since the file was written are
+ * read from the database. A missing or unreadable file falls back to a full load.
+ */
+@Service
+@Slf4j
+public class CatalogIndexServiceImpl implements CatalogIndexService {
+    // change log entries read per round trip while catching up
+    static final int CATCH_UP_BATCH_SIZE = 1000;
+
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final CatalogChangeRepository catalogChangeRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProductSearchService productSearchService;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final Path snapshotPath;
+
+    private volatile CatalogSnapshot snapshot;
+    // last change log entry reflected in the snapshot, written under the lock of this
+    private volatile long appliedSequence;
+
+    public CatalogIndexServiceImpl(final ProductRepository productRepository, final CategoryRepository categoryRepository, final CatalogChangeRepository catalogChangeRepository,
+                                   final ApplicationEventPublisher eventPublisher, final ProductSearchService productSearchService, final PlatformTransactionManager transactionManager,
+                                   final EntityManagerFactory entityManagerFactory, @Value("${catalog.index.enabled:true}") final boolean enabled, @Value("${catalog.snapshot.path:}") final String snapshotPath) {
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.catalogChangeRepository = catalogChangeRepository;
+        this.eventPublisher = eventPublisher;
+        this.productSearchService = productSearchService;
+        this.entityManagerFactory = entityManagerFactory;
+        this.enabled = enabled;
+        this.snapshotPath = snapshotPath == null || snapshotPath.isBlank() ? null : Path.of(snapshotPath);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        // listeners run after the admin transaction has committed, so loading needs a transaction of its own
+        readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (snapshotPath != null && Files.exists(snapshotPath) && warmStart()) {
+            return;
+        }
+        try {
+            reload();
+        } catch (final RuntimeException e) {
+            // listings keep going to the database until the next successful reload
+            log.error("Failed to load catalog index", e);
+        }
+    }
+
+    @Override
+    public synchronized void reload() {
+        final long start = System.currentTimeMillis();
+        final long[] sequence = new long[1];
+        final CatalogSnapshot loaded = readOnlyTransaction.execute(status -> {
+            // read first, changes committed while loading are then replayed again on the next warm start
+            sequence[0] = catalogChangeRepository.findLatestSequence().orElse(0L);
+            final List<ProductResponse> products = productRepository.findAll().stream().map(this::toResponse).toList();
+            return CatalogSnapshot.of(products, loadParentByCategory());
+        });
+        snapshot = loaded;
+        appliedSequence = sequence[0];
+        log.info("Catalog index loaded with {} products in {} ms", loaded.size(), System.currentTimeMillis() - start);
+        eventPublisher.publishEvent(new CatalogSnapshotLoadedEvent(loaded));
+        writeSnapshotFile(sequence[0], loaded);
+    }
+
+    /**
+     * Loads the snapshot file and applies the change log entries written after it.
+     *
+     * @return false when the file could not be used and a full load is needed
+     */
+    private synchronized boolean warmStart() {
+        final long start = System.currentTimeMillis();
+        final CatalogSnapshotFile.Contents stored;
+        try {
+            stored = CatalogSnapshotFile.read(snapshotPath);
+        } catch (final IOException e) {
+            log.warn("Ignoring catalog snapshot file {}", snapshotPath, e);
+            return false;
+        }
+        final long[] sequence = {stored.getSequence()};
+        final int[] changed = new int[1];
+        final CatalogSnapshot loaded;
+        try {
+            loaded = readOnlyTransaction.execute(status -> {
+                if (catalogChangeRepository.findLatestSequence().orElse(0L) < stored.getSequence()) {
+                    throw new IllegalStateException("Change log is behind the file, the database was probably restored");
+                }
+                final Set<Long> changedIds = new HashSet<>();
+                sequence[0] = collectChangedIds(sequence[0], changedIds);
+                final Map<Long, ProductResponse> products = new LinkedHashMap<>();
+                stored.getProducts().forEach(product -> products.put(product.getProductId(), product));
+                // deleted products are simply not found again
+                products.keySet().removeAll(changedIds);
+                productRepository.findAllById(changedIds).forEach(product -> products.put(product.getId(), toResponse(product)));
+                changed[0] = changedIds.size();
+                // the category tree is small and moves of categories are not in the change log
+                return CatalogSnapshot.of(products.values(), loadParentByCategory());
+            });
+        } catch (final RuntimeException e) {
+            log.warn("Failed to catch up catalog snapshot file {}", snapshotPath, e);
+            return false;
+        }
+        snapshot = loaded;
+        appliedSequence = sequence[0];
+        log.info("Catalog index warm started with {} products, {} caught up from sequence {} to {}, in {} ms",
+                loaded.size(), changed[0], stored.getSequence(), sequence[0], System.currentTimeMillis() - start);
+        eventPublisher.publishEvent(new CatalogSnapshotLoadedEvent(loaded));
+        if (changed[0] > 0) {
+            writeSnapshotFile(sequence[0], loaded);
+        }
+        return true;
+    }
+
+    /**
+     * Replays the writes other instances recorded in the change log since the snapshot was last brought up to date.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${catalog.index.catch-up-interval-ms:5000}", initialDelayString = "${catalog.index.catch-up-interval-ms:5000}")
+    public synchronized void catchUp() {
+        if (snapshot == null) {
+            return;
+        }
+        try {
+            final long[] sequence = {appliedSequence};
+            final List<CatalogChangedEvent> events = readOnlyTransaction.execute(status -> {
+                final Set<Long> changedIds = new LinkedHashSet<>();
+                sequence[0] = collectChangedIds(sequence[0], changedIds);
+                return changedIds.isEmpty() ? List.of() : unappliedChanges(changedIds, sequence[0]);
+            });
+            // published after the read transaction, listeners run as they do after an admin commit
+            events.forEach(eventPublisher::publishEvent);
+            if (!events.isEmpty()) {
+                log.info("Catalog index caught up with {} changes from other instances up to sequence {}", events.size(), sequence[0]);
+            }
+            appliedSequence = Math.max(appliedSequence, sequence[0]);
+        } catch (final RuntimeException e) {
+            // retried from the same sequence on the next run
+            log.warn("Failed to catch up catalog index with the change log", e);
+        }
+    }
+
+    // product ids changed after the sequence, up to the returned sequence
+    private long collectChangedIds(final long since, final Set<Long> changedIds) {
+        long reached = since;
+        List<CatalogChange> changes;
+        do {
+            changes = catalogChangeRepository.findByIdGreaterThanOrderByIdAsc(reached, Limit.of(CATCH_UP_BATCH_SIZE));
+            for (final CatalogChange change : changes) {
+                changedIds.add(change.getProductId());
+                reached = change.getId();
+            }
+        } while (changes.size() == CATCH_UP_BATCH_SIZE);
+        return reached;
+    }
+
+    private List<CatalogChangedEvent> unappliedChanges(final Set<Long> changedIds, final long sequence) {
+        // other instances' writes do not evict the second-level cache of this one
+        final Cache secondLevelCache = entityManagerFactory.getCache();
+        changedIds.forEach(productId -> secondLevelCache.evict(Product.class, productId));
+        secondLevelCache.evict(Category.class);
+        final Map<Long, Product> products = new HashMap<>();
+        productRepository.findAllById(changedIds).forEach(product -> products.put(product.getId(), product));
+
+        final List<CatalogChangedEvent> events = new ArrayList<>();
+        for (final Long productId : changedIds) {
+            final Optional<ProductResponse> current = snapshot.findById(productId);
+            final Product product = products.get(productId);
+            if (product == null) {
+                current.ifPresent(deleted -> events.add(CatalogChangedEvent.productDeleted(productId).asReplayed(sequence)));
+                continue;
+            }
+            final ProductResponse fresh = toResponse(product);
+            if (current.isPresent() && current.get().equals(fresh)) {
+                continue;
+            }
+            // same version but a different row, the category was renamed; its event reloads everything anyway
+            if (current.isPresent() && Objects.equals(current.get().getVersion(), fresh.getVersion())) {
+                return List.of(CatalogChangedEvent.categoryChanged(fresh.getCategoryId()).asReplayed(sequence));
+            }
+            events.add(CatalogChangedEvent.productSaved(product).asReplayed(sequence));
+        }
+        return events;
+    }
+
+    private Map<Long, Long> loadParentByCategory() {
+        final Map<Long, Long> parentByCategory = new HashMap<>();
+        for (final Category category : categoryRepository.findAll()) {
+            parentByCategory.put(category.getId(), category.getParentCategory() == null ? null : category.getParentCategory().getId());
+        }
+        return parentByCategory;
+    }
+
+    private void writeSnapshotFile(final long sequence, final CatalogSnapshot written) {
+        if (snapshotPath == null) {
+            return;
+        }
+        try {
+            CatalogSnapshotFile.write(snapshotPath, sequence, written);
+        } catch (final IOException e) {
+            // the next start only takes longer
+            log.warn("Failed to write catalog snapshot file {}", snapshotPath, e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(CatalogChangedEvent.INDEX_LISTENER_ORDER)
+    public synchronized void onCatalogChanged(final CatalogChangedEvent event) {
+        if (snapshot == null) {
+            return;
+        }
+        log.info("Updating catalog index for {}", event);
+        switch (event.getType()) {
+            case PRODUCT_SAVED -> {
+                final ProductResponse product = toResponse(event.getProduct());
+                snapshot = snapshot.withProduct(product);
+                eventPublisher.publishEvent(new CatalogSnapshotPatchedEvent(snapshot, product.getProductId(), product));
+            }
+            case PRODUCT_DELETED -> {
+                snapshot = snapshot.withoutProduct(event.getEntityId());
+                eventPublisher.publishEvent(new CatalogSnapshotPatchedEvent(snapshot, event.getEntityId(), null));
+            }
+            // category names are denormalized into every product row, so rebuild from scratch
+            case CATEGORY_CHANGED -> reload();
+        }
+    }
+
+    @Override
+    public boolean canServe(final ProductFilter filter, final String sortBy) {
+        final CatalogSnapshot current = snapshot;
+        return enabled && current != null && CatalogSnapshot.supportsSort(sortBy) && current.containsCategories(filter.getCategoryIds());
+    }
+
+    @Override
+    public Page<ProductResponse> findAll(final ProductFilter filter, final Pageable pageable) {
+        final Set<Long> nameMatches = filter.getName() != null && productSearchService.isReady()
+                ? productSearchService.findMatchingIds(filter.getName())
+                : null;
+        return snapshot.findAll(filter, nameMatches, pageable);
+    }
+
+    @Override
+    public long getAppliedSequence() {
+        // without a snapshot everything is read from the database
+        return snapshot == null ? catalogChangeRepository.findLatestSequence().orElse(0L) : appliedSequence;
+    }
+
+    @Override
+    public Optional<CatalogSnapshot> getSnapshot() {
+        return Optional.ofNullable(snapshot);
+    }
+
+    private ProductResponse toResponse(final Product product) {
+        return ProductResponse.from(product);
+    }
+}
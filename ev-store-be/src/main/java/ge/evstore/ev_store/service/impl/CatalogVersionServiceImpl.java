@@ -0,0 +1,107 @@
+package ge.evstore.ev_store.service.impl;
+
+import ge.evstore.ev_store.catalog.CatalogVersion;
+import ge.evstore.ev_store.catalog.RankingGeneration;
+import ge.evstore.ev_store.entity.CatalogChange;
+import ge.evstore.ev_store.event.CatalogChangedEvent;
+import ge.evstore.ev_store.event.CatalogSnapshotLoadedEvent;
+import ge.evstore.ev_store.event.PopularityRankingChangedEvent;
+import ge.evstore.ev_store.repository.CatalogChangeRepository;
+import ge.evstore.ev_store.service.interf.CatalogIndexService;
+import ge.evstore.ev_store.service.interf.CatalogVersionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.ZoneId;
+
+/**
+ * Keeps a catalog-wide version derived from state shared by all instances: the sequence of the last catalog change
+ * log entry this instance serves and the generation of the popularity ranking order it serves. Instances serving the
+ * same catalog hand out the same entity tags, and Last-Modified is the time of the later of both changes.
+ */
+@Service
+@Slf4j
+public class CatalogVersionServiceImpl implements CatalogVersionService {
+    private final CatalogIndexService catalogIndexService;
+    private final CatalogChangeRepository catalogChangeRepository;
+
+    // guarded by this
+    private long sequence;
+    private long sequenceChangedAt;
+    private RankingGeneration rankingGeneration = RankingGeneration.INITIAL;
+    private volatile CatalogVersion current;
+
+    public CatalogVersionServiceImpl(final CatalogIndexService catalogIndexService, final CatalogChangeRepository catalogChangeRepository) {
+        this.catalogIndexService = catalogIndexService;
+        this.catalogChangeRepository = catalogChangeRepository;
+        this.current = version();
+    }
+
+    @Override
+    public CatalogVersion current() {
+        return current;
+    }
+
+    @EventListener
+    public void onCatalogSnapshotLoaded(final CatalogSnapshotLoadedEvent event) {
+        refresh(catalogIndexService.getAppliedSequence());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(CatalogChangedEvent.VERSION_LISTENER_ORDER)
+    public void onCatalogChanged(final CatalogChangedEvent event) {
+        if (event.isReplayed()) {
+            refresh(event.getSequence());
+            return;
+        }
+        // the sequence of a local write is only served once the earlier writes of other instances are applied too
+        catalogIndexService.catchUp();
+        refresh(catalogIndexService.getAppliedSequence());
+    }
+
+    // catching up also moves past changes this instance already served, which publish no event
+    @Scheduled(fixedDelayString = "${catalog.index.catch-up-interval-ms:5000}", initialDelayString = "${catalog.index.catch-up-interval-ms:5000}")
+    public void refreshAppliedSequence() {
+        refresh(catalogIndexService.getAppliedSequence());
+    }
+
+    // listings sorted by popularity change with the ranking, not with the catalog
+    @EventListener
+    @Order(CatalogChangedEvent.VERSION_LISTENER_ORDER)
+    public synchronized void onPopularityRankingChanged(final PopularityRankingChangedEvent event) {
+        rankingGeneration = event.getGeneration();
+        current = version();
+        log.info("Catalog version is now {} after a popularity ranking change", current.getETag());
+    }
+
+    private void refresh(final long applied) {
+        // listeners of several threads may race, the sequence only moves forward
+        synchronized (this) {
+            if (applied <= sequence) {
+                return;
+            }
+        }
+        final long changedAt = catalogChangeRepository.findById(applied)
+                .map(CatalogChange::getChangedAt)
+                .map(time -> time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli())
+                .orElse(0L);
+        synchronized (this) {
+            if (applied <= sequence) {
+                return;
+            }
+            sequence = applied;
+            sequenceChangedAt = changedAt;
+            current = version();
+        }
+        log.info("Catalog version is now {}", current.getETag());
+    }
+
+    private CatalogVersion version() {
+        final long lastModified = Math.max(sequenceChangedAt, rankingGeneration.getChangedAt());
+        return new CatalogVersion("\"" + sequence + "-" + rankingGeneration.getGeneration() + "\"", lastModified - lastModified % 1000);
+    }
+}
@@ -1,5 +1,6 @@
 package ge.evstore.ev_store.service.impl;
 
+import ge.evstore.ev_store.annotation.Coalesced;
 import ge.evstore.ev_store.entity.Category;
 import ge.evstore.ev_store.repository.CategoryRepository;
 import ge.evstore.ev_store.response.CategoryFullTreeResponse;
@@ -23,6 +24,7 @@ public class CategoryServiceImpl implements CategoryService {
 
     @Override
     @Transactional
+    @Coalesced
     public List<CategoryFullTreeResponse> getAllCategories() {
         log.info("Fetching all root categories (parentCategory IS NULL)");
 
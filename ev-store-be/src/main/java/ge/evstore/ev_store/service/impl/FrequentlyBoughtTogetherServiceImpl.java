@@ -0,0 +1,115 @@
+package ge.evstore.ev_store.service.impl;
+
+import ge.evstore.ev_store.catalog.CatalogSnapshot;
+import ge.evstore.ev_store.catalog.CoOccurrenceIndex;
+import ge.evstore.ev_store.exception.InvalidPageRequestException;
+import ge.evstore.ev_store.repository.CoOccurrenceJdbcRepository;
+import ge.evstore.ev_store.response.ProductResponse;
+import ge.evstore.ev_store.service.interf.CatalogIndexService;
+import ge.evstore.ev_store.service.interf.FrequentlyBoughtTogetherService;
+import ge.evstore.ev_store.service.interf.ProductService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Serves "frequently bought together" suggestions from an in-memory {@link CoOccurrenceIndex}. A background job
+ * counts the product pairs of orders placed since its previous run into the persisted co-occurrence matrix, refreshes
+ * the stored top neighbours of the products involved and then reloads the index.
+ */
+@Service
+@Slf4j
+public class FrequentlyBoughtTogetherServiceImpl implements FrequentlyBoughtTogetherService {
+    static final int ORDER_BATCH_SIZE = 500;
+
+    private final CoOccurrenceJdbcRepository coOccurrenceJdbcRepository;
+    private final CatalogIndexService catalogIndexService;
+    private final ProductService productService;
+    private final TransactionTemplate transactionTemplate;
+    private final int neighbours;
+
+    private volatile CoOccurrenceIndex index = CoOccurrenceIndex.empty();
+
+    public FrequentlyBoughtTogetherServiceImpl(final CoOccurrenceJdbcRepository coOccurrenceJdbcRepository, final CatalogIndexService catalogIndexService,
+                                               final ProductService productService, final PlatformTransactionManager transactionManager,
+                                               @Value("${catalog.co-occurrence.neighbours:20}") final int neighbours) {
+        this.coOccurrenceJdbcRepository = coOccurrenceJdbcRepository;
+        this.catalogIndexService = catalogIndexService;
+        this.productService = productService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.neighbours = neighbours;
+    }
+
+    @Override
+    public List<ProductResponse> getFrequentlyBoughtTogether(final List<Long> productIds, final int limit) {
+        if (limit < 1 || limit > neighbours) {
+            throw new InvalidPageRequestException("Limit must be between 1 and " + neighbours);
+        }
+        if (productIds == null || productIds.isEmpty()) {
+            return List.of();
+        }
+        final List<Long> ids = index.neighbours(new LinkedHashSet<>(productIds), limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        final Optional<CatalogSnapshot> snapshot = catalogIndexService.getSnapshot();
+        if (snapshot.isPresent()) {
+            return ids.stream().map(snapshot.get()::findById).flatMap(Optional::stream).toList();
+        }
+        // deleted products are simply missing
+        final Map<Long, ProductResponse> byId = productService.getProductsByIds(ids).stream()
+                .collect(Collectors.toMap(ProductResponse::getProductId, Function.identity()));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            reload();
+        } catch (final RuntimeException e) {
+            // suggestions stay empty until the next successful run
+            log.error("Failed to load frequently bought together index", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.co-occurrence.interval-ms:900000}", initialDelayString = "${catalog.co-occurrence.interval-ms:900000}")
+    public void countNewOrders() {
+        int counted = 0;
+        int batch;
+        do {
+            batch = transactionTemplate.execute(status -> countBatch());
+            counted += batch;
+        } while (batch == ORDER_BATCH_SIZE);
+        if (counted > 0) {
+            log.info("Counted product pairs of {} new orders", counted);
+            reload();
+        }
+    }
+
+    private int countBatch() {
+        final List<Long> orderIds = coOccurrenceJdbcRepository.claimUncountedOrders(ORDER_BATCH_SIZE);
+        if (orderIds.isEmpty()) {
+            return 0;
+        }
+        final Set<Long> productIds = coOccurrenceJdbcRepository.countOrders(orderIds);
+        if (!productIds.isEmpty()) {
+            coOccurrenceJdbcRepository.rebuildNeighbours(productIds, neighbours);
+        }
+        return orderIds.size();
+    }
+
+    private void reload() {
+        final CoOccurrenceIndex loaded = CoOccurrenceIndex.of(coOccurrenceJdbcRepository.findAllNeighbours());
+        index = loaded;
+        log.info("Frequently bought together index loaded for {} products", loaded.size());
+    }
+}
@@ -0,0 +1,85 @@
+package ge.evstore.ev_store.service.impl;
+
+import ge.evstore.ev_store.catalog.ItemCodeIndex;
+import ge.evstore.ev_store.event.CatalogSnapshotLoadedEvent;
+import ge.evstore.ev_store.event.CatalogSnapshotPatchedEvent;
+import ge.evstore.ev_store.exception.InvalidPageRequestException;
+import ge.evstore.ev_store.repository.ProductRepository;
+import ge.evstore.ev_store.response.ProductResponse;
+import ge.evstore.ev_store.service.interf.ItemCodeLookupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Looks products up by item code in an {@link ItemCodeIndex}, built from the catalog snapshot and patched whenever
+ * the catalog index applies a product write, in the same order as the index. Category changes reload the snapshot,
+ * which rebuilds the index with the new category names. Until the snapshot is loaded the codes are looked up in the database instead.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ItemCodeLookupServiceImpl implements ItemCodeLookupService {
+    static final int MAX_CODES = 1000;
+
+    private final ProductRepository productRepository;
+
+    private volatile ItemCodeIndex index = new ItemCodeIndex();
+    private volatile boolean ready;
+
+    @EventListener
+    public void onSnapshotLoaded(final CatalogSnapshotLoadedEvent event) {
+        index = ItemCodeIndex.of(event.getSnapshot().getProducts());
+        ready = true;
+        log.info("Item code index built for {} codes", index.size());
+    }
+
+    @EventListener
+    public void onSnapshotPatched(final CatalogSnapshotPatchedEvent event) {
+        if (event.getProduct() == null) {
+            index.remove(event.getProductId());
+        } else {
+            index.put(event.getProduct());
+        }
+    }
+
+    @Override
+    public List<ProductResponse> findByItemCodes(final List<String> itemCodes) {
+        final Set<String> codes = new LinkedHashSet<>();
+        for (final String itemCode : itemCodes) {
+            if (itemCode != null && !itemCode.isBlank()) {
+                codes.add(itemCode.trim());
+            }
+        }
+        if (codes.size() > MAX_CODES) {
+            throw new InvalidPageRequestException("At most " + MAX_CODES + " item codes can be looked up at once");
+        }
+        if (!ready) {
+            log.info("Looking up {} item codes in the database", codes.size());
+            return findInDatabase(codes);
+        }
+        final List<ProductResponse> products = new ArrayList<>();
+        final ItemCodeIndex current = index;
+        for (final String code : codes) {
+            products.addAll(current.get(code));
+        }
+        return products;
+    }
+
+    private List<ProductResponse> findInDatabase(final Set<String> codes) {
+        if (codes.isEmpty()) {
+            return List.of();
+        }
+        final Map<String, List<ProductResponse>> byCode = new HashMap<>();
+        productRepository.findByItemCodeInOrderByIdAsc(codes)
+                .forEach(product -> byCode.computeIfAbsent(product.getItemCode(), c -> new ArrayList<>()).add(ProductResponse.from(product)));
+        final List<ProductResponse> products = new ArrayList<>();
+        for (final String code : codes) {
+            products.addAll(byCode.getOrDefault(code, List.of()));
+        }
+        return products;
+    }
+}
@@ -0,0 +1,164 @@
+package ge.evstore.ev_store.service.impl;
+
+import ge.evstore.ev_store.catalog.ListingQuery;
+import ge.evstore.ev_store.catalog.RingBuffer;
+import ge.evstore.ev_store.event.CatalogChangedEvent;
+import ge.evstore.ev_store.event.CatalogSnapshotLoadedEvent;
+import ge.evstore.ev_store.event.PopularityRankingChangedEvent;
+import ge.evstore.ev_store.exception.InvalidPageRequestException;
+import ge.evstore.ev_store.repository.ListingQueryJdbcRepository;
+import ge.evstore.ev_store.response.ListingQueryStatsResponse;
+import ge.evstore.ev_store.service.interf.ListingQueryLogService;
+import ge.evstore.ev_store.service.interf.ProductService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Logs the arguments of served product listings. Request threads only put the arguments into a ring buffer, a
+ * scheduled task drains it, counts equal listings in memory and adds the counts to their daily rows in
+ * listing_query_counts in one batch. The most frequent listings of the aggregation window are
+ * replayed through the cached {@link ProductService} at startup and after catalog changes, so the first visitors
+ * after an eviction find the hottest pages in the listing cache.
+ */
+@Service
+@Slf4j
+public class ListingQueryLogServiceImpl implements ListingQueryLogService {
+    static final int MAX_LIMIT = 1000;
+    private static final int DRAIN_BATCH_SIZE = 1000;
+
+    private final ListingQueryJdbcRepository listingQueryJdbcRepository;
+    private final ProductService productService;
+    private final RingBuffer<ListingQuery> buffer;
+    private final int prewarmSize;
+    private final Duration window;
+    private final Duration retention;
+
+    // set by catalog changes, cleared by the next pre-warm, so bursts of admin edits warm the caches once
+    private final AtomicBoolean prewarmPending = new AtomicBoolean();
+    private long reportedDrops;
+
+    public ListingQueryLogServiceImpl(final ListingQueryJdbcRepository listingQueryJdbcRepository, final ProductService productService,
+                                      @Value("${catalog.query-log.buffer-capacity:8192}") final int bufferCapacity,
+                                      @Value("${catalog.query-log.prewarm-size:20}") final int prewarmSize,
+                                      @Value("${catalog.query-log.window:P7D}") final Duration window,
+                                      @Value("${catalog.query-log.retention:P30D}") final Duration retention) {
+        this.listingQueryJdbcRepository = listingQueryJdbcRepository;
+        this.productService = productService;
+        this.buffer = new RingBuffer<>(bufferCapacity);
+        this.prewarmSize = prewarmSize;
+        this.window = window;
+        this.retention = retention;
+    }
+
+    @Override
+    public void record(final ListingQuery query) {
+        buffer.offer(query);
+    }
+
+    @Override
+    public List<ListingQueryStatsResponse> getTopQueries(final int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidPageRequestException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        flush();
+        return listingQueryJdbcRepository.findTop(windowStart(), limit);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        prewarmPending.set(true);
+    }
+
+    // only flags the pre-warm, the listings are replayed by the next scheduled run after the caches were evicted
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(final CatalogChangedEvent event) {
+        prewarmPending.set(true);
+    }
+
+    @EventListener
+    public void onSnapshotLoaded(final CatalogSnapshotLoadedEvent event) {
+        prewarmPending.set(true);
+    }
+
+    @EventListener
+    public void onPopularityRankingChanged(final PopularityRankingChangedEvent event) {
+        prewarmPending.set(true);
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.query-log.flush-interval-ms:5000}", initialDelayString = "${catalog.query-log.flush-interval-ms:5000}")
+    public void flushAndPrewarm() {
+        try {
+            flush();
+        } catch (final RuntimeException e) {
+            // the drained queries are lost, the log is only statistics
+            log.error("Failed to write listing query log", e);
+        }
+        if (prewarmPending.getAndSet(false)) {
+            prewarm();
+        }
+    }
+
+    @Scheduled(cron = "${catalog.query-log.cleanup-cron:0 30 3 * * *}")
+    public void deleteExpired() {
+        final int deleted = listingQueryJdbcRepository.deleteOlderThan(LocalDate.now().minusDays(retention.toDays()));
+        log.info("Deleted {} expired daily listing query counts", deleted);
+    }
+
+    synchronized void flush() {
+        final Map<ListingQuery, Long> counts = new HashMap<>();
+        List<ListingQuery> batch = buffer.drain(DRAIN_BATCH_SIZE);
+        while (!batch.isEmpty()) {
+            batch.forEach(query -> counts.merge(query, 1L, Long::sum));
+            batch = buffer.drain(DRAIN_BATCH_SIZE);
+        }
+        if (!counts.isEmpty()) {
+            listingQueryJdbcRepository.addCounts(counts, LocalDate.now());
+        }
+        final long dropped = buffer.getDropped();
+        if (dropped > reportedDrops) {
+            log.warn("Listing query log buffer was full, {} queries dropped since startup", dropped);
+            reportedDrops = dropped;
+        }
+    }
+
+    private void prewarm() {
+        final List<ListingQueryStatsResponse> top;
+        try {
+            top = listingQueryJdbcRepository.findTop(windowStart(), prewarmSize);
+        } catch (final RuntimeException e) {
+            log.error("Failed to read top listing queries, listing caches are not pre-warmed", e);
+            return;
+        }
+        int warmed = 0;
+        for (final ListingQueryStatsResponse stats : top) {
+            final ListingQuery query = stats.getQuery();
+            try {
+                productService.getAllProducts(query.getPage(), query.getSize(), query.getSortBy(), query.getDirection(), query.getName(),
+                        query.getCategoryId(), query.getMinPrice(), query.getMaxPrice(), query.getInStock(), query.getIsPopular(),
+                        query.getProductId(), query.getItemCode(), query.getComingSoon(), query.isWithTotal());
+                warmed++;
+            } catch (final RuntimeException e) {
+                // e.g. a category of a logged query was deleted since
+                log.debug("Skipped pre-warming listing {}", query, e);
+            }
+        }
+        log.info("Pre-warmed {} of {} hottest product listings", warmed, top.size());
+    }
+
+    // counts are kept per day, the window covers whole days
+    private LocalDate windowStart() {
+        return LocalDate.now().minusDays(Math.max(1, window.toDays()) - 1);
+    }
+}
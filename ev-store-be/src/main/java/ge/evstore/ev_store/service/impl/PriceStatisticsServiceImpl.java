@@ -0,0 +1,81 @@
+package ge.evstore.ev_store.service.impl;
+
+import ge.evstore.ev_store.catalog.CatalogSnapshot;
+import ge.evstore.ev_store.catalog.PriceStatistics;
+import ge.evstore.ev_store.event.CatalogSnapshotLoadedEvent;
+import ge.evstore.ev_store.event.CatalogSnapshotPatchedEvent;
+import ge.evstore.ev_store.repository.ProductJdbcRepository;
+import ge.evstore.ev_store.response.PriceStatisticsResponse;
+import ge.evstore.ev_store.response.ProductResponse;
+import ge.evstore.ev_store.service.interf.CatalogIndexService;
+import ge.evstore.ev_store.service.interf.CategoryService;
+import ge.evstore.ev_store.service.interf.PriceStatisticsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serves price statistics from {@link PriceStatistics}, built from the catalog snapshot and patched whenever the
+ * catalog index applies a product write, in the same order as the index. Category subtrees are resolved from the
+ * snapshot at query time and their merged summaries are kept until the next change. Until the snapshot is loaded
+ * the statistics are aggregated in the database instead.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class PriceStatisticsServiceImpl implements PriceStatisticsService {
+    private final CatalogIndexService catalogIndexService;
+    private final CategoryService categoryService;
+    private final ProductJdbcRepository productJdbcRepository;
+
+    private volatile PriceStatistics statistics = new PriceStatistics();
+    // merged subtree summaries, replaced on every load and patch
+    private volatile Map<Long, PriceStatisticsResponse> subtreeSummaries = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    @EventListener
+    public void onSnapshotLoaded(final CatalogSnapshotLoadedEvent event) {
+        final PriceStatistics rebuilt = new PriceStatistics();
+        for (final ProductResponse product : event.getSnapshot().getProducts()) {
+            rebuilt.put(product.getProductId(), product.getCategoryId(), product.getPrice());
+        }
+        statistics = rebuilt;
+        subtreeSummaries = new ConcurrentHashMap<>();
+        ready = true;
+        log.info("Price statistics built for {} priced products", rebuilt.size());
+    }
+
+    @EventListener
+    public void onSnapshotPatched(final CatalogSnapshotPatchedEvent event) {
+        final ProductResponse product = event.getProduct();
+        if (product == null) {
+            statistics.remove(event.getProductId());
+        } else {
+            statistics.put(product.getProductId(), product.getCategoryId(), product.getPrice());
+        }
+        subtreeSummaries = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public PriceStatisticsResponse getStatistics(final Long categoryId) {
+        final Optional<CatalogSnapshot> snapshot = catalogIndexService.getSnapshot();
+        if (ready && categoryId == null) {
+            return statistics.summarize(null);
+        }
+        if (ready && snapshot.isPresent() && snapshot.get().containsCategories(List.of(categoryId))) {
+            // taken before summarizing, a summary racing a change lands in the map the change already replaced
+            final Map<Long, PriceStatisticsResponse> summaries = subtreeSummaries;
+            return summaries.computeIfAbsent(categoryId, id -> statistics.summarize(snapshot.get().getDescendantCategoryIds(id)));
+        }
+        log.info("Aggregating price statistics in the database for category {}", categoryId);
+        final Set<Long> categoryIds = categoryId == null ? null : categoryService.getDescendantCategoryIds(categoryId);
+        return productJdbcRepository.priceStatistics(categoryIds);
+    }
+}
@@ -0,0 +1,130 @@
+package ge.evstore.ev_store.service.impl;
+
+import ge.evstore.ev_store.catalog.CatalogSnapshot;
+import ge.evstore.ev_store.catalog.FacetCounter;
+import ge.evstore.ev_store.catalog.ProductFilter;
+import ge.evstore.ev_store.entity.Category;
+import ge.evstore.ev_store.entity.Product;
+import ge.evstore.ev_store.event.CatalogChangedEvent;
+import ge.evstore.ev_store.exception.InvalidPageRequestException;
+import ge.evstore.ev_store.repository.CategoryRepository;
+import ge.evstore.ev_store.repository.ProductRepository;
+import ge.evstore.ev_store.repository.ProductSpecifications;
+import ge.evstore.ev_store.response.ProductFacetsResponse;
+import ge.evstore.ev_store.response.ProductResponse;
+import ge.evstore.ev_store.service.interf.CatalogIndexService;
+import ge.evstore.ev_store.service.interf.CategoryService;
+import ge.evstore.ev_store.service.interf.ProductFacetService;
+import ge.evstore.ev_store.service.interf.ProductSearchService;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Answers the catalog sidebar facets. Results are cached per filter until the next catalog change; entries computed
+ * from the in-memory snapshot are additionally tied to that snapshot instance, so a patched snapshot is never
+ * answered from facets of the previous one.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ProductFacetServiceImpl implements ProductFacetService {
+    // filters come straight from query parameters, so the cache is dropped rather than allowed to grow unbounded
+    private static final int MAX_CACHED_FILTERS = 1000;
+    static final int MAX_PRICE_BUCKETS = 100;
+
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final CategoryService categoryService;
+    private final CatalogIndexService catalogIndexService;
+    private final ProductSearchService productSearchService;
+
+    private final Map<FacetKey, CachedFacets> cache = new ConcurrentHashMap<>();
+
+    @Override
+    @Transactional(readOnly = true)
+    public ProductFacetsResponse getFacets(final ProductFilter filter, final int priceBuckets) {
+        if (priceBuckets < 1 || priceBuckets > MAX_PRICE_BUCKETS) {
+            throw new InvalidPageRequestException("Price buckets must be between 1 and " + MAX_PRICE_BUCKETS);
+        }
+        final FacetKey key = new FacetKey(filter, priceBuckets);
+        final CatalogSnapshot snapshot = catalogIndexService.getSnapshot().orElse(null);
+        final CachedFacets cached = cache.get(key);
+        if (cached != null && cached.getSnapshot() == snapshot) {
+            return cached.getFacets();
+        }
+        log.info("Computing facets for {}", filter);
+        final ProductFacetsResponse facets = compute(filter, priceBuckets, snapshot);
+        if (cache.size() >= MAX_CACHED_FILTERS) {
+            cache.clear();
+        }
+        cache.put(key, new CachedFacets(snapshot, facets));
+        return facets;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(CatalogChangedEvent.CACHE_LISTENER_ORDER)
+    public void onCatalogChanged(final CatalogChangedEvent event) {
+        cache.clear();
+    }
+
+    private ProductFacetsResponse compute(final ProductFilter filter, final int priceBuckets, final CatalogSnapshot snapshot) {
+        final Set<Long> categoryIds = resolveCategoryIds(filter);
+        final Set<Long> nameMatches = filter.getName() != null && productSearchService.isReady()
+                ? productSearchService.findMatchingIds(filter.getName())
+                : null;
+        if (snapshot != null && snapshot.containsCategories(categoryIds)) {
+            final ProductFilter expanded = filter.toBuilder().categoryIds(categoryIds.stream().sorted().toList()).build();
+            return FacetCounter.count(snapshot.findAll(expanded, nameMatches), snapshot.getParentByCategory(), priceBuckets);
+        }
+        final List<ProductResponse> products = productRepository.findAll(ProductSpecifications.matching(filter, categoryIds, nameMatches))
+                .stream()
+                .map(ProductFacetServiceImpl::toFacetRow)
+                .toList();
+        final Map<Long, Long> parentByCategory = new HashMap<>();
+        for (final Category category : categoryRepository.findAll()) {
+            parentByCategory.put(category.getId(), category.getParentCategory() == null ? null : category.getParentCategory().getId());
+        }
+        return FacetCounter.count(products, parentByCategory, priceBuckets);
+    }
+
+    private Set<Long> resolveCategoryIds(final ProductFilter filter) {
+        return filter.getCategoryIds().stream()
+                .map(categoryService::getDescendantCategoryIds)
+                .filter(Objects::nonNull)
+                .flatMap(Set::stream)
+                .collect(Collectors.toSet());
+    }
+
+    // only the fields facets are counted on
+    private static ProductResponse toFacetRow(final Product product) {
+        return ProductResponse.builder()
+                .productId(product.getId())
+                .categoryId(product.getCategory() == null ? null : product.getCategory().getId())
+                .price(product.getPrice())
+                .stockAmount(product.getStockAmount())
+                .isPopular(product.getIsPopular())
+                .comingSoon(product.getComingSoon())
+                .build();
+    }
+
+    @Value
+    private static class FacetKey {
+        ProductFilter filter;
+        int priceBuckets;
+    }
+
+    @Value
+    private static class CachedFacets {
+        CatalogSnapshot snapshot;
+        ProductFacetsResponse facets;
+    }
+}
@@ -0,0 +1,123 @@
+package ge.evstore.ev_store.service.impl;
+
+import ge.evstore.ev_store.catalog.CatalogSnapshot;
+import ge.evstore.ev_store.catalog.PopularityRanking;
+import ge.evstore.ev_store.catalog.ProductCounters;
+import ge.evstore.ev_store.catalog.ProductCounts;
+import ge.evstore.ev_store.entity.OrderItem;
+import ge.evstore.ev_store.event.OrderChangedEvent;
+import ge.evstore.ev_store.event.PopularityRankingChangedEvent;
+import ge.evstore.ev_store.repository.ProductStatsJdbcRepository;
+import ge.evstore.ev_store.service.interf.CatalogIndexService;
+import ge.evstore.ev_store.service.interf.CategoryService;
+import ge.evstore.ev_store.service.interf.ProductPopularityService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+
+/**
+ * Counts product views and ordered units in memory and periodically adds them to product_stats in one batch. After
+ * every flush the popularity ranking is rebuilt from the stored totals, so counts of all instances are ranked.
+ */
+@Service
+@Slf4j
+public class ProductPopularityServiceImpl implements ProductPopularityService {
+    private final ProductStatsJdbcRepository productStatsJdbcRepository;
+    private final CatalogIndexService catalogIndexService;
+    private final CategoryService categoryService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int rankingSize;
+    private final long orderWeight;
+
+    private final ProductCounters counters = new ProductCounters();
+    private volatile PopularityRanking ranking;
+
+    public ProductPopularityServiceImpl(final ProductStatsJdbcRepository productStatsJdbcRepository, final CatalogIndexService catalogIndexService, final CategoryService categoryService,
+                                        final ApplicationEventPublisher eventPublisher, @Value("${catalog.popularity.ranking-size:100}") final int rankingSize,
+                                        @Value("${catalog.popularity.order-weight:20}") final long orderWeight) {
+        this.productStatsJdbcRepository = productStatsJdbcRepository;
+        this.catalogIndexService = catalogIndexService;
+        this.categoryService = categoryService;
+        this.eventPublisher = eventPublisher;
+        this.rankingSize = rankingSize;
+        this.orderWeight = orderWeight;
+        this.ranking = PopularityRanking.empty(rankingSize);
+    }
+
+    @Override
+    public void recordView(final Long productId) {
+        // views are counted before the product is looked up, unknown ids must not pile up until the next flush
+        if (catalogIndexService.getSnapshot().map(snapshot -> snapshot.findById(productId).isPresent()).orElse(true)) {
+            counters.recordView(productId);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderChanged(final OrderChangedEvent event) {
+        if (event.getType() != OrderChangedEvent.Type.PLACED) {
+            return;
+        }
+        for (final OrderItem item : event.getOrder().getItems()) {
+            if (item.getProductId() != null) {
+                counters.recordOrder(item.getProductId(), item.getQuantity());
+            }
+        }
+    }
+
+    @Override
+    public List<Long> getPopularProductIds(final Collection<Long> categoryIds) {
+        if (categoryIds == null) {
+            return ranking.top(null);
+        }
+        final Optional<CatalogSnapshot> snapshot = catalogIndexService.getSnapshot();
+        final Set<Long> subtrees = new HashSet<>();
+        for (final Long categoryId : categoryIds) {
+            subtrees.addAll(snapshot.isPresent() && snapshot.get().containsCategories(List.of(categoryId))
+                    ? snapshot.get().getDescendantCategoryIds(categoryId)
+                    : categoryService.getDescendantCategoryIds(categoryId));
+        }
+        return ranking.top(subtrees);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            rebuildRanking();
+        } catch (final RuntimeException e) {
+            // popularity listings stay empty until the next flush succeeds
+            log.error("Failed to build popularity ranking", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.popularity.flush-interval-ms:300000}", initialDelayString = "${catalog.popularity.flush-interval-ms:300000}")
+    public void flush() {
+        final List<ProductCounts> counts = counters.drain();
+        if (!counts.isEmpty()) {
+            try {
+                productStatsJdbcRepository.addCounts(counts);
+            } catch (final RuntimeException e) {
+                counters.restore(counts);
+                log.error("Failed to flush counters of {} products, retrying with the next flush", counts.size(), e);
+                return;
+            }
+            log.info("Flushed counters of {} products", counts.size());
+        }
+        rebuildRanking();
+    }
+
+    private void rebuildRanking() {
+        final PopularityRanking rebuilt = PopularityRanking.of(productStatsJdbcRepository.findScores(orderWeight), rankingSize);
+        final boolean changed = !rebuilt.hasSameOrderAs(ranking);
+        ranking = rebuilt;
+        if (changed) {
+            eventPublisher.publishEvent(new PopularityRankingChangedEvent(productStatsJdbcRepository.recordRankingOrder(rebuilt.fingerprint())));
+        }
+    }
+}
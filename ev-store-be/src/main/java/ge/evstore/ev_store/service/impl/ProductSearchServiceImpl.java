@@ -0,0 +1,86 @@
+package ge.evstore.ev_store.service.impl;
+
+import ge.evstore.ev_store.catalog.PrefixTrie;
+import ge.evstore.ev_store.catalog.TrigramIndex;
+import ge.evstore.ev_store.event.CatalogSnapshotLoadedEvent;
+import ge.evstore.ev_store.event.CatalogSnapshotPatchedEvent;
+import ge.evstore.ev_store.exception.InvalidPageRequestException;
+import ge.evstore.ev_store.response.AutocompleteSuggestion;
+import ge.evstore.ev_store.response.ProductResponse;
+import ge.evstore.ev_store.service.interf.ProductSearchService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Name search over the trigram index and autocomplete over the prefix trie. Both are bulk-built from every catalog
+ * snapshot load and patched per product whenever the catalog index applies a write, in the same order as the index.
+ */
+@Service
+@Slf4j
+public class ProductSearchServiceImpl implements ProductSearchService {
+    static final int MAX_LIMIT = 100;
+
+    private volatile TrigramIndex index = new TrigramIndex();
+    private volatile PrefixTrie trie = new PrefixTrie();
+    private volatile boolean ready;
+
+    @EventListener
+    public void onSnapshotLoaded(final CatalogSnapshotLoadedEvent event) {
+        final TrigramIndex rebuilt = new TrigramIndex();
+        final PrefixTrie rebuiltTrie = new PrefixTrie();
+        for (final ProductResponse product : event.getSnapshot().getProducts()) {
+            rebuilt.put(product.getProductId(), Arrays.asList(product.getNameENG(), product.getNameGE(), product.getNameRUS()));
+            rebuiltTrie.put(product.getProductId(), Arrays.asList(product.getNameENG(), product.getNameGE(), product.getNameRUS(), product.getItemCode()));
+        }
+        index = rebuilt;
+        trie = rebuiltTrie;
+        ready = true;
+        log.info("Search index built for {} products", rebuilt.size());
+    }
+
+    @EventListener
+    public void onSnapshotPatched(final CatalogSnapshotPatchedEvent event) {
+        final ProductResponse product = event.getProduct();
+        if (product == null) {
+            index.remove(event.getProductId());
+            trie.remove(event.getProductId());
+        } else {
+            index.put(product.getProductId(), Arrays.asList(product.getNameENG(), product.getNameGE(), product.getNameRUS()));
+            trie.put(product.getProductId(), Arrays.asList(product.getNameENG(), product.getNameGE(), product.getNameRUS(), product.getItemCode()));
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public List<Long> search(final String query, final int limit) {
+        checkLimit(limit);
+        log.info("Searching products for '{}'", query);
+        return index.search(query, limit);
+    }
+
+    @Override
+    public Set<Long> findMatchingIds(final String query) {
+        return index.matchAll(query);
+    }
+
+    @Override
+    public List<AutocompleteSuggestion> autocomplete(final String prefix, final int limit) {
+        checkLimit(limit);
+        return trie.complete(prefix, limit);
+    }
+
+    private static void checkLimit(final int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidPageRequestException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+    }
+}
@@ -1,45 +1,77 @@
 package ge.evstore.ev_store.service.impl;
 
-import ge.evstore.ev_store.converter.JsonListConverter;
-import ge.evstore.ev_store.entity.MaxPriceEasySaver;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ge.evstore.ev_store.annotation.Coalesced;
+import ge.evstore.ev_store.annotation.PrefetchNextPage;
+import ge.evstore.ev_store.cache.ListingCountCache;
+import ge.evstore.ev_store.catalog.CatalogSnapshot;
+import ge.evstore.ev_store.catalog.ProductCursor;
+import ge.evstore.ev_store.catalog.ProductFilter;
+import ge.evstore.ev_store.catalog.ProductSortKey;
+import ge.evstore.ev_store.config.CacheConfig;
 import ge.evstore.ev_store.entity.Product;
+import ge.evstore.ev_store.exception.InvalidPageRequestException;
 import ge.evstore.ev_store.exception.ProductNotFoundException;
-import ge.evstore.ev_store.repository.MaxPriceSaverRepository;
+import ge.evstore.ev_store.repository.ProductJdbcRepository;
+import ge.evstore.ev_store.repository.ProductJsonRowWriter;
 import ge.evstore.ev_store.repository.ProductRepository;
+import ge.evstore.ev_store.repository.ProductSpecifications;
+import ge.evstore.ev_store.response.AutocompleteSuggestion;
 import ge.evstore.ev_store.response.MaxPriceResponse;
+import ge.evstore.ev_store.response.PriceStatisticsResponse;
 import ge.evstore.ev_store.response.ProductResponse;
+import ge.evstore.ev_store.response.ProductScrollResponse;
+import ge.evstore.ev_store.service.interf.CatalogIndexService;
 import ge.evstore.ev_store.service.interf.CategoryService;
+import ge.evstore.ev_store.service.interf.PriceStatisticsService;
+import ge.evstore.ev_store.service.interf.ProductPopularityService;
+import ge.evstore.ev_store.service.interf.ProductSearchService;
 import ge.evstore.ev_store.service.interf.ProductService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static ge.evstore.ev_store.utils.ScrollUtils.scrollPositionOf;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ProductServiceImpl implements ProductService {
     private final ProductRepository productRepository;
-    private final MaxPriceSaverRepository maxPriceSaverRepository;
+    private final PriceStatisticsService priceStatisticsService;
     private final CategoryService categoryService;
-    private final JsonListConverter jsonListConverter;
+    private final CatalogIndexService catalogIndexService;
+    private final ProductSearchService productSearchService;
+    private final ListingCountCache listingCountCache;
+    private final ProductJdbcRepository productJdbcRepository;
+    private final ObjectMapper objectMapper;
+    private final ProductPopularityService productPopularityService;
 
     @Override
+    @Cacheable(CacheConfig.PRODUCT_BY_ID)
+    @Coalesced
     public ProductResponse getProductResponseById(final Long productId) {
         final Optional<Product> product = productRepository.findById(productId);
         log.info("Getting product {}", productId);
         if (product.isEmpty()) {
             throw new ProductNotFoundException("Product not found with ID: " + productId);
         }
-        final List<Long> imageIds = jsonListConverter.convertToEntityAttribute(product.get().getImageIds());
-        final ProductResponse from = ProductResponse.from(product.get(), imageIds);
+        final ProductResponse from = ProductResponse.from(product.get());
         from.setCategoryId(product.get().getCategory().getId());
         return from;
     }
@@ -52,99 +84,180 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
+    @Coalesced
     public MaxPriceResponse getOverAllMaxPrice() {
-        final List<MaxPriceEasySaver> all = maxPriceSaverRepository.findAll();
-        if (all.isEmpty()) {
-            return new MaxPriceResponse(0.0);
-        }
-        final Double maxPrice = all.get(0).getMaxPrice();
-        return new MaxPriceResponse(Math.ceil(maxPrice));
+        return toMaxPriceResponse(priceStatisticsService.getStatistics(null));
+    }
+
+    @Override
+    public MaxPriceResponse getMaxPriceByCategory(final Long categoryId) {
+        return toMaxPriceResponse(priceStatisticsService.getStatistics(categoryId));
+    }
+
+    private static MaxPriceResponse toMaxPriceResponse(final PriceStatisticsResponse statistics) {
+        return new MaxPriceResponse(statistics.getMax() == null ? 0.0 : Math.ceil(statistics.getMax()));
+    }
+
+    @Override
+    public List<Long> searchProductIds(final String query, final int limit) {
+        return productSearchService.search(query, limit);
+    }
+
+    @Override
+    public List<AutocompleteSuggestion> autocomplete(final String prefix, final int limit) {
+        return productSearchService.autocomplete(prefix, limit);
     }
 
     @Override
+    @Cacheable(CacheConfig.PRODUCTS_BY_IDS)
     public List<ProductResponse> getProductsByIds(final List<Long> productIds) {
         final List<Product> allById = productRepository.findAllById(productIds);
-        return allById.stream().map(product -> {
-            final List<Long> imageIds = jsonListConverter.convertToEntityAttribute(product.getImageIds());
-            return ProductResponse.from(product, imageIds);
-        }).toList();
+        return allById.stream().map(ProductResponse::from).toList();
     }
 
     @Override
-    public Page<ProductResponse> getAllProducts(final int page, final int size, final String sortBy, final String direction, final String name, final String categoryId, final Double minPrice, final Double maxPrice, final Boolean inStock, final Boolean isPopular, final Long productId,
-                                                final String itemCode, final Boolean comingSoon) {
+    @Cacheable(cacheNames = CacheConfig.PRODUCT_LISTINGS, keyGenerator = "productListingKeyGenerator")
+    @Coalesced(keyGenerator = "productListingKeyGenerator")
+    @PrefetchNextPage(keyGenerator = "productListingKeyGenerator")
+    public Slice<ProductResponse> getAllProducts(final int page, final int size, final String sortBy, final String direction, final String name, final String categoryId, final Double minPrice, final Double maxPrice, final Boolean inStock, final Boolean isPopular, final Long productId,
+                                                 final String itemCode, final Boolean comingSoon, final boolean withTotal) {
         log.info("getAllProducts called with: page={}, size={}, sortBy:{}, direction: {}, name: {}, caregoryId:{}, minPrice:{}, maxPrice:{}, inStock:{}, isPopular:{}", page, size, sortBy, direction, name, categoryId, minPrice, maxPrice, inStock, isPopular);
         final Sort sort = direction.equalsIgnoreCase("desc") ? Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
         final Pageable pageable = PageRequest.of(page, size, sort);
+        final ProductFilter filter = ProductFilter.of(name, categoryId, minPrice, maxPrice, inStock, isPopular, productId, itemCode, comingSoon);
 
-        Specification<Product> spec = Specification.where(null);
-
-        if (name != null && !name.isBlank()) {
-            final String pattern = "%" + name.toLowerCase() + "%";
-            spec = spec.and((root, query, cb) -> cb.or(
-                    cb.like(cb.lower(root.get("nameENG")), pattern),
-                    cb.like(cb.lower(root.get("nameGE")), pattern),
-                    cb.like(cb.lower(root.get("nameRUS")), pattern)
-            ));
+        if (ProductPopularityService.SORT_PROPERTY.equals(sortBy)) {
+            return getPopularProducts(filter, pageable, withTotal);
         }
 
-        if (productId != null) {
-            spec = spec.and((root, query, cb) ->
-                    cb.equal(root.get("id"), productId));
+        if (catalogIndexService.canServe(filter, sortBy)) {
+            final Page<ProductResponse> indexed = catalogIndexService.findAll(filter, pageable);
+            return withTotal ? indexed : new SliceImpl<>(indexed.getContent(), pageable, indexed.hasNext());
         }
 
-        if (categoryId != null && !categoryId.isBlank()) {
-            final String categoryIdToJsonString = convertCategoryIdToJsonString(categoryId);
-            final List<Long> categoryIds = jsonListConverter.convertToEntityAttribute(categoryIdToJsonString);
-            final Set<Long> allDescendantIds = categoryIds.stream()
-                    .map(categoryService::getDescendantCategoryIds)
-                    .filter(Objects::nonNull)
-                    .flatMap(Set::stream)
-                    .collect(Collectors.toSet());
-            spec = spec.and((root, query, cb) ->
-                    root.get("category").get("id").in(allDescendantIds));
+        final Specification<Product> spec = ProductSpecifications.matching(filter, resolveCategoryIds(filter), resolveNameMatches(filter));
+        // fetch one extra row for the has-next flag instead of running a count query per page
+        final Window<Product> window = productRepository.findBy(spec, query -> query.sortBy(sort)
+                .limit(size)
+                .scroll(scrollPositionOf(pageable)));
+        final List<ProductResponse> productResponses = window.stream().map(ProductResponse::from).toList();
+        if (!withTotal) {
+            return new SliceImpl<>(productResponses, pageable, window.hasNext());
         }
+        final long total = listingCountCache.countProducts(filter, () -> productRepository.count(spec));
+        return new PageImpl<>(productResponses, pageable, total);
+    }
 
-        if (minPrice != null) {
-            spec = spec.and((root, query, cb) ->
-                    cb.ge(root.get("price"), minPrice));
+    // always most popular first, only products within the precomputed ranking are listed
+    private Slice<ProductResponse> getPopularProducts(final ProductFilter filter, final Pageable pageable, final boolean withTotal) {
+        final List<Long> ranked = productPopularityService.getPopularProductIds(filter.hasCategoryFilter() ? filter.getCategoryIds() : null);
+        final Optional<CatalogSnapshot> snapshot = catalogIndexService.getSnapshot();
+        final List<ProductResponse> products;
+        final Function<Long, Set<Long>> descendantCategoryIds;
+        if (snapshot.isPresent()) {
+            products = ranked.stream().map(snapshot.get()::findById).flatMap(Optional::stream).toList();
+            descendantCategoryIds = snapshot.get()::getDescendantCategoryIds;
+        } else {
+            final Map<Long, ProductResponse> byId = productRepository.findAllById(ranked).stream()
+                    .collect(Collectors.toMap(Product::getId, ProductResponse::from));
+            products = ranked.stream().map(byId::get).filter(Objects::nonNull).toList();
+            final Map<Long, Set<Long>> descendants = new HashMap<>();
+            descendantCategoryIds = id -> descendants.computeIfAbsent(id, categoryService::getDescendantCategoryIds);
         }
+        final Set<Long> nameMatches = resolveNameMatches(filter);
+        final List<ProductResponse> matching = products.stream()
+                .filter(product -> filter.mayMatch(product, descendantCategoryIds))
+                .filter(product -> filter.getName() == null || matchesName(product, filter.getName(), nameMatches))
+                .toList();
+        final int from = (int) Math.min(pageable.getOffset(), matching.size());
+        final int to = Math.min(from + pageable.getPageSize(), matching.size());
+        final List<ProductResponse> content = matching.subList(from, to);
+        return withTotal ? new PageImpl<>(content, pageable, matching.size()) : new SliceImpl<>(content, pageable, to < matching.size());
+    }
 
-        if (maxPrice != null) {
-            spec = spec.and((root, query, cb) ->
-                    cb.le(root.get("price"), maxPrice));
+    private static boolean matchesName(final ProductResponse product, final String name, final Set<Long> nameMatches) {
+        if (nameMatches != null) {
+            return nameMatches.contains(product.getProductId());
         }
+        final String needle = name.toLowerCase();
+        return Stream.of(product.getNameGE(), product.getNameENG(), product.getNameRUS())
+                .anyMatch(value -> value != null && value.toLowerCase().contains(needle));
+    }
 
-        if (itemCode != null && !itemCode.isBlank()) {
-            spec = spec.and((root, query, cb) ->
-                    cb.equal(root.get("itemCode"), itemCode));
+    @Override
+    public ProductScrollResponse scrollProducts(final ProductFilter filter, final int size, final String sortBy, final String direction, final String after) {
+        log.info("scrollProducts called with: size={}, sortBy:{}, direction: {}, filter: {}", size, sortBy, direction, filter);
+        if (size < 1) {
+            throw new InvalidPageRequestException("Page size must be positive");
         }
+        final ProductSortKey sortKey = ProductSortKey.fromProperty(sortBy);
+        final boolean descending = direction.equalsIgnoreCase("desc");
+        final Sort.Direction sortDirection = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+        final Sort sort = sortKey == ProductSortKey.ID
+                ? Sort.by(sortDirection, "id")
+                : Sort.by(sortDirection, sortKey.getProperty(), "id");
 
-        if (inStock != null && inStock) {
-            spec = spec.and((root, query, cb) ->
-                    cb.greaterThan(root.get("stockAmount"), 0));
-        }
-        if (isPopular != null && isPopular) {
-            spec = spec.and((root, query, cb) ->
-                    cb.equal(root.get("isPopular"), true));
+        Specification<Product> spec = ProductSpecifications.matching(filter, resolveCategoryIds(filter), resolveNameMatches(filter));
+        if (after != null && !after.isBlank()) {
+            spec = spec.and(ProductSpecifications.after(ProductCursor.decode(after, sortKey), descending));
         }
+        // one extra row tells whether there is a next page without running a count query
+        final List<Product> rows = productRepository.findBy(spec, query -> query.sortBy(sort).limit(size + 1).all());
+        final boolean hasNext = rows.size() > size;
+        final List<Product> content = hasNext ? rows.subList(0, size) : rows;
+        final List<ProductResponse> productResponses = content.stream().map(ProductResponse::from).toList();
+        final String nextCursor = hasNext ? cursorOf(content.get(content.size() - 1), sortKey).encode() : null;
+        return new ProductScrollResponse(productResponses, nextCursor, hasNext);
+    }
 
-        if (comingSoon != null && comingSoon) {
-            spec = spec.and((root, query, cb) ->
-                    cb.equal(root.get("comingSoon"), true));
+    @Override
+    public StreamingResponseBody streamProducts(final ProductFilter filter, final int page, final int size, final String sortBy, final String direction) {
+        log.info("streamProducts called with: page={}, size={}, sortBy:{}, direction: {}, filter: {}", page, size, sortBy, direction, filter);
+        if (size < 1 || page < 0) {
+            throw new InvalidPageRequestException("Page must not be negative and size must be positive");
         }
+        final ProductSortKey sortKey = ProductSortKey.fromProperty(sortBy);
+        final boolean descending = direction.equalsIgnoreCase("desc");
+        // resolved up front so that invalid categories fail the request before the response is committed
+        final Set<Long> categoryIds = resolveCategoryIds(filter);
+        final Set<Long> nameMatches = resolveNameMatches(filter);
+        return outputStream -> {
+            try (JsonGenerator gen = objectMapper.getFactory().createGenerator(outputStream)) {
+                gen.writeStartObject();
+                gen.writeArrayFieldStart("content");
+                final ProductJsonRowWriter rowWriter = new ProductJsonRowWriter(gen, size);
+                productJdbcRepository.queryListing(filter, categoryIds, nameMatches, sortKey, descending, (long) page * size, size + 1, rowWriter);
+                gen.writeEndArray();
+                gen.writeBooleanField("hasNext", rowWriter.hasNext());
+                gen.writeEndObject();
+            }
+        };
+    }
 
-        final Page<Product> all = productRepository.findAll(spec, pageable);
-        final List<Product> content = all.getContent();
-        final List<ProductResponse> productResponses = content.stream().map(product -> {
-            final List<Long> imageIds = jsonListConverter.convertToEntityAttribute(product.getImageIds());
-            return ProductResponse.from(product, imageIds);
-        }).toList();
-        return new PageImpl<>(productResponses, all.getPageable(), all.getTotalElements());
+    private static ProductCursor cursorOf(final Product product, final ProductSortKey sortKey) {
+        final Comparable<?> value = switch (sortKey) {
+            case PRICE -> product.getPrice();
+            case ID -> product.getId();
+            case NAME_GE -> product.getNameGE();
+            case NAME_ENG -> product.getNameENG();
+            case NAME_RUS -> product.getNameRUS();
+        };
+        return new ProductCursor(sortKey, value, product.getId());
+    }
+
+    private Set<Long> resolveNameMatches(final ProductFilter filter) {
+        if (filter.getName() == null || !productSearchService.isReady()) {
+            return null;
+        }
+        return productSearchService.findMatchingIds(filter.getName());
     }
 
-    private String convertCategoryIdToJsonString(final String categoryId) {
-        return "[" + categoryId + "]";
+    private Set<Long> resolveCategoryIds(final ProductFilter filter) {
+        return filter.getCategoryIds().stream()
+                .map(categoryService::getDescendantCategoryIds)
+                .filter(Objects::nonNull)
+                .flatMap(Set::stream)
+                .collect(Collectors.toSet());
     }
 
 }
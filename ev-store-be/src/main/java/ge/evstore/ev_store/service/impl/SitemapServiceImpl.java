@@ -0,0 +1,223 @@
+package ge.evstore.ev_store.service.impl;
+
+import ge.evstore.ev_store.catalog.SitemapFiles;
+import ge.evstore.ev_store.entity.CatalogChange;
+import ge.evstore.ev_store.repository.CatalogChangeRepository;
+import ge.evstore.ev_store.repository.CategoryRepository;
+import ge.evstore.ev_store.repository.ProductRepository;
+import ge.evstore.ev_store.service.interf.SitemapService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+/**
+ * Generates the sitemap served at {@code /sitemap.xml}: an index of one URL set for the categories and one per
+ * range of {@code shard-size} product ids. Each run reads the catalog change log from the sequence of the previous
+ * run, which is kept next to the files, and rewrites just the shards of the changed products. The log does not tell
+ * creates from updates, so any write rewrites the shard of its product, which costs one id range query per shard and
+ * run. Reading the change log instead of listening to catalog events also picks up writes made on other instances.
+ * <p>
+ * Page URLs start with {@code sitemap.site-url}, the storefront, while the sitemap files themselves are linked from
+ * the index under {@code sitemap.url}, the backend that serves them.
+ */
+@Service
+@Slf4j
+public class SitemapServiceImpl implements SitemapService {
+    static final String INDEX_FILE = "sitemap.xml";
+    static final String CATEGORIES_FILE = "sitemap-categories.xml";
+    static final String PRODUCT_FILE_PREFIX = "sitemap-products-";
+    private static final String SEQUENCE_FILE = "sitemap.sequence";
+    private static final int CHANGE_BATCH_SIZE = 1000;
+    // storefront routes of the web client
+    private static final String PRODUCT_PATH = "/product/";
+    private static final String CATEGORY_PATH = "/catalog?categories=";
+
+    private final CatalogChangeRepository catalogChangeRepository;
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final Path directory;
+    private final String siteUrl;
+    private final String sitemapUrl;
+    private final int shardSize;
+
+    // null until the first run, which continues from the stored sequence or regenerates everything
+    private Long sequence;
+    private List<Long> categoryIds = List.of();
+
+    public SitemapServiceImpl(final CatalogChangeRepository catalogChangeRepository, final ProductRepository productRepository, final CategoryRepository categoryRepository,
+                              @Value("${sitemap.directory}") final String directory, @Value("${sitemap.site-url}") final String siteUrl,
+                              @Value("${sitemap.url}") final String sitemapUrl, @Value("${sitemap.shard-size:10000}") final int shardSize) {
+        if (shardSize < 1 || shardSize > SitemapFiles.MAX_URLS) {
+            throw new IllegalArgumentException("sitemap.shard-size must be between 1 and " + SitemapFiles.MAX_URLS);
+        }
+        this.catalogChangeRepository = catalogChangeRepository;
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.directory = Path.of(directory);
+        this.siteUrl = stripTrailingSlash(siteUrl);
+        this.sitemapUrl = stripTrailingSlash(sitemapUrl);
+        this.shardSize = shardSize;
+    }
+
+    @Scheduled(fixedDelayString = "${sitemap.interval-ms:600000}", initialDelayString = "${sitemap.initial-delay-ms:60000}")
+    public void scheduledRefresh() {
+        try {
+            refresh();
+        } catch (final RuntimeException e) {
+            // the previous files stay in place and the next run retries from the same sequence
+            log.error("Failed to refresh sitemap", e);
+        }
+    }
+
+    @Override
+    public synchronized void refresh() {
+        try {
+            final long latest = catalogChangeRepository.findLatestSequence().orElse(0L);
+            final Long since = sequence != null ? sequence : readSequence();
+            final boolean changed;
+            final long reached;
+            // a stored sequence ahead of the database belongs to another database
+            if (since == null || since > latest) {
+                writeAllProductShards();
+                reached = latest;
+                changed = true;
+            } else {
+                final Set<Long> shards = new TreeSet<>();
+                reached = collectChangedShards(since, shards);
+                for (final Long shard : shards) {
+                    writeProductShard(shard, productRepository.findIdsBetween(shard * shardSize, (shard + 1) * shardSize - 1));
+                }
+                changed = !shards.isEmpty();
+                if (changed) {
+                    log.info("Regenerated {} sitemap product shards", shards.size());
+                }
+            }
+            final boolean categoriesChanged = writeCategories();
+            if (changed || categoriesChanged || !Files.exists(directory.resolve(INDEX_FILE))) {
+                writeIndex();
+            }
+            writeSequence(reached);
+            sequence = reached;
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // product ids whose shard must be rewritten, up to the returned sequence
+    private long collectChangedShards(final long since, final Set<Long> shards) {
+        long reached = since;
+        List<CatalogChange> changes;
+        do {
+            changes = catalogChangeRepository.findByIdGreaterThanOrderByIdAsc(reached, Limit.of(CHANGE_BATCH_SIZE));
+            for (final CatalogChange change : changes) {
+                shards.add(change.getProductId() / shardSize);
+                reached = change.getId();
+            }
+        } while (changes.size() == CHANGE_BATCH_SIZE);
+        return reached;
+    }
+
+    private void writeAllProductShards() throws IOException {
+        final Map<Long, List<Long>> byShard = new TreeMap<>();
+        for (final Long id : productRepository.findAllIds()) {
+            byShard.computeIfAbsent(id / shardSize, shard -> new ArrayList<>()).add(id);
+        }
+        for (final Path stale : productShardFiles()) {
+            if (!byShard.containsKey(shardOf(stale))) {
+                SitemapFiles.delete(stale);
+            }
+        }
+        for (final Map.Entry<Long, List<Long>> shard : byShard.entrySet()) {
+            writeProductShard(shard.getKey(), shard.getValue());
+        }
+        log.info("Generated sitemap for {} product shards", byShard.size());
+    }
+
+    private void writeProductShard(final long shard, final List<Long> productIds) throws IOException {
+        final Path path = directory.resolve(PRODUCT_FILE_PREFIX + shard + ".xml");
+        if (productIds.isEmpty()) {
+            SitemapFiles.delete(path);
+            return;
+        }
+        SitemapFiles.writeUrlSet(path, productIds.stream().map(id -> siteUrl + PRODUCT_PATH + id).toList());
+    }
+
+    // category creation and deletion are not in the change log, but all category ids are a single cheap query
+    private boolean writeCategories() throws IOException {
+        final List<Long> current = categoryRepository.findAllIds();
+        final Path path = directory.resolve(CATEGORIES_FILE);
+        if (current.equals(categoryIds) && Files.exists(path)) {
+            return false;
+        }
+        SitemapFiles.writeUrlSet(path, current.stream().map(id -> siteUrl + CATEGORY_PATH + id).toList());
+        categoryIds = current;
+        return true;
+    }
+
+    private void writeIndex() throws IOException {
+        final List<Path> files = new ArrayList<>();
+        files.add(directory.resolve(CATEGORIES_FILE));
+        files.addAll(productShardFiles());
+        final List<SitemapFiles.Entry> entries = new ArrayList<>();
+        for (final Path file : files) {
+            entries.add(new SitemapFiles.Entry(sitemapUrl + "/" + file.getFileName(), Files.getLastModifiedTime(file).toInstant()));
+        }
+        SitemapFiles.writeIndex(directory.resolve(INDEX_FILE), entries);
+    }
+
+    private List<Path> productShardFiles() throws IOException {
+        final List<Path> files = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return files;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, PRODUCT_FILE_PREFIX + "*.xml")) {
+            stream.forEach(files::add);
+        }
+        files.sort(Comparator.comparingLong(SitemapServiceImpl::shardOf));
+        return files;
+    }
+
+    private static long shardOf(final Path file) {
+        final String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(PRODUCT_FILE_PREFIX.length(), name.length() - ".xml".length()));
+    }
+
+    private Long readSequence() throws IOException {
+        final Path path = directory.resolve(SEQUENCE_FILE);
+        if (!Files.exists(path) || !Files.exists(directory.resolve(INDEX_FILE))) {
+            return null;
+        }
+        try {
+            return Long.parseLong(Files.readString(path, StandardCharsets.UTF_8).trim());
+        } catch (final NumberFormatException e) {
+            log.warn("Ignoring malformed sitemap sequence file {}", path);
+            return null;
+        }
+    }
+
+    private void writeSequence(final long reached) throws IOException {
+        Files.createDirectories(directory);
+        final Path temp = Files.createTempFile(directory, SEQUENCE_FILE, ".tmp");
+        try {
+            Files.writeString(temp, Long.toString(reached), StandardCharsets.UTF_8);
+            Files.move(temp, directory.resolve(SEQUENCE_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static String stripTrailingSlash(final String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+}
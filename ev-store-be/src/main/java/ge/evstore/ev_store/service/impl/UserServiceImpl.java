@@ -2,6 +2,7 @@ package ge.evstore.ev_store.service.impl;
 
 import ge.evstore.ev_store.annotation.UserTokenAspectMarker;
 import ge.evstore.ev_store.entity.*;
+import ge.evstore.ev_store.event.OrderChangedEvent;
 import ge.evstore.ev_store.exception.UserAlreadyRegisteredException;
 import ge.evstore.ev_store.repository.OrderRepository;
 import ge.evstore.ev_store.repository.ParametersConfigEntityRepository;
@@ -18,6 +19,7 @@ import ge.evstore.ev_store.service.interf.ProductService;
 import ge.evstore.ev_store.service.interf.UserService;
 import ge.evstore.ev_store.utils.JwtUtils;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -40,15 +42,18 @@ public class UserServiceImpl implements UserService {
     private final ProductService productService;
     private final OrderRepository orderRepository;
     private final int verifyCodeExpirationDuration;
+    private final ApplicationEventPublisher eventPublisher;
 
 
-    public UserServiceImpl(final UserRepository userRepository, final PasswordEncoder passwordEncoder, final JwtUtils jwtUtils, final ProductService productService, final OrderRepository orderRepository, final ParametersConfigEntityRepository configEntityRepository) {
+    public UserServiceImpl(final UserRepository userRepository, final PasswordEncoder passwordEncoder, final JwtUtils jwtUtils, final ProductService productService, final OrderRepository orderRepository, final ParametersConfigEntityRepository configEntityRepository,
+                           final ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtUtils = jwtUtils;
         this.productService = productService;
         this.orderRepository = orderRepository;
         this.verifyCodeExpirationDuration = configEntityRepository.findById(3L).get().getVerificationCodeLifeSpanMinutes();
+        this.eventPublisher = eventPublisher;
     }
 
     public Optional<User> findUser(final String username) {
@@ -181,6 +186,7 @@ public class UserServiceImpl implements UserService {
             final OrderItem orderItem = new OrderItem();
             orderItem.setQuantity(item.getQuantity());
             final Product productById = productService.getProductById(item.getProductId());
+            orderItem.setProductId(productById.getId());
             orderItem.setProductNameGE(productById.getNameGE());
             orderItem.setProductNameENG(productById.getNameENG());
             orderItem.setProductNameRUS(productById.getNameRUS());
@@ -196,6 +202,7 @@ public class UserServiceImpl implements UserService {
         order.setItems(orderItems);
         order.setUser(user);
         orderRepository.save(order);
+        eventPublisher.publishEvent(OrderChangedEvent.placed(order));
         return order;
     }
 
@@ -235,6 +242,7 @@ public class UserServiceImpl implements UserService {
             final OrderItem orderItem = new OrderItem();
             orderItem.setQuantity(item.getQuantity());
             final Product productById = productService.getProductById(item.getProductId());
+            orderItem.setProductId(productById.getId());
             orderItem.setProductNameGE(productById.getNameGE());
             orderItem.setProductNameENG(productById.getNameENG());
             orderItem.setProductNameRUS(productById.getNameRUS());
@@ -248,6 +256,7 @@ public class UserServiceImpl implements UserService {
         order.setTotalPrice(totalOrderPrice);
         order.setItems(orderItems);
         orderRepository.save(order);
+        eventPublisher.publishEvent(OrderChangedEvent.placed(order));
     }
 
 }
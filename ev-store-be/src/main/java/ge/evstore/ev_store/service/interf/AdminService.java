@@ -1,13 +1,16 @@
 package ge.evstore.ev_store.service.interf;
 
+import ge.evstore.ev_store.catalog.ExportFormat;
 import ge.evstore.ev_store.entity.Category;
 import ge.evstore.ev_store.entity.OrderStatus;
 import ge.evstore.ev_store.entity.Product;
 import ge.evstore.ev_store.request.ProductRequest;
 import ge.evstore.ev_store.response.ImageSaveResponse;
+import ge.evstore.ev_store.response.ListingQueryStatsResponse;
 import ge.evstore.ev_store.response.OrderHistoryResponse;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
 import java.nio.file.AccessDeniedException;
@@ -37,5 +40,9 @@ public interface AdminService {
 
     OrderHistoryResponse updateOrderStatus(OrderStatus orderStatus, Long orderId, String accessToken);
 
-    Page<OrderHistoryResponse> getAllOrders(int page, int size, Long id, OrderStatus orderStatus, String accessToken);
+    StreamingResponseBody exportProducts(ExportFormat format, String accessToken);
+
+    Slice<OrderHistoryResponse> getAllOrders(int page, int size, Long id, OrderStatus orderStatus, boolean withTotal, String accessToken);
+
+    List<ListingQueryStatsResponse> getTopListingQueries(int limit, String accessToken);
 }
@@ -0,0 +1,10 @@
+package ge.evstore.ev_store.service.interf;
+
+import ge.evstore.ev_store.response.CatalogChangesResponse;
+
+public interface CatalogChangeService {
+    /**
+     * Returns the products changed after the given sequence, or only the current sequence when it is null.
+     */
+    CatalogChangesResponse getChanges(Long since, int limit);
+}
@@ -0,0 +1,26 @@
+package ge.evstore.ev_store.service.interf;
+
+import ge.evstore.ev_store.catalog.CatalogSnapshot;
+import ge.evstore.ev_store.catalog.ProductFilter;
+import ge.evstore.ev_store.response.ProductResponse;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Optional;
+
+public interface CatalogIndexService {
+    void reload();
+
+    void catchUp();
+
+    /**
+     * Returns the sequence of the last catalog change log entry reflected in what this instance serves.
+     */
+    long getAppliedSequence();
+
+    boolean canServe(ProductFilter filter, String sortBy);
+
+    Page<ProductResponse> findAll(ProductFilter filter, Pageable pageable);
+
+    Optional<CatalogSnapshot> getSnapshot();
+}
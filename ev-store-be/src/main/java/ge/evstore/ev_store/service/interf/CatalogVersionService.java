@@ -0,0 +1,7 @@
+package ge.evstore.ev_store.service.interf;
+
+import ge.evstore.ev_store.catalog.CatalogVersion;
+
+public interface CatalogVersionService {
+    CatalogVersion current();
+}
@@ -0,0 +1,12 @@
+package ge.evstore.ev_store.service.interf;
+
+import ge.evstore.ev_store.response.ProductResponse;
+
+import java.util.List;
+
+public interface FrequentlyBoughtTogetherService {
+    /**
+     * Returns the products most often ordered together with the given ones, such as a product page or a cart.
+     */
+    List<ProductResponse> getFrequentlyBoughtTogether(List<Long> productIds, int limit);
+}
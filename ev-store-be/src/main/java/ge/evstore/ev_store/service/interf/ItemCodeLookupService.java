@@ -0,0 +1,13 @@
+package ge.evstore.ev_store.service.interf;
+
+import ge.evstore.ev_store.response.ProductResponse;
+
+import java.util.List;
+
+public interface ItemCodeLookupService {
+    /**
+     * Returns the products with exactly the given item codes, grouped in the order of the codes and by id within
+     * a code. Unknown codes contribute nothing.
+     */
+    List<ProductResponse> findByItemCodes(List<String> itemCodes);
+}
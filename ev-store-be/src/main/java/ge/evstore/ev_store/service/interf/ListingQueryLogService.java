@@ -0,0 +1,18 @@
+package ge.evstore.ev_store.service.interf;
+
+import ge.evstore.ev_store.catalog.ListingQuery;
+import ge.evstore.ev_store.response.ListingQueryStatsResponse;
+
+import java.util.List;
+
+public interface ListingQueryLogService {
+    /**
+     * Captures a served listing request without blocking; requests are dropped while the buffer is full.
+     */
+    void record(ListingQuery query);
+
+    /**
+     * Returns the most frequent listing requests of the aggregation window, most frequent first.
+     */
+    List<ListingQueryStatsResponse> getTopQueries(int limit);
+}
@@ -0,0 +1,10 @@
+package ge.evstore.ev_store.service.interf;
+
+import ge.evstore.ev_store.response.PriceStatisticsResponse;
+
+public interface PriceStatisticsService {
+    /**
+     * Returns the price statistics of all products, or of the products in the category and its descendants.
+     */
+    PriceStatisticsResponse getStatistics(Long categoryId);
+}
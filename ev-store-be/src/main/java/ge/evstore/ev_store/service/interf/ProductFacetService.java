@@ -0,0 +1,8 @@
+package ge.evstore.ev_store.service.interf;
+
+import ge.evstore.ev_store.catalog.ProductFilter;
+import ge.evstore.ev_store.response.ProductFacetsResponse;
+
+public interface ProductFacetService {
+    ProductFacetsResponse getFacets(ProductFilter filter, int priceBuckets);
+}
@@ -0,0 +1,18 @@
+package ge.evstore.ev_store.service.interf;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ProductPopularityService {
+    // sortBy value of product listings ordered by the popularity ranking
+    String SORT_PROPERTY = "popularity";
+
+    void recordView(Long productId);
+
+    /**
+     * Returns the ids of the most popular products, most popular first.
+     *
+     * @param categoryIds categories whose subtrees are ranked, or null for the whole catalog
+     */
+    List<Long> getPopularProductIds(Collection<Long> categoryIds);
+}
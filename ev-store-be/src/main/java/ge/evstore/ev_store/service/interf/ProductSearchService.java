@@ -0,0 +1,16 @@
+package ge.evstore.ev_store.service.interf;
+
+import ge.evstore.ev_store.response.AutocompleteSuggestion;
+
+import java.util.List;
+import java.util.Set;
+
+public interface ProductSearchService {
+    boolean isReady();
+
+    List<Long> search(String query, int limit);
+
+    Set<Long> findMatchingIds(String query);
+
+    List<AutocompleteSuggestion> autocomplete(String prefix, int limit);
+}
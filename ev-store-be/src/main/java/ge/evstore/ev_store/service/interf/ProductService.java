@@ -1,9 +1,13 @@
 package ge.evstore.ev_store.service.interf;
 
+import ge.evstore.ev_store.catalog.ProductFilter;
 import ge.evstore.ev_store.entity.Product;
+import ge.evstore.ev_store.response.AutocompleteSuggestion;
 import ge.evstore.ev_store.response.MaxPriceResponse;
 import ge.evstore.ev_store.response.ProductResponse;
-import org.springframework.data.domain.Page;
+import ge.evstore.ev_store.response.ProductScrollResponse;
+import org.springframework.data.domain.Slice;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -14,7 +18,17 @@ public interface ProductService {
 
     MaxPriceResponse getOverAllMaxPrice();
 
+    MaxPriceResponse getMaxPriceByCategory(Long categoryId);
+
+    List<Long> searchProductIds(String query, int limit);
+
+    List<AutocompleteSuggestion> autocomplete(String prefix, int limit);
+
     List<ProductResponse> getProductsByIds(List<Long> productIds);
 
-    Page<ProductResponse> getAllProducts(int page, int size, String sortBy, String direction, String name, String categoryId, Double minPrice, Double maxPrice, Boolean inStock, Boolean isPopular, Long productId, String itemCode, Boolean comingSoon);
+    Slice<ProductResponse> getAllProducts(int page, int size, String sortBy, String direction, String name, String categoryId, Double minPrice, Double maxPrice, Boolean inStock, Boolean isPopular, Long productId, String itemCode, Boolean comingSoon, boolean withTotal);
+
+    StreamingResponseBody streamProducts(ProductFilter filter, int page, int size, String sortBy, String direction);
+
+    ProductScrollResponse scrollProducts(ProductFilter filter, int size, String sortBy, String direction, String after);
 }
@@ -0,0 +1,9 @@
+package ge.evstore.ev_store.service.interf;
+
+public interface SitemapService {
+    /**
+     * Rewrites the sitemap files affected by catalog changes since the previous run, or all of them when there is
+     * no previous run to continue from.
+     */
+    void refresh();
+}
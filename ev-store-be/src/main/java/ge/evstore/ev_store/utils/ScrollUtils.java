@@ -0,0 +1,18 @@
+package ge.evstore.ev_store.utils;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+
+public class ScrollUtils {
+
+    private ScrollUtils() {
+    }
+
+    /**
+     * Offset scroll position starting at the first row of the given page. Spring Data resumes offset scrolling
+     * after the position, hence the minus one.
+     */
+    public static ScrollPosition scrollPositionOf(final Pageable pageable) {
+        return pageable.getOffset() == 0 ? ScrollPosition.offset() : ScrollPosition.offset(pageable.getOffset() - 1);
+    }
+}
@@ -0,0 +1,54 @@
+package ge.evstore.ev_store.utils;
+
+import java.text.Normalizer;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Folds Georgian, Cyrillic and accented Latin text into plain lower-case Latin, so "კაბელი", "кабель" and
+ * "kabel" can be matched against each other by search.
+ */
+public class TransliterationUtils {
+    private static final Map<Character, String> FOLDING = new HashMap<>();
+
+    static {
+        // Georgian (national romanization)
+        put("აa ბb გg დd ეe ვv ზz თt იi კk ლl მm ნn ოo პp რr სs ტt უu ფp ქk ყq ჯj ჰh");
+        put("ჟzh ღgh შsh ჩch ცts ძdz წts ჭch ხkh");
+        // Russian Cyrillic
+        put("аa бb вv гg дd еe зz иi кk лl мm нn оo пp рr сs тt уu фf ыy эe");
+        put("жzh хkh цts чch шsh щshch юyu яya");
+        FOLDING.put('ъ', "");
+        FOLDING.put('ь', "");
+    }
+
+    private TransliterationUtils() {
+    }
+
+    public static String fold(final String text) {
+        if (text == null) {
+            return "";
+        }
+        final String decomposed = Normalizer.normalize(text.toLowerCase(), Normalizer.Form.NFD);
+        final StringBuilder sb = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            final char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            final String folded = FOLDING.get(c);
+            if (folded != null) {
+                sb.append(folded);
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static void put(final String pairs) {
+        for (final String pair : pairs.split(" ")) {
+            FOLDING.put(pair.charAt(0), pair.substring(1));
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package ge.evstore.ev_store.aspect;
+
+import ge.evstore.ev_store.annotation.Coalesced;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CoalescingAspectTest {
+
+    private AnnotationConfigApplicationContext context;
+
+    @BeforeEach
+    void setUp() {
+        context = new AnnotationConfigApplicationContext(TestConfig.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+    }
+
+    @Test
+    void coalesce_ShouldBindAnnotation_WhenAdvisedTogetherWithCacheThroughProxy() {
+        // Arrange
+        final CountingService service = context.getBean(CountingService.class);
+
+        // Act
+        final int first = service.load("a");
+        final int second = service.load("a");
+
+        // Assert
+        assertEquals(1, first);
+        assertEquals(1, second);
+        assertEquals(1, service.calls());
+    }
+
+    @Configuration
+    @EnableAspectJAutoProxy(proxyTargetClass = true)
+    @EnableCaching
+    static class TestConfig {
+        @Bean
+        CoalescingAspect coalescingAspect(final BeanFactory beanFactory) {
+            return new CoalescingAspect(beanFactory);
+        }
+
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager("counts");
+        }
+
+        @Bean
+        CountingService countingService() {
+            return new CountingService();
+        }
+    }
+
+    static class CountingService {
+        private final AtomicInteger calls = new AtomicInteger();
+
+        public int calls() {
+            return calls.get();
+        }
+
+        @Cacheable("counts")
+        @Coalesced
+        public int load(final String key) {
+            return calls.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package ge.evstore.ev_store.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ge.evstore.ev_store.config.JacksonConfig;
+import ge.evstore.ev_store.event.CatalogChangedEvent;
+import ge.evstore.ev_store.response.ProductResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingProductSerializerTest {
+
+    private ProductJsonCache cache;
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ProductJsonCache();
+        objectMapper = new ObjectMapper().registerModule(new JacksonConfig().productJsonCacheModule(cache));
+    }
+
+    @Test
+    void serialize_ShouldReuseFragment_WhileVersionIsUnchanged() throws Exception {
+        // Arrange
+        final ProductResponse product = product(1L, 3L, "Cable");
+        objectMapper.writeValueAsString(product);
+        product.setNameENG("Changed without a version bump");
+
+        // Act
+        final String json = objectMapper.writeValueAsString(List.of(product));
+
+        // Assert
+        assertEquals(1, cache.size());
+        assertTrue(json.contains("\"Cable\""));
+        assertFalse(json.contains("version"));
+    }
+
+    @Test
+    void serialize_ShouldProduceSameJsonAsPlainSerializer() throws Exception {
+        // Arrange
+        final ProductResponse product = product(1L, 3L, "Cable");
+        final String plain = new ObjectMapper().writeValueAsString(Map.of("items", List.of(product)));
+
+        // Act
+        objectMapper.writeValueAsString(product);
+        final String cached = objectMapper.writeValueAsString(Map.of("items", List.of(product)));
+
+        // Assert
+        assertEquals(plain, cached);
+    }
+
+    @Test
+    void serialize_ShouldRefresh_WhenVersionChangesOrCategoryChanges() throws Exception {
+        // Arrange
+        objectMapper.writeValueAsString(product(1L, 3L, "Cable"));
+
+        // Act
+        final String bumped = objectMapper.writeValueAsString(product(1L, 4L, "Charger"));
+        cache.onCatalogChanged(CatalogChangedEvent.categoryChanged(5L));
+
+        // Assert
+        assertTrue(bumped.contains("\"Charger\""));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void serialize_ShouldNotServeOldCategoryName_WhenStaleResponseIsWrittenAfterCategoryChange() throws Exception {
+        // Arrange
+        final ProductResponse beforeRename = product(1L, 3L, "Cable");
+        beforeRename.setCategoryName("Cables");
+        final ProductResponse afterRename = product(1L, 3L, "Cable");
+        afterRename.setCategoryName("Charging cables");
+        cache.onCatalogChanged(CatalogChangedEvent.categoryChanged(5L));
+        objectMapper.writeValueAsString(beforeRename);
+
+        // Act
+        final String json = objectMapper.writeValueAsString(afterRename);
+
+        // Assert
+        assertTrue(json.contains("\"Charging cables\""));
+        assertEquals(json, objectMapper.writeValueAsString(afterRename));
+    }
+
+    private static ProductResponse product(final Long id, final Long version, final String name) {
+        return ProductResponse.builder()
+                .productId(id)
+                .version(version)
+                .nameENG(name)
+                .price(10.0)
+                .imageIds(List.of(1L, 2L))
+                .build();
+    }
+}
@@ -0,0 +1,109 @@
+package ge.evstore.ev_store.cache;
+
+import ge.evstore.ev_store.catalog.CatalogSnapshot;
+import ge.evstore.ev_store.catalog.ProductFilter;
+import ge.evstore.ev_store.config.CacheConfig;
+import ge.evstore.ev_store.entity.Category;
+import ge.evstore.ev_store.entity.Product;
+import ge.evstore.ev_store.event.CatalogChangedEvent;
+import ge.evstore.ev_store.response.ProductResponse;
+import ge.evstore.ev_store.service.interf.CatalogIndexService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CatalogCacheInvalidatorTest {
+
+    @Mock
+    private CatalogIndexService catalogIndexService;
+    @Mock
+    private ListingPrefetcher listingPrefetcher;
+
+    private CaffeineCacheManager cacheManager;
+    private CatalogCacheInvalidator invalidator;
+
+    private final ProductListingKey cheap = listingKey(ProductFilter.of(null, null, null, 100.0, null, null, null, null, null));
+    private final ProductListingKey expensive = listingKey(ProductFilter.of(null, null, 500.0, null, null, null, null, null, null));
+    private final ProductListingKey otherCategory = listingKey(ProductFilter.of(null, "2", null, null, null, null, null, null, null));
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        cacheManager = new CaffeineCacheManager(CacheConfig.PRODUCT_LISTINGS, CacheConfig.PRODUCT_BY_ID, CacheConfig.PRODUCTS_BY_IDS);
+        invalidator = new CatalogCacheInvalidator(cacheManager, catalogIndexService, listingPrefetcher);
+        final Map<Long, Long> parents = new HashMap<>();
+        parents.put(1L, null);
+        parents.put(2L, null);
+        final CatalogSnapshot snapshot = CatalogSnapshot.of(List.of(
+                ProductResponse.builder().productId(10L).price(50.0).categoryId(1L).build()), parents);
+        when(catalogIndexService.getSnapshot()).thenReturn(Optional.of(snapshot));
+
+        final Cache listings = cacheManager.getCache(CacheConfig.PRODUCT_LISTINGS);
+        listings.put(cheap, "page");
+        listings.put(expensive, "page");
+        listings.put(otherCategory, "page");
+        cacheManager.getCache(CacheConfig.PRODUCT_BY_ID).put(10L, "product");
+        cacheManager.getCache(CacheConfig.PRODUCT_BY_ID).put(11L, "product");
+        cacheManager.getCache(CacheConfig.PRODUCTS_BY_IDS).put(List.of(10L, 11L), "products");
+        cacheManager.getCache(CacheConfig.PRODUCTS_BY_IDS).put(List.of(11L), "products");
+    }
+
+    @Test
+    void evict_ShouldDropOnlyEntriesMatchingOldOrNewProductState() {
+        // Arrange
+        final Category category = new Category();
+        category.setId(1L);
+        final Product updated = Product.builder().id(10L).price(600.0).category(category).build();
+        final CatalogChangedEvent event = CatalogChangedEvent.productSaved(updated);
+
+        // Act
+        invalidator.capturePreviousState(event);
+        invalidator.evict(event);
+
+        // Assert
+        final Cache listings = cacheManager.getCache(CacheConfig.PRODUCT_LISTINGS);
+        assertNull(listings.get(cheap));
+        assertNull(listings.get(expensive));
+        assertNotNull(listings.get(otherCategory));
+        assertNull(cacheManager.getCache(CacheConfig.PRODUCT_BY_ID).get(10L));
+        assertNotNull(cacheManager.getCache(CacheConfig.PRODUCT_BY_ID).get(11L));
+        assertNull(cacheManager.getCache(CacheConfig.PRODUCTS_BY_IDS).get(List.of(10L, 11L)));
+        assertNotNull(cacheManager.getCache(CacheConfig.PRODUCTS_BY_IDS).get(List.of(11L)));
+        final ArgumentCaptor<Predicate<Object>> forgotten = ArgumentCaptor.captor();
+        verify(listingPrefetcher).forget(forgotten.capture());
+        assertTrue(forgotten.getValue().test(cheap));
+        assertFalse(forgotten.getValue().test(otherCategory));
+    }
+
+    @Test
+    void evict_ShouldClearEverything_WhenCategoryChanges() {
+        // Arrange
+        final CatalogChangedEvent event = CatalogChangedEvent.categoryChanged(2L);
+
+        // Act
+        invalidator.capturePreviousState(event);
+        invalidator.evict(event);
+
+        // Assert
+        assertNull(cacheManager.getCache(CacheConfig.PRODUCT_LISTINGS).get(otherCategory));
+        assertNull(cacheManager.getCache(CacheConfig.PRODUCT_BY_ID).get(11L));
+    }
+
+    private static ProductListingKey listingKey(final ProductFilter filter) {
+        return new ProductListingKey(filter, 0, 10, "price", false, true);
+    }
+}
@@ -0,0 +1,71 @@
+package ge.evstore.ev_store.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CountStoreTest {
+
+    @Test
+    void getOrCount_ShouldCountOncePerKey() {
+        // Arrange
+        final CountStore<String> store = new CountStore<>(100);
+        final AtomicInteger calls = new AtomicInteger();
+
+        // Act
+        store.getOrCount("a", () -> calls.incrementAndGet() * 10L);
+        final long second = store.getOrCount("a", () -> calls.incrementAndGet() * 10L);
+
+        // Assert
+        assertEquals(10L, second);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void invalidateIf_ShouldDropOnlyAffectedKeys() {
+        // Arrange
+        final CountStore<String> store = new CountStore<>(100);
+        store.getOrCount("keep", () -> 1L);
+        store.getOrCount("drop", () -> 2L);
+
+        // Act
+        store.invalidateIf(key -> key.equals("drop"));
+
+        // Assert
+        assertEquals(1L, store.size());
+        assertEquals(1L, store.getOrCount("keep", () -> 99L));
+        assertEquals(99L, store.getOrCount("drop", () -> 99L));
+    }
+
+    @Test
+    void getOrCount_ShouldNotStoreCount_WhenInvalidatedWhileCounting() {
+        // Arrange
+        final CountStore<String> store = new CountStore<>(100);
+
+        // Act
+        store.getOrCount("a", () -> {
+            store.invalidateAll();
+            return 5L;
+        });
+
+        // Assert
+        assertEquals(0L, store.size());
+    }
+
+    @Test
+    void getOrCount_ShouldKeepAtMostMaximumSize_WhenManyFiltersAreCounted() {
+        // Arrange
+        final CountStore<String> store = new CountStore<>(10);
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            store.getOrCount("name-" + i, () -> 1L);
+        }
+
+        // Assert
+        assertTrue(store.size() <= 10);
+    }
+}
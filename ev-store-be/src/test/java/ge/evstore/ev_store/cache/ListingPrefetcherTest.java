@@ -0,0 +1,141 @@
+package ge.evstore.ev_store.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ListingPrefetcherTest {
+
+    private MeterRegistry meterRegistry;
+    private ListingPrefetcher prefetcher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        prefetcher = new ListingPrefetcher(meterRegistry, true, 1, 1, 1, Duration.ofMinutes(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        prefetcher.destroy();
+    }
+
+    @Test
+    void prefetch_ShouldLoadOnPrefetchThreadAndCountHit_WhenKeyIsRequestedLater() throws Throwable {
+        // Arrange
+        final CountDownLatch loaded = new CountDownLatch(1);
+        final AtomicBoolean onPrefetchThread = new AtomicBoolean();
+
+        // Act
+        prefetcher.prefetch("page-1", () -> {
+            onPrefetchThread.set(prefetcher.isPrefetching());
+            loaded.countDown();
+            return null;
+        });
+        assertTrue(loaded.await(5, TimeUnit.SECONDS));
+        prefetcher.serve("page-1", () -> "served");
+        prefetcher.serve("page-1", () -> "served");
+
+        // Assert
+        assertTrue(onPrefetchThread.get());
+        assertFalse(prefetcher.isPrefetching());
+        assertEquals(1, meterRegistry.counter("catalog.listing.prefetch", "outcome", "submitted").count());
+        assertEquals(1, meterRegistry.counter("catalog.listing.prefetch.hits").count());
+        assertEquals(1.0, meterRegistry.get("catalog.listing.prefetch.hit.ratio").gauge().value());
+    }
+
+    @Test
+    void prefetch_ShouldSkip_WhenTooManyRequestsAreInFlight() throws Throwable {
+        // Arrange
+        final AtomicBoolean loaded = new AtomicBoolean();
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Thread other = new Thread(() -> {
+            try {
+                prefetcher.serve("other", () -> {
+                    entered.countDown();
+                    return release.await(5, TimeUnit.SECONDS);
+                });
+            } catch (final Throwable ignored) {
+            }
+        });
+        other.start();
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        // Act
+        prefetcher.serve("page-0", () -> {
+            prefetcher.prefetch("page-1", () -> loaded.getAndSet(true));
+            return null;
+        });
+        release.countDown();
+        other.join();
+
+        // Assert
+        assertEquals(1, meterRegistry.counter("catalog.listing.prefetch", "outcome", "busy").count());
+        assertEquals(0, meterRegistry.counter("catalog.listing.prefetch", "outcome", "submitted").count());
+        assertFalse(loaded.get());
+    }
+
+    @Test
+    void prefetch_ShouldSkip_WhenQueueIsFull() throws Exception {
+        // Arrange
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        prefetcher.prefetch("page-1", () -> {
+            started.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        prefetcher.prefetch("page-2", () -> null);
+
+        // Act
+        prefetcher.prefetch("page-3", () -> null);
+        release.countDown();
+
+        // Assert
+        assertEquals(2, meterRegistry.counter("catalog.listing.prefetch", "outcome", "submitted").count());
+        assertEquals(1, meterRegistry.counter("catalog.listing.prefetch", "outcome", "queue_full").count());
+    }
+
+    @Test
+    void forget_ShouldCountUnusedAndNoHit_WhenPrefetchedKeyWasEvicted() throws Throwable {
+        // Arrange
+        final CountDownLatch loaded = new CountDownLatch(1);
+        prefetcher.prefetch("page-1", () -> {
+            loaded.countDown();
+            return null;
+        });
+        assertTrue(loaded.await(5, TimeUnit.SECONDS));
+
+        // Act
+        prefetcher.forget("page-1"::equals);
+        prefetcher.serve("page-1", () -> "served");
+
+        // Assert
+        assertEquals(0, meterRegistry.counter("catalog.listing.prefetch.hits").count());
+        assertEquals(1, meterRegistry.counter("catalog.listing.prefetch.unused").count());
+        assertEquals(0.0, meterRegistry.get("catalog.listing.prefetch.hit.ratio").gauge().value());
+    }
+
+    @Test
+    void prefetch_ShouldDoNothing_WhenDisabled() {
+        // Arrange
+        prefetcher.destroy();
+        prefetcher = new ListingPrefetcher(meterRegistry, false, 1, 1, 1, Duration.ofMinutes(10));
+
+        // Act
+        prefetcher.prefetch("page-1", () -> fail("prefetch must not run"));
+
+        // Assert
+        assertEquals(0, meterRegistry.counter("catalog.listing.prefetch", "outcome", "submitted").count());
+    }
+}
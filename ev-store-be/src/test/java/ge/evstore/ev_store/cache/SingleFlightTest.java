@@ -0,0 +1,77 @@
+package ge.evstore.ev_store.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    @Test
+    void execute_ShouldShareOneExecution_WhenCallsOverlap() throws Exception {
+        // Arrange
+        final SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+        final AtomicInteger executions = new AtomicInteger();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // Act
+        final List<Future<Integer>> results = new ArrayList<>();
+        results.add(executor.submit(() -> call(singleFlight, () -> {
+            started.countDown();
+            release.await();
+            return executions.incrementAndGet();
+        })));
+        started.await();
+        final CountDownLatch followersStarted = new CountDownLatch(3);
+        for (int i = 0; i < 3; i++) {
+            results.add(executor.submit(() -> {
+                followersStarted.countDown();
+                return call(singleFlight, executions::incrementAndGet);
+            }));
+        }
+        followersStarted.await();
+        // give the followers time to park on the leader's future
+        Thread.sleep(200);
+        release.countDown();
+
+        // Assert
+        for (final Future<Integer> result : results) {
+            assertEquals(1, result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, executions.get());
+        assertEquals(0, singleFlight.inFlightCount());
+        executor.shutdown();
+    }
+
+    @Test
+    void execute_ShouldRethrowAndForgetKey_WhenCallFails() {
+        // Arrange
+        final SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> singleFlight.execute("key", () -> {
+            throw new IllegalStateException("boom");
+        }));
+        assertEquals(0, singleFlight.inFlightCount());
+    }
+
+    private static Integer call(final SingleFlight<String, Integer> singleFlight, final SingleFlight.Call<Integer> call) throws Exception {
+        try {
+            return singleFlight.execute("key", call);
+        } catch (final Exception e) {
+            throw e;
+        } catch (final Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package ge.evstore.ev_store.catalog;
+
+import ge.evstore.ev_store.response.ProductResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogSnapshotFileTest {
+
+    @TempDir
+    private Path dir;
+
+    @Test
+    void read_ShouldReturnWrittenCatalog() throws IOException {
+        // Arrange
+        final Map<Long, Long> parents = new HashMap<>();
+        parents.put(1L, null);
+        parents.put(2L, 1L);
+        final ProductResponse full = ProductResponse.builder()
+                .productId(7L)
+                .nameGE("დამტენი")
+                .nameENG("Charger")
+                .nameRUS("Зарядка")
+                .descriptionENG("22 kW")
+                .price(1299.5)
+                .itemCode("WC-7")
+                .stockAmount(3)
+                .categoryName("Chargers")
+                .categoryId(2L)
+                .mainImageId(70L)
+                .imageIds(List.of(70L, 71L))
+                .isPopular(true)
+                .comingSoon(false)
+                .version(4L)
+                .build();
+        final ProductResponse sparse = ProductResponse.builder().productId(8L).categoryId(1L).imageIds(List.of()).build();
+        final Path file = dir.resolve("catalog.snapshot");
+
+        // Act
+        CatalogSnapshotFile.write(file, 42L, CatalogSnapshot.of(List.of(full, sparse), parents));
+        final CatalogSnapshotFile.Contents contents = CatalogSnapshotFile.read(file);
+
+        // Assert
+        assertEquals(42L, contents.getSequence());
+        assertEquals(parents, contents.getParentByCategory());
+        assertEquals(List.of(full, sparse), contents.getProducts());
+    }
+
+    @Test
+    void read_ShouldFail_WhenFileIsCorrupt() throws IOException {
+        // Arrange
+        final Path file = dir.resolve("catalog.snapshot");
+        CatalogSnapshotFile.write(file, 1L, CatalogSnapshot.of(List.of(ProductResponse.builder().productId(1L).nameENG("Cable").build()), Map.of()));
+        final byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 2] ^= 1;
+        Files.write(file, bytes);
+
+        // Act & Assert
+        assertThrows(IOException.class, () -> CatalogSnapshotFile.read(file));
+    }
+
+    @Test
+    void read_ShouldFail_WhenFileIsTruncated() throws IOException {
+        // Arrange
+        final Path file = dir.resolve("catalog.snapshot");
+        Files.write(file, new byte[]{1, 2, 3});
+
+        // Act & Assert
+        assertThrows(IOException.class, () -> CatalogSnapshotFile.read(file));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {-1, Integer.MAX_VALUE})
+    void read_ShouldFail_WhenImageCountDoesNotFitFile(final int imageCount) throws IOException {
+        // Arrange
+        final long imageId = 0x0102030405060708L;
+        final Path file = dir.resolve("catalog.snapshot");
+        CatalogSnapshotFile.write(file, 1L, CatalogSnapshot.of(List.of(ProductResponse.builder().productId(1L).imageIds(List.of(imageId)).build()), Map.of()));
+        final ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(file));
+        int countOffset = 0;
+        while (bytes.getInt(countOffset) != 1 || bytes.getLong(countOffset + Integer.BYTES) != imageId) {
+            countOffset++;
+        }
+        bytes.putInt(countOffset, imageCount);
+        final CRC32 crc = new CRC32();
+        crc.update(bytes.array(), 0, bytes.limit() - Long.BYTES);
+        bytes.putLong(bytes.limit() - Long.BYTES, crc.getValue());
+        Files.write(file, bytes.array());
+
+        // Act & Assert
+        assertThrows(IOException.class, () -> CatalogSnapshotFile.read(file));
+    }
+}
@@ -0,0 +1,182 @@
+package ge.evstore.ev_store.catalog;
+
+import ge.evstore.ev_store.response.ProductResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogSnapshotTest {
+
+    private CatalogSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        // 1 -> 2 -> 3, 4 is a separate root
+        final Map<Long, Long> parents = new HashMap<>();
+        parents.put(1L, null);
+        parents.put(2L, 1L);
+        parents.put(3L, 2L);
+        parents.put(4L, null);
+        snapshot = CatalogSnapshot.of(List.of(
+                product(10L, "Type 2 cable", 120.0, 5, 2L, true),
+                product(11L, "Wall charger", 900.0, 0, 3L, false),
+                product(12L, "Adapter", 45.5, 3, 4L, false),
+                product(13L, "Portable charger", 450.0, 1, 1L, true)
+        ), parents);
+    }
+
+    @Test
+    void findAll_ShouldSortByPriceAndPaginate() {
+        // Act
+        final Page<ProductResponse> page = snapshot.findAll(ProductFilter.builder().build(), null, PageRequest.of(1, 2, Sort.by("price").ascending()));
+
+        // Assert
+        assertEquals(4, page.getTotalElements());
+        assertEquals(List.of(13L, 11L), ids(page.getContent()));
+    }
+
+    @Test
+    void findAll_ShouldSortDescending() {
+        // Act
+        final Page<ProductResponse> page = snapshot.findAll(ProductFilter.builder().build(), null, PageRequest.of(0, 3, Sort.by("price").descending()));
+
+        // Assert
+        assertEquals(List.of(11L, 13L, 10L), ids(page.getContent()));
+    }
+
+    @Test
+    void findAll_ShouldIncludeDescendantCategories() {
+        // Arrange
+        final ProductFilter filter = ProductFilter.of(null, "2", null, null, null, null, null, null, null);
+
+        // Act
+        final Page<ProductResponse> page = snapshot.findAll(filter, null, PageRequest.of(0, 10, Sort.by("id")));
+
+        // Assert
+        assertEquals(List.of(10L, 11L), ids(page.getContent()));
+    }
+
+    @Test
+    void findAll_ShouldCombineFlagPriceAndNameFilters() {
+        // Arrange
+        final ProductFilter filter = ProductFilter.of("CHARGER", null, 100.0, 500.0, true, true, null, null, null);
+
+        // Act
+        final Page<ProductResponse> page = snapshot.findAll(filter, null, PageRequest.of(0, 10, Sort.by("price")));
+
+        // Assert
+        assertEquals(1, page.getTotalElements());
+        assertEquals(List.of(13L), ids(page.getContent()));
+    }
+
+    @Test
+    void findAll_ShouldTreatPriceBoundsAsInclusive() {
+        // Arrange
+        final ProductFilter filter = ProductFilter.of(null, null, 45.5, 120.0, null, null, null, null, null);
+
+        // Act
+        final Page<ProductResponse> page = snapshot.findAll(filter, null, PageRequest.of(0, 10, Sort.by("price")));
+
+        // Assert
+        assertEquals(List.of(12L, 10L), ids(page.getContent()));
+    }
+
+    @Test
+    void withProductAndWithoutProduct_ShouldReturnUpdatedSnapshots() {
+        // Act
+        final CatalogSnapshot updated = snapshot.withProduct(product(11L, "Wall charger", 10.0, 2, 3L, false))
+                .withoutProduct(12L);
+
+        // Assert
+        assertEquals(4, snapshot.size());
+        assertEquals(3, updated.size());
+        assertEquals(10.0, updated.findById(11L).orElseThrow().getPrice());
+        assertTrue(updated.findById(12L).isEmpty());
+    }
+
+    @Test
+    void withProductAndWithoutProduct_ShouldAnswerLikeARebuiltSnapshot_WhenPatchedRepeatedly() {
+        // Arrange
+        final Random random = new Random(42);
+        final Map<Long, Long> parents = new HashMap<>();
+        parents.put(1L, null);
+        parents.put(2L, 1L);
+        parents.put(3L, 2L);
+        final Map<Long, ProductResponse> expected = new LinkedHashMap<>();
+        CatalogSnapshot patched = CatalogSnapshot.of(List.of(), parents);
+
+        for (int write = 0; write < 500; write++) {
+            // Act
+            final long id = random.nextInt(40);
+            if (random.nextInt(4) == 0) {
+                expected.remove(id);
+                patched = patched.withoutProduct(id);
+            } else {
+                final ProductResponse product = product(id, "name " + random.nextInt(10), random.nextInt(5) == 0 ? null : (double) random.nextInt(20),
+                        random.nextInt(3), (long) random.nextInt(4), random.nextBoolean());
+                expected.put(id, product);
+                patched = patched.withProduct(product);
+            }
+
+            // Assert
+            final CatalogSnapshot rebuilt = CatalogSnapshot.of(expected.values(), parents);
+            assertEquals(rebuilt.size(), patched.size());
+            for (final String sortBy : List.of("id", "price", "nameENG", "nameGE")) {
+                for (final ProductFilter filter : List.of(ProductFilter.builder().build(),
+                        ProductFilter.of(null, "2", 5.0, 15.0, true, null, null, null, null),
+                        ProductFilter.of(null, "1", null, null, null, true, null, null, null))) {
+                    final PageRequest page = PageRequest.of(0, 100, Sort.by(Sort.Direction.DESC, sortBy));
+                    assertEquals(ids(rebuilt.findAll(filter, null, page).getContent()), ids(patched.findAll(filter, null, page).getContent()));
+                }
+            }
+        }
+    }
+
+    @Test
+    void findById_ShouldReturnCopy_WhenCallerModifiesRow() {
+        // Arrange
+        final ProductResponse written = product(20L, "Socket", 30.0, 1, 4L, false);
+        final CatalogSnapshot updated = snapshot.withProduct(written);
+        written.setPrice(1.0);
+
+        // Act
+        updated.findById(20L).orElseThrow().setPrice(2.0);
+
+        // Assert
+        assertEquals(30.0, updated.findById(20L).orElseThrow().getPrice());
+    }
+
+    @Test
+    void getDescendantCategoryIds_ShouldWalkWholeSubtree() {
+        // Act & Assert
+        assertEquals(Set.of(1L, 2L, 3L), snapshot.getDescendantCategoryIds(1L));
+        assertTrue(snapshot.containsCategories(List.of(3L, 4L)));
+        assertFalse(snapshot.containsCategories(List.of(99L)));
+    }
+
+    private static ProductResponse product(final Long id, final String name, final Double price, final Integer stock, final Long categoryId, final Boolean popular) {
+        return ProductResponse.builder()
+                .productId(id)
+                .nameENG(name)
+                .price(price)
+                .stockAmount(stock)
+                .categoryId(categoryId)
+                .isPopular(popular)
+                .build();
+    }
+
+    private static List<Long> ids(final List<ProductResponse> products) {
+        return products.stream().map(ProductResponse::getProductId).toList();
+    }
+}
@@ -0,0 +1,33 @@
+package ge.evstore.ev_store.catalog;
+
+import ge.evstore.ev_store.catalog.CoOccurrenceIndex.Neighbour;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoOccurrenceIndexTest {
+
+    private final CoOccurrenceIndex index = CoOccurrenceIndex.of(Map.of(
+            1L, List.of(new Neighbour(2L, 9), new Neighbour(3L, 4), new Neighbour(4L, 1)),
+            2L, List.of(new Neighbour(1L, 9), new Neighbour(4L, 5)),
+            3L, List.of(new Neighbour(1L, 4))));
+
+    @Test
+    void neighbours_ShouldReturnStoredOrder_ForSingleProduct() {
+        // Act & Assert
+        assertEquals(List.of(2L, 3L), index.neighbours(List.of(1L), 2));
+        assertTrue(index.neighbours(List.of(99L), 5).isEmpty());
+    }
+
+    @Test
+    void neighbours_ShouldAddUpCounts_AndSkipGivenProducts_ForCart() {
+        // Act
+        final List<Long> neighbours = index.neighbours(List.of(1L, 2L), 5);
+
+        // Assert
+        assertEquals(List.of(4L, 3L), neighbours);
+    }
+}
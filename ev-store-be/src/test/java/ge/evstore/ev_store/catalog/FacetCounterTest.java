@@ -0,0 +1,76 @@
+package ge.evstore.ev_store.catalog;
+
+import ge.evstore.ev_store.response.ProductFacetsResponse;
+import ge.evstore.ev_store.response.ProductResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FacetCounterTest {
+
+    @Test
+    void count_ShouldRollCategoryCountsUpToAncestors() {
+        // Arrange
+        final Map<Long, Long> parents = new HashMap<>();
+        parents.put(1L, null);
+        parents.put(2L, 1L);
+        parents.put(3L, 2L);
+        parents.put(4L, null);
+        final List<ProductResponse> products = List.of(
+                product(3L, 10.0, 1, true),
+                product(2L, 20.0, 0, false),
+                product(4L, 30.0, 5, false));
+
+        // Act
+        final ProductFacetsResponse facets = FacetCounter.count(products, parents, 2);
+
+        // Assert
+        assertEquals(3, facets.getTotal());
+        assertEquals(Map.of(1L, 2L, 2L, 2L, 3L, 1L, 4L, 1L), facets.getCategoryCounts());
+        assertEquals(2, facets.getInStock());
+        assertEquals(1, facets.getPopular());
+    }
+
+    @Test
+    void count_ShouldSplitPriceRangeIntoBuckets() {
+        // Arrange
+        final List<ProductResponse> products = List.of(
+                product(1L, 0.0, 1, false),
+                product(1L, 49.0, 1, false),
+                product(1L, 50.0, 1, false),
+                product(1L, 100.0, 1, false),
+                product(1L, null, 1, false));
+
+        // Act
+        final List<ProductFacetsResponse.PriceBucket> histogram = FacetCounter.count(products, Map.of(), 2).getPriceHistogram();
+
+        // Assert
+        assertEquals(2, histogram.size());
+        assertEquals(new ProductFacetsResponse.PriceBucket(0.0, 50.0, 2), histogram.get(0));
+        assertEquals(new ProductFacetsResponse.PriceBucket(50.0, 100.0, 2), histogram.get(1));
+    }
+
+    @Test
+    void count_ShouldReturnEmptyHistogram_WhenNothingMatches() {
+        // Act
+        final ProductFacetsResponse facets = FacetCounter.count(List.of(), Map.of(), 10);
+
+        // Assert
+        assertEquals(0, facets.getTotal());
+        assertTrue(facets.getPriceHistogram().isEmpty());
+    }
+
+    private static ProductResponse product(final Long categoryId, final Double price, final Integer stock, final Boolean popular) {
+        return ProductResponse.builder()
+                .categoryId(categoryId)
+                .price(price)
+                .stockAmount(stock)
+                .isPopular(popular)
+                .build();
+    }
+}
@@ -0,0 +1,67 @@
+package ge.evstore.ev_store.catalog;
+
+import ge.evstore.ev_store.response.ProductResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemCodeIndexTest {
+
+    @Test
+    void get_ShouldReturnAllProductsOfCodeOrderedById() {
+        // Arrange
+        final ItemCodeIndex index = ItemCodeIndex.of(List.of(product(3L, "EV-1"), product(1L, "EV-1"), product(2L, "EV-2")));
+
+        // Act
+        final List<ProductResponse> products = index.get("EV-1");
+
+        // Assert
+        assertEquals(List.of(1L, 3L), products.stream().map(ProductResponse::getProductId).toList());
+        assertTrue(index.get("ev-1").isEmpty());
+    }
+
+    @Test
+    void put_ShouldMoveProductToNewCode_WhenItemCodeChanges() {
+        // Arrange
+        final ItemCodeIndex index = ItemCodeIndex.of(List.of(product(1L, "EV-1")));
+
+        // Act
+        index.put(product(1L, "EV-9"));
+
+        // Assert
+        assertTrue(index.get("EV-1").isEmpty());
+        assertEquals(1L, index.get("EV-9").get(0).getProductId());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void remove_ShouldKeepOtherProductsOfCode() {
+        // Arrange
+        final ItemCodeIndex index = ItemCodeIndex.of(List.of(product(1L, "EV-1"), product(2L, "EV-1")));
+
+        // Act
+        index.remove(1L);
+        index.remove(5L);
+
+        // Assert
+        assertEquals(List.of(2L), index.get("EV-1").stream().map(ProductResponse::getProductId).toList());
+    }
+
+    @Test
+    void put_ShouldNotIndexProduct_WhenItemCodeIsMissing() {
+        // Arrange
+        final ItemCodeIndex index = ItemCodeIndex.of(List.of(product(1L, "EV-1")));
+
+        // Act
+        index.put(product(1L, null));
+
+        // Assert
+        assertEquals(0, index.size());
+    }
+
+    private static ProductResponse product(final Long id, final String itemCode) {
+        return ProductResponse.builder().productId(id).itemCode(itemCode).build();
+    }
+}
@@ -0,0 +1,70 @@
+package ge.evstore.ev_store.catalog;
+
+import ge.evstore.ev_store.catalog.PopularityRanking.RankedProduct;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PopularityRankingTest {
+
+    private static final List<RankedProduct> PRODUCTS = List.of(
+            new RankedProduct(1L, 10L, 5),
+            new RankedProduct(2L, 10L, 50),
+            new RankedProduct(3L, 20L, 30),
+            new RankedProduct(4L, 20L, 40),
+            new RankedProduct(5L, 30L, 45));
+
+    @Test
+    void top_ShouldListMostPopularFirst_LimitedToRankingSize() {
+        // Arrange
+        final PopularityRanking ranking = PopularityRanking.of(PRODUCTS, 3);
+
+        // Act & Assert
+        assertEquals(List.of(2L, 5L, 4L), ranking.top(null));
+        assertEquals(List.of(2L, 1L), ranking.top(Set.of(10L)));
+    }
+
+    @Test
+    void top_ShouldMergeCategoryLists_WhenSubtreeHasSeveralCategories() {
+        // Arrange
+        final PopularityRanking ranking = PopularityRanking.of(PRODUCTS, 2);
+
+        // Act & Assert
+        assertEquals(List.of(2L, 4L), ranking.top(Set.of(10L, 20L)));
+        assertTrue(ranking.top(Set.of(99L)).isEmpty());
+    }
+
+    @Test
+    void hasSameOrderAs_ShouldIgnoreScoreChanges_ThatKeepTheOrder() {
+        // Arrange
+        final PopularityRanking ranking = PopularityRanking.of(PRODUCTS, 3);
+        final PopularityRanking higherScores = PopularityRanking.of(PRODUCTS.stream()
+                .map(product -> new RankedProduct(product.getProductId(), product.getCategoryId(), product.getScore() * 2))
+                .toList(), 3);
+        final PopularityRanking reordered = PopularityRanking.of(List.of(
+                new RankedProduct(1L, 10L, 500), PRODUCTS.get(1), PRODUCTS.get(2), PRODUCTS.get(3), PRODUCTS.get(4)), 3);
+
+        // Act & Assert
+        assertTrue(ranking.hasSameOrderAs(higherScores));
+        assertFalse(ranking.hasSameOrderAs(reordered));
+        assertFalse(ranking.hasSameOrderAs(PopularityRanking.empty(3)));
+    }
+
+    @Test
+    void fingerprint_ShouldOnlyDependOnOrder() {
+        // Arrange
+        final PopularityRanking ranking = PopularityRanking.of(PRODUCTS, 3);
+        final PopularityRanking higherScores = PopularityRanking.of(PRODUCTS.stream()
+                .map(product -> new RankedProduct(product.getProductId(), product.getCategoryId(), product.getScore() * 2))
+                .toList(), 3);
+        final PopularityRanking reordered = PopularityRanking.of(List.of(
+                new RankedProduct(1L, 10L, 500), PRODUCTS.get(1), PRODUCTS.get(2), PRODUCTS.get(3), PRODUCTS.get(4)), 3);
+
+        // Act & Assert
+        assertEquals(ranking.fingerprint(), higherScores.fingerprint());
+        assertNotEquals(ranking.fingerprint(), reordered.fingerprint());
+    }
+}
@@ -0,0 +1,92 @@
+package ge.evstore.ev_store.catalog;
+
+import ge.evstore.ev_store.response.AutocompleteSuggestion;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PrefixTrieTest {
+
+    @Test
+    void complete_ShouldMatchWordStartsAndPreferShorterCompletions() {
+        // Arrange
+        final PrefixTrie trie = new PrefixTrie();
+        trie.put(1L, List.of("Wall charger 22kW"));
+        trie.put(2L, List.of("Charger"));
+        trie.put(3L, List.of("Discharge cable"));
+
+        // Act
+        final List<AutocompleteSuggestion> suggestions = trie.complete("char", 10);
+
+        // Assert
+        assertEquals(List.of(2L, 1L), ids(suggestions));
+        assertEquals("Charger", suggestions.get(0).getText());
+    }
+
+    @Test
+    void complete_ShouldFoldScriptsAndMatchItemCodes() {
+        // Arrange
+        final PrefixTrie trie = new PrefixTrie();
+        trie.put(1L, Arrays.asList("Cable", "კაბელი", "Кабель", "EV-1001"));
+
+        // Act & Assert
+        assertEquals(List.of(1L), ids(trie.complete("კაბ", 5)));
+        assertEquals(List.of(1L), ids(trie.complete("каб", 5)));
+        assertEquals(List.of(1L), ids(trie.complete("ev-10", 5)));
+        assertEquals(1, trie.complete("kab", 5).size());
+    }
+
+    @Test
+    void putAndRemove_ShouldReplaceOldKeys() {
+        // Arrange
+        final PrefixTrie trie = new PrefixTrie();
+        trie.put(1L, List.of("Adapter"));
+        trie.put(2L, List.of("Adapter Type 2"));
+
+        // Act
+        trie.put(1L, List.of("Connector"));
+        trie.remove(2L);
+
+        // Assert
+        assertTrue(trie.complete("ada", 5).isEmpty());
+        assertEquals(List.of(1L), ids(trie.complete("conn", 5)));
+        assertEquals(1, trie.size());
+    }
+
+    @Test
+    void complete_ShouldStopAtLimit() {
+        // Arrange
+        final PrefixTrie trie = new PrefixTrie();
+        for (long id = 1; id <= 20; id++) {
+            trie.put(id, List.of("Plug " + id));
+        }
+
+        // Act & Assert
+        assertEquals(3, trie.complete("pl", 3).size());
+    }
+
+    @Test
+    void complete_ShouldCheckCandidates_WhenPrefixIsLongerThanKeys() {
+        // Arrange
+        final PrefixTrie trie = new PrefixTrie();
+        trie.put(1L, List.of("Portable charger with type 2 plug"));
+        trie.put(2L, List.of("Portable charger with type 1 plug"));
+        final String prefix = "portable charger with type 2";
+
+        // Act
+        final List<AutocompleteSuggestion> suggestions = trie.complete(prefix, 5);
+
+        // Assert
+        assertTrue(prefix.length() > PrefixTrie.MAX_KEY_LENGTH);
+        assertEquals(List.of(1L), ids(suggestions));
+        assertEquals(List.of(1L, 2L), ids(trie.complete("portable charger wit", 5)));
+    }
+
+    private static List<Long> ids(final List<AutocompleteSuggestion> suggestions) {
+        return suggestions.stream().map(AutocompleteSuggestion::getProductId).toList();
+    }
+}
@@ -0,0 +1,73 @@
+package ge.evstore.ev_store.catalog;
+
+import ge.evstore.ev_store.response.PriceStatisticsResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PriceStatisticsTest {
+
+    private PriceStatistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = new PriceStatistics();
+        for (long id = 1; id <= 10; id++) {
+            statistics.put(id, id <= 5 ? 1L : 2L, id * 10.0);
+        }
+    }
+
+    @Test
+    void summarize_ShouldComputeNearestRankPercentiles() {
+        // Act
+        final PriceStatisticsResponse response = statistics.summarize(null);
+
+        // Assert
+        assertEquals(10, response.getCount());
+        assertEquals(10.0, response.getMin());
+        assertEquals(100.0, response.getMax());
+        assertEquals(50.0, response.getMedian());
+        assertEquals(90.0, response.getP90());
+    }
+
+    @Test
+    void summarize_ShouldShrinkMax_WhenMostExpensiveProductIsDeletedOrRepriced() {
+        // Act
+        statistics.remove(10L);
+        statistics.put(9L, 2L, 15.0);
+
+        // Assert
+        final PriceStatisticsResponse response = statistics.summarize(null);
+        assertEquals(9, response.getCount());
+        assertEquals(80.0, response.getMax());
+        assertEquals(80.0, statistics.summarize(List.of(2L)).getMax());
+        assertEquals(15.0, statistics.summarize(List.of(2L)).getMin());
+    }
+
+    @Test
+    void summarize_ShouldMergeCategories_AndFollowMovedProducts() {
+        // Act
+        statistics.put(1L, 2L, 10.0);
+
+        // Assert
+        assertEquals(4, statistics.summarize(List.of(1L)).getCount());
+        assertEquals(20.0, statistics.summarize(List.of(1L)).getMin());
+        assertEquals(6, statistics.summarize(List.of(2L)).getCount());
+        assertEquals(10, statistics.summarize(List.of(1L, 2L)).getCount());
+    }
+
+    @Test
+    void summarize_ShouldReturnEmptyStatistics_WhenNothingIsPriced() {
+        // Act
+        statistics.put(1L, 3L, null);
+        final PriceStatisticsResponse response = statistics.summarize(List.of(3L));
+
+        // Assert
+        assertEquals(0, response.getCount());
+        assertNull(response.getMax());
+        assertEquals(9, statistics.size());
+    }
+}
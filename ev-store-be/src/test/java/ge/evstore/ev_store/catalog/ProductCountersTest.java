@@ -0,0 +1,73 @@
+package ge.evstore.ev_store.catalog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductCountersTest {
+
+    @Test
+    void drain_ShouldReturnCountsSinceLastDrain() {
+        // Arrange
+        final ProductCounters counters = new ProductCounters();
+        counters.recordView(1L);
+        counters.recordView(1L);
+        counters.recordOrder(2L, 3);
+
+        // Act
+        final List<ProductCounts> first = counters.drain();
+        final List<ProductCounts> second = counters.drain();
+
+        // Assert
+        assertTrue(first.contains(new ProductCounts(1L, 2, 0)));
+        assertTrue(first.contains(new ProductCounts(2L, 0, 3)));
+        assertEquals(2, first.size());
+        assertTrue(second.isEmpty());
+    }
+
+    @Test
+    void restore_ShouldAddCountsBackForTheNextDrain() {
+        // Arrange
+        final ProductCounters counters = new ProductCounters();
+        counters.recordView(1L);
+        final List<ProductCounts> failed = counters.drain();
+        counters.recordView(1L);
+
+        // Act
+        counters.restore(failed);
+
+        // Assert
+        assertEquals(List.of(new ProductCounts(1L, 2, 0)), counters.drain());
+    }
+
+    @Test
+    void recordView_ShouldNotLoseIncrements_WhenDrainedConcurrently() throws Exception {
+        // Arrange
+        final ProductCounters counters = new ProductCounters();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        long drained = 0;
+
+        // Act
+        for (int thread = 0; thread < 4; thread++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    counters.recordView(7L);
+                }
+            });
+        }
+        while (!executor.isTerminated()) {
+            drained += counters.drain().stream().mapToLong(ProductCounts::getViews).sum();
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MILLISECONDS);
+        }
+        drained += counters.drain().stream().mapToLong(ProductCounts::getViews).sum();
+
+        // Assert
+        assertEquals(40_000, drained);
+    }
+}
@@ -0,0 +1,42 @@
+package ge.evstore.ev_store.catalog;
+
+import ge.evstore.ev_store.exception.InvalidPageRequestException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductCursorTest {
+
+    @Test
+    void decode_ShouldRestoreEncodedCursor() {
+        // Arrange
+        final ProductCursor cursor = new ProductCursor(ProductSortKey.NAME_GE, "კაბელი\nType 2", 42L);
+
+        // Act
+        final ProductCursor decoded = ProductCursor.decode(cursor.encode(), ProductSortKey.NAME_GE);
+
+        // Assert
+        assertEquals(cursor, decoded);
+    }
+
+    @Test
+    void decode_ShouldKeepNullAndEmptyValuesApart() {
+        // Act
+        final ProductCursor nullValue = ProductCursor.decode(new ProductCursor(ProductSortKey.NAME_ENG, null, 1L).encode(), ProductSortKey.NAME_ENG);
+        final ProductCursor emptyValue = ProductCursor.decode(new ProductCursor(ProductSortKey.NAME_ENG, "", 1L).encode(), ProductSortKey.NAME_ENG);
+
+        // Assert
+        assertNull(nullValue.getValue());
+        assertEquals("", emptyValue.getValue());
+    }
+
+    @Test
+    void decode_ShouldThrow_WhenCursorIsMalformedOrForAnotherSort() {
+        // Arrange
+        final String priceCursor = new ProductCursor(ProductSortKey.PRICE, 12.5, 7L).encode();
+
+        // Act & Assert
+        assertThrows(InvalidPageRequestException.class, () -> ProductCursor.decode("not a cursor", ProductSortKey.PRICE));
+        assertThrows(InvalidPageRequestException.class, () -> ProductCursor.decode(priceCursor, ProductSortKey.ID));
+    }
+}
@@ -0,0 +1,91 @@
+package ge.evstore.ev_store.catalog;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ge.evstore.ev_store.exception.InvalidProjectionException;
+import ge.evstore.ev_store.response.ProductResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductProjectionTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void of_ShouldReturnFullProjection_WhenNothingIsRequested() {
+        // Act & Assert
+        assertSame(ProductProjection.FULL, ProductProjection.of(null, "ka-GE", null));
+        assertSame(ProductProjection.FULL, ProductProjection.of(ProductProjection.AUTO_LANGUAGE, "fr-FR,de;q=0.8", " "));
+        assertTrue(ProductProjection.FULL.isFull());
+    }
+
+    @Test
+    void project_ShouldKeepOnlyRequestedLanguage() throws Exception {
+        // Arrange
+        final ProductProjection projection = ProductProjection.of("en", null, null);
+
+        // Act
+        final JsonNode json = objectMapper.valueToTree(projection.project(product()));
+
+        // Assert
+        assertEquals(List.of("productId", "nameENG", "descriptionENG", "price", "itemCode", "stockAmount", "categoryName",
+                "categoryId", "mainImageId", "imageIds", "isPopular", "tutorialLink", "comingSoon"), fieldNames(json));
+        assertEquals("Cable", json.get("nameENG").asText());
+        assertEquals(2, json.get("imageIds").size());
+    }
+
+    @Test
+    void project_ShouldCombineFieldsWithLanguageFromAcceptLanguage() throws Exception {
+        // Arrange
+        final ProductProjection projection = ProductProjection.of("auto", "fr;q=0.9,ru-RU;q=0.8,en;q=0.5", "productId, name,price");
+
+        // Act
+        final JsonNode json = objectMapper.valueToTree(projection.project(product()));
+
+        // Assert
+        assertEquals(List.of("productId", "nameRUS", "price"), fieldNames(json));
+        assertEquals("Кабель", json.get("nameRUS").asText());
+    }
+
+    @Test
+    void project_ShouldWriteNullFields_WhenSelected() throws Exception {
+        // Arrange
+        final ProductProjection projection = ProductProjection.of(null, null, "tutorialLink,nameGE");
+
+        // Act
+        final JsonNode json = objectMapper.valueToTree(projection.project(product()));
+
+        // Assert
+        assertEquals(List.of("nameGE", "tutorialLink"), fieldNames(json));
+        assertTrue(json.get("tutorialLink").isNull());
+    }
+
+    @Test
+    void of_ShouldThrow_WhenLanguageOrFieldIsUnknown() {
+        // Act & Assert
+        assertThrows(InvalidProjectionException.class, () -> ProductProjection.of("fr", null, null));
+        assertThrows(InvalidProjectionException.class, () -> ProductProjection.of(null, null, "price,secret"));
+    }
+
+    private static ProductResponse product() {
+        return ProductResponse.builder()
+                .productId(1L)
+                .nameGE("კაბელი")
+                .nameENG("Cable")
+                .nameRUS("Кабель")
+                .descriptionENG("Type 2 cable")
+                .price(120.0)
+                .imageIds(List.of(3L, 4L))
+                .build();
+    }
+
+    private static List<String> fieldNames(final JsonNode json) {
+        final List<String> names = new ArrayList<>();
+        json.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+}
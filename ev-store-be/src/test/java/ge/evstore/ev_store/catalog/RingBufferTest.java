@@ -0,0 +1,88 @@
+package ge.evstore.ev_store.catalog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RingBufferTest {
+
+    @Test
+    void drain_ShouldReturnElementsInOfferOrder_WhenBufferWrapsAround() {
+        // Arrange
+        final RingBuffer<Integer> buffer = new RingBuffer<>(3);
+        buffer.offer(1);
+        buffer.offer(2);
+        buffer.drain(1);
+        buffer.offer(3);
+        buffer.offer(4);
+
+        // Act
+        final List<Integer> drained = buffer.drain(10);
+
+        // Assert
+        assertEquals(List.of(2, 3, 4), drained);
+        assertTrue(buffer.drain(10).isEmpty());
+    }
+
+    @Test
+    void offer_ShouldDropAndCount_WhenBufferIsFull() {
+        // Arrange
+        final RingBuffer<Integer> buffer = new RingBuffer<>(2);
+        buffer.offer(1);
+        buffer.offer(2);
+
+        // Act
+        final boolean accepted = buffer.offer(3);
+
+        // Assert
+        assertFalse(accepted);
+        assertEquals(1, buffer.getDropped());
+        assertEquals(List.of(1, 2), buffer.drain(10));
+        assertTrue(buffer.offer(3));
+    }
+
+    @Test
+    void offer_ShouldNotLoseOrDuplicateElements_WhenDrainedConcurrently() throws Exception {
+        // Arrange
+        final RingBuffer<Integer> buffer = new RingBuffer<>(64);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        final List<Integer> drained = new ArrayList<>();
+
+        // Act
+        for (int thread = 0; thread < 4; thread++) {
+            final int offset = thread * 10_000;
+            executor.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    while (!buffer.offer(offset + i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        while (!executor.isTerminated()) {
+            drained.addAll(buffer.drain(100));
+        }
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        drained.addAll(buffer.drain(Integer.MAX_VALUE));
+
+        // Assert
+        final Set<Integer> distinct = new HashSet<>(drained);
+        assertEquals(40_000, drained.size());
+        assertEquals(40_000, distinct.size());
+    }
+
+    @Test
+    void constructor_ShouldThrow_WhenCapacityIsNotPositive() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new RingBuffer<>(0));
+    }
+}
@@ -0,0 +1,67 @@
+package ge.evstore.ev_store.catalog;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SitemapFilesTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void writeUrlSet_ShouldWriteEscapedXmlAndIdenticalGzipVariant() throws Exception {
+        // Arrange
+        final Path path = directory.resolve("sitemap-categories.xml");
+
+        // Act
+        SitemapFiles.writeUrlSet(path, List.of("https://evstore.ge/catalog?categories=1&page=2"));
+
+        // Assert
+        final String xml = Files.readString(path, StandardCharsets.UTF_8);
+        assertTrue(xml.contains("<urlset xmlns=\"http://www.sitemaps.org/schemas/sitemap/0.9\">"));
+        assertTrue(xml.contains("<loc>https://evstore.ge/catalog?categories=1&amp;page=2</loc>"));
+        try (InputStream gzip = new GZIPInputStream(Files.newInputStream(SitemapFiles.gzipped(path)))) {
+            assertEquals(xml, new String(gzip.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        try (var files = Files.list(directory)) {
+            assertEquals(2, files.count());
+        }
+    }
+
+    @Test
+    void writeIndex_ShouldListSitemapsWithLastModified() throws Exception {
+        // Arrange
+        final Path path = directory.resolve("sitemap.xml");
+
+        // Act
+        SitemapFiles.writeIndex(path, List.of(new SitemapFiles.Entry("https://evstore.ge/sitemap-products-0.xml", Instant.parse("2025-01-02T03:04:05Z"))));
+
+        // Assert
+        final String xml = Files.readString(path, StandardCharsets.UTF_8);
+        assertTrue(xml.contains("<sitemap><loc>https://evstore.ge/sitemap-products-0.xml</loc><lastmod>2025-01-02T03:04:05Z</lastmod></sitemap>"));
+    }
+
+    @Test
+    void delete_ShouldRemoveBothVariants() throws Exception {
+        // Arrange
+        final Path path = directory.resolve("sitemap-products-1.xml");
+        SitemapFiles.writeUrlSet(path, List.of("https://evstore.ge/product/10001"));
+
+        // Act
+        SitemapFiles.delete(path);
+
+        // Assert
+        assertFalse(Files.exists(path));
+        assertFalse(Files.exists(SitemapFiles.gzipped(path)));
+    }
+}
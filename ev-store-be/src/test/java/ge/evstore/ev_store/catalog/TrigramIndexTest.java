@@ -0,0 +1,65 @@
+package ge.evstore.ev_store.catalog;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrigramIndexTest {
+
+    private TrigramIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TrigramIndex();
+        index.put(1L, List.of("Type 2 Charging Cable", "დამტენი კაბელი", "Зарядный кабель"));
+        index.put(2L, List.of("Cable organizer", "ორგანაიზერი", "Органайзер"));
+        index.put(3L, List.of("Wallbox 22kW", "კედლის დამტენი", "Настенная зарядка"));
+    }
+
+    @Test
+    void search_ShouldRankPrefixMatchesBeforeInnerMatches() {
+        // Act
+        final List<Long> result = index.search("cable", 10);
+
+        // Assert
+        assertEquals(List.of(2L, 1L), result);
+    }
+
+    @Test
+    void search_ShouldMatchAcrossScriptsAfterFolding() {
+        // Act & Assert
+        assertEquals(List.of(1L), index.search("kabel", 10));
+        assertEquals(List.of(1L), index.search("КАБЕЛ", 10));
+        assertEquals(Set.of(1L, 3L), index.matchAll("damteni"));
+    }
+
+    @Test
+    void matchAll_ShouldHandleQueriesShorterThanTrigram() {
+        // Act & Assert
+        assertEquals(Set.of(3L), index.matchAll("22"));
+    }
+
+    @Test
+    void putAndRemove_ShouldUpdatePostingsIncrementally() {
+        // Act
+        index.put(2L, List.of("Adapter"));
+        index.remove(3L);
+
+        // Assert
+        assertEquals(List.of(1L), index.search("cable", 10));
+        assertTrue(index.search("wallbox", 10).isEmpty());
+        assertEquals(List.of(2L), index.search("adapt", 10));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void search_ShouldRespectLimitAndIgnoreBlankQueries() {
+        // Act & Assert
+        assertEquals(1, index.search("a", 1).size());
+        assertTrue(index.search("   ", 10).isEmpty());
+    }
+}
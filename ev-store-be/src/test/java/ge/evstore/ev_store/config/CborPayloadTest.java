@@ -0,0 +1,131 @@
+package ge.evstore.ev_store.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ge.evstore.ev_store.cache.ProductJsonCache;
+import ge.evstore.ev_store.entity.OrderStatus;
+import ge.evstore.ev_store.response.*;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that CBOR carries the same content as JSON, using the converters and mappers Spring Boot builds from
+ * {@link JacksonConfig}.
+ */
+class CborPayloadTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(JacksonAutoConfiguration.class, HttpMessageConvertersAutoConfiguration.class))
+            .withUserConfiguration(JacksonConfig.class)
+            .withBean(ProductJsonCache.class);
+
+    @Test
+    void cborConverter_ShouldComeAfterJson_SoJsonStaysTheDefault() {
+        contextRunner.run(context -> {
+            // Act
+            final List<HttpMessageConverter<?>> converters = context.getBean(HttpMessageConverters.class).getConverters();
+
+            // Assert
+            final int json = indexOf(converters, MappingJackson2HttpMessageConverter.class);
+            final int cbor = indexOf(converters, MappingJackson2CborHttpMessageConverter.class);
+            assertTrue(json >= 0 && json < cbor);
+            assertSame(context.getBean(MappingJackson2CborHttpMessageConverter.class), converters.get(cbor));
+        });
+    }
+
+    @Test
+    void cbor_ShouldCarrySameContentAsJson_WhenJsonIsWrittenFromCachedFragments() {
+        contextRunner.run(context -> {
+            // Arrange
+            final ObjectMapper jsonMapper = context.getBean(ObjectMapper.class);
+            final ObjectMapper cborMapper = context.getBean(MappingJackson2CborHttpMessageConverter.class).getObjectMapper();
+            final Object payload = List.of(products(3), order(), categoryTree());
+            jsonMapper.writeValueAsBytes(payload);
+
+            // Act
+            final JsonNode fromJson = jsonMapper.readTree(jsonMapper.writeValueAsBytes(payload));
+            final JsonNode fromCbor = cborMapper.readTree(cborMapper.writeValueAsBytes(payload));
+
+            // Assert
+            assertEquals(3, context.getBean(ProductJsonCache.class).size());
+            assertEquals(fromJson.toString(), jsonMapper.writeValueAsString(fromCbor));
+        });
+    }
+
+    private static List<ProductResponse> products(final int count) {
+        final List<ProductResponse> products = new ArrayList<>();
+        for (long i = 1; i <= count; i++) {
+            products.add(ProductResponse.builder()
+                    .productId(i)
+                    .nameGE("დამტენი " + i)
+                    .nameENG("Wall charger " + i)
+                    .nameRUS("Зарядное устройство " + i)
+                    .descriptionGE("კედლის დამტენი 22 კვტ ".repeat(20))
+                    .descriptionENG("22 kW wall charger with type 2 socket ".repeat(20))
+                    .descriptionRUS("Настенная зарядка 22 кВт ".repeat(20))
+                    .price(1299.99 + i)
+                    .itemCode("WC-" + i)
+                    .stockAmount((int) i % 7)
+                    .categoryName("Chargers")
+                    .categoryId(3L)
+                    .mainImageId(i * 10)
+                    .imageIds(List.of(i * 10, i * 10 + 1, i * 10 + 2))
+                    .isPopular(i % 3 == 0)
+                    .comingSoon(false)
+                    .version(1L)
+                    .build());
+        }
+        return products;
+    }
+
+    private static CategoryFullTreeResponse categoryTree() {
+        final List<CategoryFullTreeResponse> children = new ArrayList<>();
+        for (long i = 2; i <= 10; i++) {
+            final CategoryFullTreeResponse child = new CategoryFullTreeResponse();
+            child.setId(i);
+            child.setName("Category " + i);
+            child.setDescription("Description of category " + i);
+            child.setChildren(List.of());
+            children.add(child);
+        }
+        final CategoryFullTreeResponse root = new CategoryFullTreeResponse();
+        root.setId(1L);
+        root.setName("Root");
+        root.setChildren(children);
+        return root;
+    }
+
+    private static OrderHistoryResponse order() {
+        final OrderHistoryResponse order = new OrderHistoryResponse();
+        order.setOrderId(1L);
+        order.setOrderNumber("ORD-2024-0001");
+        order.setOrderDate(LocalDateTime.of(2024, 5, 1, 12, 30));
+        order.setTotalPrice(new BigDecimal("2599.98"));
+        order.setOrderStatus(OrderStatus.values()[0]);
+        order.setItems(List.of());
+        return order;
+    }
+
+    private static int indexOf(final List<HttpMessageConverter<?>> converters, final Class<?> type) {
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i).getClass() == type) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -1,5 +1,6 @@
 package ge.evstore.ev_store.exceptionHandler;
 
+import ge.evstore.ev_store.entity.Product;
 import ge.evstore.ev_store.exception.*;
 import ge.evstore.ev_store.response.GeneralExceptionResponse;
 import io.jsonwebtoken.MalformedJwtException;
@@ -12,6 +13,7 @@ import org.mockito.InjectMocks;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.AuthenticationException;
 
@@ -206,4 +208,44 @@ class ControllerExceptionHandlerTest {
         assertEquals("Amount exceeded available stock", response.getBody().getErrorMessage());
         assertEquals(HttpStatus.BAD_REQUEST.value(), response.getBody().getCode());
     }
-}
\ No newline at end of file
+
+    @Test
+    void invalidPageRequest_returnsBadRequestStatus() {
+        // Arrange
+        final InvalidPageRequestException exception = new InvalidPageRequestException("Malformed cursor");
+
+        // Act
+        final ResponseEntity<GeneralExceptionResponse> response = exceptionHandler.invalidPageRequest(exception);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("Malformed cursor", response.getBody().getErrorMessage());
+        assertEquals(HttpStatus.BAD_REQUEST.value(), response.getBody().getCode());
+    }
+
+    @Test
+    void invalidProjection_returnsBadRequestStatus() {
+        // Arrange
+        final InvalidProjectionException exception = new InvalidProjectionException("Unsupported language: fr");
+
+        // Act
+        final ResponseEntity<GeneralExceptionResponse> response = exceptionHandler.invalidProjection(exception);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("Unsupported language: fr", response.getBody().getErrorMessage());
+    }
+
+    @Test
+    void concurrentModification_returnsConflictStatus() {
+        // Arrange
+        final ObjectOptimisticLockingFailureException exception = new ObjectOptimisticLockingFailureException(Product.class, 1L);
+
+        // Act
+        final ResponseEntity<GeneralExceptionResponse> response = exceptionHandler.concurrentModification(exception);
+
+        // Assert
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals(HttpStatus.CONFLICT.value(), response.getBody().getCode());
+    }
+}
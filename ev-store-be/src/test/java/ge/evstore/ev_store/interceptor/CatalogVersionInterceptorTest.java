@@ -0,0 +1,152 @@
+package ge.evstore.ev_store.interceptor;
+
+import ge.evstore.ev_store.annotation.CatalogVersioned;
+import ge.evstore.ev_store.entity.CatalogChange;
+import ge.evstore.ev_store.event.CatalogChangedEvent;
+import ge.evstore.ev_store.event.CatalogSnapshotLoadedEvent;
+import ge.evstore.ev_store.repository.CatalogChangeRepository;
+import ge.evstore.ev_store.service.impl.CatalogVersionServiceImpl;
+import ge.evstore.ev_store.service.interf.CatalogIndexService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+class CatalogVersionInterceptorTest {
+
+    @Mock
+    private CatalogIndexService catalogIndexService;
+    @Mock
+    private CatalogChangeRepository catalogChangeRepository;
+
+    private CatalogVersionServiceImpl catalogVersionService;
+    private CatalogVersionInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(catalogChangeRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(catalogChangeRepository.findById(5L)).thenReturn(Optional.of(CatalogChange.builder().id(5L).changedAt(LocalDateTime.now()).build()));
+        when(catalogIndexService.getAppliedSequence()).thenReturn(5L);
+        catalogVersionService = new CatalogVersionServiceImpl(catalogIndexService, catalogChangeRepository);
+        catalogVersionService.onCatalogSnapshotLoaded(new CatalogSnapshotLoadedEvent(null));
+        interceptor = new CatalogVersionInterceptor(catalogVersionService);
+    }
+
+    @Test
+    void preHandle_ShouldTagResponse_WhenRequestIsUnconditional() throws Exception {
+        // Arrange
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        final boolean proceed = interceptor.preHandle(new MockHttpServletRequest("GET", "/api/v1/product"), response, handler("versioned"));
+
+        // Assert
+        assertTrue(proceed);
+        assertEquals(catalogVersionService.current().getETag(), response.getHeader(HttpHeaders.ETAG));
+        assertNotNull(response.getHeader(HttpHeaders.LAST_MODIFIED));
+        assertEquals("no-cache", response.getHeader(HttpHeaders.CACHE_CONTROL));
+    }
+
+    @Test
+    void preHandle_ShouldAnswerNotModified_WhenETagMatches() throws Exception {
+        // Arrange
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/product");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, catalogVersionService.current().getETag());
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        final boolean proceed = interceptor.preHandle(request, response, handler("versioned"));
+
+        // Assert
+        assertFalse(proceed);
+        assertEquals(304, response.getStatus());
+    }
+
+    @Test
+    void preHandle_ShouldVaryByAcceptLanguage_WhenNotModifiedResponseIsNegotiatedFromHeader() throws Exception {
+        // Arrange
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/product/1");
+        request.setParameter("lang", "auto");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, catalogVersionService.current().getETag());
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        final boolean proceed = interceptor.preHandle(request, response, handler("versioned"));
+
+        // Assert
+        assertFalse(proceed);
+        assertEquals(304, response.getStatus());
+        assertEquals(List.of(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_LANGUAGE), response.getHeaders(HttpHeaders.VARY));
+    }
+
+    @Test
+    void preHandle_ShouldOnlyVaryByAccept_WhenLanguageIsExplicit() throws Exception {
+        // Arrange
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/product/1");
+        request.setParameter("lang", "en");
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        interceptor.preHandle(request, response, handler("versioned"));
+
+        // Assert
+        assertEquals(List.of(HttpHeaders.ACCEPT), response.getHeaders(HttpHeaders.VARY));
+    }
+
+    @Test
+    void preHandle_ShouldProceed_WhenCatalogChangedSinceETag() throws Exception {
+        // Arrange
+        final String previous = catalogVersionService.current().getETag();
+        when(catalogIndexService.getAppliedSequence()).thenReturn(6L);
+        catalogVersionService.onCatalogChanged(CatalogChangedEvent.productDeleted(1L));
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/product");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, previous);
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        final boolean proceed = interceptor.preHandle(request, response, handler("versioned"));
+
+        // Assert
+        assertTrue(proceed);
+        assertNotEquals(previous, response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void preHandle_ShouldIgnoreHandler_WhenNotAnnotated() throws Exception {
+        // Arrange
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        final boolean proceed = interceptor.preHandle(new MockHttpServletRequest("GET", "/api/v1/cart"), response, handler("plain"));
+
+        // Assert
+        assertTrue(proceed);
+        assertNull(response.getHeader(HttpHeaders.ETAG));
+    }
+
+    private static HandlerMethod handler(final String name) throws NoSuchMethodException {
+        return new HandlerMethod(new Handlers(), Handlers.class.getMethod(name));
+    }
+
+    public static class Handlers {
+        @CatalogVersioned
+        public void versioned() {
+        }
+
+        public void plain() {
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package ge.evstore.ev_store.interceptor;
+
+import ge.evstore.ev_store.annotation.CountsProductView;
+import ge.evstore.ev_store.service.interf.ProductPopularityService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class ProductViewInterceptorTest {
+
+    @Mock
+    private ProductPopularityService productPopularityService;
+
+    private ProductViewInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        interceptor = new ProductViewInterceptor(productPopularityService);
+    }
+
+    @Test
+    void preHandle_ShouldRecordView_WhenHandlerCountsViews() throws Exception {
+        // Arrange
+        final MockHttpServletRequest request = request("7");
+
+        // Act
+        final boolean proceed = interceptor.preHandle(request, new MockHttpServletResponse(), handler("viewed"));
+
+        // Assert
+        assertTrue(proceed);
+        verify(productPopularityService).recordView(7L);
+    }
+
+    @Test
+    void preHandle_ShouldNotRecordView_WhenIdIsNotNumeric() throws Exception {
+        // Act
+        final boolean proceed = interceptor.preHandle(request("abc"), new MockHttpServletResponse(), handler("viewed"));
+
+        // Assert
+        assertTrue(proceed);
+        verify(productPopularityService, never()).recordView(any());
+    }
+
+    @Test
+    void preHandle_ShouldIgnoreHandler_WhenNotAnnotated() throws Exception {
+        // Act
+        final boolean proceed = interceptor.preHandle(request("7"), new MockHttpServletResponse(), handler("plain"));
+
+        // Assert
+        assertTrue(proceed);
+        verify(productPopularityService, never()).recordView(any());
+    }
+
+    private static MockHttpServletRequest request(final String id) {
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/product/" + id);
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("id", id));
+        return request;
+    }
+
+    private static HandlerMethod handler(final String name) throws NoSuchMethodException {
+        return new HandlerMethod(new Handlers(), Handlers.class.getMethod(name));
+    }
+
+    public static class Handlers {
+        @CountsProductView
+        public void viewed() {
+        }
+
+        public void plain() {
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package ge.evstore.ev_store.migration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ProductImageIdsMigrationTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private ProductImageIdsMigration migration;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        migration = new ProductImageIdsMigration(jdbcTemplate);
+    }
+
+    @Test
+    void migrate_ShouldCopyLegacyImageIdsAndCreateIndex_WhenLegacyColumnExists() {
+        // Arrange
+        when(jdbcTemplate.queryForObject(ProductImageIdsMigration.LEGACY_COLUMN_EXISTS, Integer.class)).thenReturn(1);
+
+        // Act
+        migration.migrate();
+
+        // Assert
+        verify(jdbcTemplate).update(ProductImageIdsMigration.COPY_LEGACY_IMAGE_IDS);
+        verify(jdbcTemplate).execute(ProductImageIdsMigration.CREATE_GIN_INDEX);
+    }
+
+    @Test
+    void migrate_ShouldOnlyCreateIndex_WhenLegacyColumnIsMissing() {
+        // Arrange
+        when(jdbcTemplate.queryForObject(ProductImageIdsMigration.LEGACY_COLUMN_EXISTS, Integer.class)).thenReturn(0);
+
+        // Act
+        migration.migrate();
+
+        // Assert
+        verify(jdbcTemplate, never()).update(anyString());
+        verify(jdbcTemplate).execute(ProductImageIdsMigration.CREATE_GIN_INDEX);
+    }
+}
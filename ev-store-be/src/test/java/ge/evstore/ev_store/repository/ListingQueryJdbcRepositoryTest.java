@@ -0,0 +1,28 @@
+package ge.evstore.ev_store.repository;
+
+import ge.evstore.ev_store.catalog.ListingQuery;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class ListingQueryJdbcRepositoryTest {
+
+    @Test
+    void keyOf_ShouldBeEqual_WhenArgumentsAreEqual() {
+        // Act & Assert
+        assertEquals(ListingQueryJdbcRepository.keyOf(query("cable", null)), ListingQueryJdbcRepository.keyOf(query("cable", null)));
+    }
+
+    @Test
+    void keyOf_ShouldDiffer_WhenArgumentsOnlyDifferInNullsOrBoundaries() {
+        // Act & Assert
+        assertNotEquals(ListingQueryJdbcRepository.keyOf(query(null, null)), ListingQueryJdbcRepository.keyOf(query("null", null)));
+        assertNotEquals(ListingQueryJdbcRepository.keyOf(query("ab", "c")), ListingQueryJdbcRepository.keyOf(query("a", "bc")));
+        assertNotEquals(ListingQueryJdbcRepository.keyOf(query("a", null)), ListingQueryJdbcRepository.keyOf(query(null, "a")));
+    }
+
+    private static ListingQuery query(final String name, final String categoryId) {
+        return new ListingQuery(0, 10, "price", "asc", name, categoryId, null, null, null, null, null, null, null, false);
+    }
+}
@@ -0,0 +1,165 @@
+package ge.evstore.ev_store.repository;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ge.evstore.ev_store.catalog.ProductFilter;
+import ge.evstore.ev_store.catalog.ProductSortKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.io.StringWriter;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProductJdbcRepositoryTest {
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private ProductJdbcRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        repository = new ProductJdbcRepository(jdbcTemplate);
+    }
+
+    @Test
+    void queryListing_ShouldBuildFilteredSortedQuery_WhenFilterIsSet() {
+        // Arrange
+        final ProductFilter filter = ProductFilter.of("cable", "2", 10.0, null, true, null, null, null, null);
+        final RowCallbackHandler handler = rs -> {
+        };
+
+        // Act
+        repository.queryListing(filter, Set.of(2L, 3L), Set.of(7L), ProductSortKey.PRICE, true, 20, 11, handler);
+
+        // Assert
+        final ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        final ArgumentCaptor<MapSqlParameterSource> params = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(jdbcTemplate).query(sql.capture(), params.capture(), eq(handler));
+        assertTrue(sql.getValue().contains("p.id = any(:nameMatches)"));
+        assertTrue(sql.getValue().contains("p.category_id in (:categoryIds)"));
+        assertTrue(sql.getValue().contains("p.price >= :minPrice"));
+        assertTrue(sql.getValue().contains("p.stock_amount > 0"));
+        assertFalse(sql.getValue().contains(":maxPrice"));
+        assertTrue(sql.getValue().endsWith("order by p.price desc, p.id desc limit :limit offset :offset"));
+        assertEquals(Set.of(2L, 3L), params.getValue().getValue("categoryIds"));
+        final SqlParameterValue nameMatches = (SqlParameterValue) params.getValue().getValue("nameMatches");
+        assertEquals(Types.ARRAY, nameMatches.getSqlType());
+        assertArrayEquals(new Long[]{7L}, (Long[]) nameMatches.getValue());
+        assertEquals(11, params.getValue().getValue("limit"));
+        assertEquals(20L, params.getValue().getValue("offset"));
+    }
+
+    @Test
+    void queryListing_ShouldMatchNothing_WhenNameHasNoIndexMatches() {
+        // Arrange
+        final ProductFilter filter = ProductFilter.of("nothing", null, null, null, null, null, null, null, null);
+
+        // Act
+        repository.queryListing(filter, Set.of(), Set.of(), ProductSortKey.ID, false, 0, 5, rs -> {
+        });
+
+        // Assert
+        final ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate).query(sql.capture(), any(MapSqlParameterSource.class), any(RowCallbackHandler.class));
+        assertTrue(sql.getValue().contains("and 1 = 0"));
+        assertTrue(sql.getValue().endsWith("order by p.id asc limit :limit offset :offset"));
+    }
+
+    @Test
+    void queryListing_ShouldBindAllMatchesAsOneArray_WhenNameMatchesMostProducts() {
+        // Arrange
+        final ProductFilter filter = ProductFilter.of("a", null, null, null, null, null, null, null, null);
+        final Set<Long> nameMatches = LongStream.rangeClosed(1, 50_000).boxed().collect(Collectors.toSet());
+
+        // Act
+        repository.queryListing(filter, Set.of(), nameMatches, ProductSortKey.ID, false, 0, 5, rs -> {
+        });
+
+        // Assert
+        final ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        final ArgumentCaptor<MapSqlParameterSource> params = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(jdbcTemplate).query(sql.capture(), params.capture(), any(RowCallbackHandler.class));
+        assertTrue(sql.getValue().contains("p.id = any(:nameMatches)"));
+        assertFalse(sql.getValue().contains("like :name"));
+        assertEquals(50_000, ((Long[]) ((SqlParameterValue) params.getValue().getValue("nameMatches")).getValue()).length);
+    }
+
+    @Test
+    void rowWriter_ShouldWriteProductJsonAndDetectNextPage_WhenExtraRowIsFetched() throws Exception {
+        // Arrange
+        final ResultSet rs = mock(ResultSet.class);
+        when(rs.getObject("id", Long.class)).thenReturn(5L);
+        when(rs.getObject("price", Double.class)).thenReturn(99.5);
+        when(rs.getObject("is_popular", Boolean.class)).thenReturn(true);
+        when(rs.getString(anyString())).thenReturn(null);
+        when(rs.getString("nameeng")).thenReturn("Wall \"box\" charger");
+        when(rs.getString("image_ids")).thenReturn("[1,2]");
+        final StringWriter out = new StringWriter();
+        final ObjectMapper objectMapper = new ObjectMapper();
+
+        // Act
+        final ProductJsonRowWriter writer;
+        try (JsonGenerator gen = objectMapper.getFactory().createGenerator(out)) {
+            gen.writeStartArray();
+            writer = new ProductJsonRowWriter(gen, 1);
+            writer.processRow(rs);
+            writer.processRow(rs);
+            gen.writeEndArray();
+        }
+
+        // Assert
+        final JsonNode json = objectMapper.readTree(out.toString());
+        assertTrue(writer.hasNext());
+        assertEquals(1, json.size());
+        assertEquals(5L, json.get(0).get("productId").asLong());
+        assertEquals("Wall \"box\" charger", json.get(0).get("nameENG").asText());
+        assertEquals(99.5, json.get(0).get("price").asDouble());
+        assertEquals(2, json.get(0).get("imageIds").size());
+        assertTrue(json.get(0).get("isPopular").asBoolean());
+        assertTrue(json.get(0).get("stockAmount").isNull());
+    }
+
+    @Test
+    void csvRowWriter_ShouldQuoteValuesWithSeparators() throws Exception {
+        // Arrange
+        final ResultSet rs = mock(ResultSet.class);
+        when(rs.getObject(anyString())).thenReturn(null);
+        when(rs.getObject("id")).thenReturn(5L);
+        when(rs.getObject("nameeng")).thenReturn("Cable, \"Type 2\"");
+        when(rs.getObject("image_ids")).thenReturn("[1,2]");
+        when(rs.getObject("is_popular")).thenReturn(true);
+        final StringWriter out = new StringWriter();
+        final ProductCsvRowWriter writer = new ProductCsvRowWriter(out);
+
+        // Act
+        writer.writeHeader();
+        writer.processRow(rs);
+
+        // Assert
+        final String[] lines = out.toString().split("\r\n");
+        assertTrue(lines[0].startsWith("productId,nameGE,nameENG,"));
+        assertEquals("5,,\"Cable, \"\"Type 2\"\"\",,,,,,,,,,,\"[1,2]\",true,,", lines[1]);
+    }
+}
@@ -0,0 +1,83 @@
+package ge.evstore.ev_store.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ge.evstore.ev_store.cache.ListingCountCache;
+import ge.evstore.ev_store.event.CatalogChangedEvent;
+import ge.evstore.ev_store.repository.CategoryRepository;
+import ge.evstore.ev_store.repository.OrderRepository;
+import ge.evstore.ev_store.repository.ProductJdbcRepository;
+import ge.evstore.ev_store.repository.ProductRepository;
+import ge.evstore.ev_store.service.interf.ImageService;
+import ge.evstore.ev_store.service.interf.ListingQueryLogService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class AdminServiceImplTest {
+
+    @Mock
+    private ProductRepository productRepository;
+    @Mock
+    private CategoryRepository categoryRepository;
+    @Mock
+    private ImageService imageService;
+    @Mock
+    private OrderRepository orderRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private ListingCountCache listingCountCache;
+    @Mock
+    private ProductJdbcRepository productJdbcRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private ListingQueryLogService listingQueryLogService;
+
+    private AdminServiceImpl adminService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        adminService = new AdminServiceImpl(productRepository, categoryRepository, imageService, orderRepository, eventPublisher,
+                listingCountCache, productJdbcRepository, new ObjectMapper(), transactionManager, listingQueryLogService);
+    }
+
+    @Test
+    void deleteProduct_ShouldDeleteAndPublish_WhenProductExists() {
+        // Arrange
+        when(productRepository.existsById(1L)).thenReturn(true);
+
+        // Act
+        adminService.deleteProduct(1L, "token");
+
+        // Assert
+        verify(productRepository).deleteById(1L);
+        final ArgumentCaptor<CatalogChangedEvent> event = ArgumentCaptor.forClass(CatalogChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(CatalogChangedEvent.Type.PRODUCT_DELETED, event.getValue().getType());
+        assertEquals(1L, event.getValue().getEntityId());
+    }
+
+    @Test
+    void deleteProduct_ShouldNotPublish_WhenProductDoesNotExist() {
+        // Arrange
+        when(productRepository.existsById(1L)).thenReturn(false);
+
+        // Act
+        adminService.deleteProduct(1L, "token");
+
+        // Assert
+        verify(productRepository, never()).deleteById(anyLong());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+}
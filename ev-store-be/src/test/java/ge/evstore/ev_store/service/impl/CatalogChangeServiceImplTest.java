@@ -0,0 +1,136 @@
+package ge.evstore.ev_store.service.impl;
+
+import ge.evstore.ev_store.entity.CatalogChange;
+import ge.evstore.ev_store.entity.Category;
+import ge.evstore.ev_store.entity.Product;
+import ge.evstore.ev_store.event.CatalogChangedEvent;
+import ge.evstore.ev_store.exception.InvalidPageRequestException;
+import ge.evstore.ev_store.repository.CatalogChangeRepository;
+import ge.evstore.ev_store.repository.ProductRepository;
+import ge.evstore.ev_store.response.CatalogChangesResponse;
+import ge.evstore.ev_store.response.ProductResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class CatalogChangeServiceImplTest {
+
+    @Mock
+    private CatalogChangeRepository catalogChangeRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private CatalogChangeServiceImpl catalogChangeService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        catalogChangeService = new CatalogChangeServiceImpl(catalogChangeRepository, productRepository);
+    }
+
+    @Test
+    void onCatalogChanged_ShouldRecordTombstone_WhenProductIsDeleted() {
+        // Act
+        catalogChangeService.onCatalogChanged(CatalogChangedEvent.productDeleted(7L));
+
+        // Assert
+        final ArgumentCaptor<CatalogChange> captor = ArgumentCaptor.forClass(CatalogChange.class);
+        verify(catalogChangeRepository).lockSequence(anyLong());
+        verify(catalogChangeRepository).save(captor.capture());
+        assertEquals(7L, captor.getValue().getProductId());
+        assertEquals(CatalogChange.Type.DELETE, captor.getValue().getType());
+    }
+
+    @Test
+    void onCatalogChanged_ShouldRecordProductsOfCategory_WhenCategoryChanges() {
+        // Act
+        catalogChangeService.onCatalogChanged(CatalogChangedEvent.categoryChanged(3L));
+
+        // Assert
+        verify(catalogChangeRepository).recordCategoryProducts(3L);
+        verify(catalogChangeRepository, never()).save(any());
+    }
+
+    @Test
+    void getChanges_ShouldReturnLatestChangePerProduct() {
+        // Arrange
+        when(catalogChangeRepository.findByIdGreaterThanOrderByIdAsc(10L, Limit.of(4))).thenReturn(List.of(
+                change(11L, 1L, CatalogChange.Type.UPSERT),
+                change(12L, 2L, CatalogChange.Type.UPSERT),
+                change(13L, 1L, CatalogChange.Type.DELETE),
+                change(14L, 3L, CatalogChange.Type.UPSERT)
+        ));
+        when(productRepository.findAllById(List.of(2L))).thenReturn(List.of(product(2L)));
+
+        // Act
+        final CatalogChangesResponse response = catalogChangeService.getChanges(10L, 3);
+
+        // Assert
+        assertEquals(List.of(2L), response.getUpdated().stream().map(ProductResponse::getProductId).toList());
+        assertEquals(List.of(1L), response.getDeleted());
+        assertEquals(13L, response.getSequence());
+        assertTrue(response.isHasMore());
+    }
+
+    @Test
+    void getChanges_ShouldReportMissingProductAsDeleted_WhenDeletedAfterWindow() {
+        // Arrange
+        when(catalogChangeRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(11))).thenReturn(List.of(change(1L, 5L, CatalogChange.Type.UPSERT)));
+        when(productRepository.findAllById(List.of(5L))).thenReturn(List.of());
+
+        // Act
+        final CatalogChangesResponse response = catalogChangeService.getChanges(0L, 10);
+
+        // Assert
+        assertTrue(response.getUpdated().isEmpty());
+        assertEquals(List.of(5L), response.getDeleted());
+        assertEquals(1L, response.getSequence());
+        assertFalse(response.isHasMore());
+    }
+
+    @Test
+    void getChanges_ShouldReturnOnlyCurrentSequence_WhenSinceIsMissing() {
+        // Arrange
+        when(catalogChangeRepository.findLatestSequence()).thenReturn(Optional.of(42L));
+
+        // Act
+        final CatalogChangesResponse response = catalogChangeService.getChanges(null, 10);
+
+        // Assert
+        assertEquals(42L, response.getSequence());
+        assertTrue(response.getUpdated().isEmpty());
+        verify(catalogChangeRepository, never()).findByIdGreaterThanOrderByIdAsc(any(), any());
+    }
+
+    @Test
+    void getChanges_ShouldThrow_WhenLimitIsOutOfRange() {
+        // Act & Assert
+        assertThrows(InvalidPageRequestException.class, () -> catalogChangeService.getChanges(0L, 0));
+        assertThrows(InvalidPageRequestException.class, () -> catalogChangeService.getChanges(0L, CatalogChangeServiceImpl.MAX_LIMIT + 1));
+    }
+
+    private static CatalogChange change(final Long id, final Long productId, final CatalogChange.Type type) {
+        return CatalogChange.builder().id(id).productId(productId).type(type).build();
+    }
+
+    private static Product product(final Long id) {
+        final Category category = new Category();
+        category.setId(1L);
+        category.setName("Chargers");
+        final Product product = new Product();
+        product.setId(id);
+        product.setCategory(category);
+        return product;
+    }
+}
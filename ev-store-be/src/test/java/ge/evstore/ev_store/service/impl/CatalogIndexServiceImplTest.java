@@ -0,0 +1,138 @@
+package ge.evstore.ev_store.service.impl;
+
+import ge.evstore.ev_store.entity.CatalogChange;
+import ge.evstore.ev_store.entity.Category;
+import ge.evstore.ev_store.entity.Product;
+import ge.evstore.ev_store.event.CatalogChangedEvent;
+import ge.evstore.ev_store.repository.CatalogChangeRepository;
+import ge.evstore.ev_store.repository.CategoryRepository;
+import ge.evstore.ev_store.repository.ProductRepository;
+import ge.evstore.ev_store.service.interf.ProductSearchService;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class CatalogIndexServiceImplTest {
+
+    @Mock
+    private ProductRepository productRepository;
+    @Mock
+    private CategoryRepository categoryRepository;
+    @Mock
+    private CatalogChangeRepository catalogChangeRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private ProductSearchService productSearchService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+    @Mock
+    private Cache secondLevelCache;
+
+    private CatalogIndexServiceImpl catalogIndexService;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(entityManagerFactory.getCache()).thenReturn(secondLevelCache);
+        catalogIndexService = new CatalogIndexServiceImpl(productRepository, categoryRepository, catalogChangeRepository,
+                eventPublisher, productSearchService, transactionManager, entityManagerFactory, true, "");
+        category = new Category();
+        category.setId(1L);
+        category.setName("Cables");
+        when(categoryRepository.findAll()).thenReturn(List.of(category));
+        when(productRepository.findAll()).thenReturn(List.of(product(10L, 1L, 100.0), product(11L, 1L, 20.0), product(12L, 1L, 5.0)));
+        when(catalogChangeRepository.findLatestSequence()).thenReturn(Optional.of(5L));
+        catalogIndexService.reload();
+        clearInvocations(eventPublisher);
+    }
+
+    @Test
+    void catchUp_ShouldReplayOnlyChangesMissingFromSnapshot_WhenOtherInstancesWrote() {
+        // Arrange
+        when(catalogChangeRepository.findByIdGreaterThanOrderByIdAsc(5L, Limit.of(CatalogIndexServiceImpl.CATCH_UP_BATCH_SIZE)))
+                .thenReturn(List.of(change(6L, 10L), change(7L, 11L), change(8L, 12L)));
+        // 10 was written locally and is already patched in, 11 was updated and 12 deleted elsewhere
+        when(productRepository.findAllById(any())).thenReturn(List.of(product(10L, 1L, 100.0), product(11L, 2L, 25.0)));
+
+        // Act
+        catalogIndexService.catchUp();
+
+        // Assert
+        final ArgumentCaptor<CatalogChangedEvent> events = ArgumentCaptor.forClass(CatalogChangedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertEquals(CatalogChangedEvent.Type.PRODUCT_SAVED, events.getAllValues().get(0).getType());
+        assertEquals(11L, events.getAllValues().get(0).getEntityId());
+        assertEquals(CatalogChangedEvent.Type.PRODUCT_DELETED, events.getAllValues().get(1).getType());
+        assertEquals(12L, events.getAllValues().get(1).getEntityId());
+        assertTrue(events.getAllValues().stream().allMatch(CatalogChangedEvent::isReplayed));
+        verify(secondLevelCache).evict(Product.class, 11L);
+        verify(secondLevelCache).evict(Category.class);
+    }
+
+    @Test
+    void catchUp_ShouldContinueFromReachedSequence_WhenRunAgain() {
+        // Arrange
+        when(catalogChangeRepository.findByIdGreaterThanOrderByIdAsc(5L, Limit.of(CatalogIndexServiceImpl.CATCH_UP_BATCH_SIZE)))
+                .thenReturn(List.of(change(9L, 10L)));
+        when(productRepository.findAllById(any())).thenReturn(List.of(product(10L, 1L, 100.0)));
+        catalogIndexService.catchUp();
+
+        // Act
+        catalogIndexService.catchUp();
+
+        // Assert
+        verify(catalogChangeRepository).findByIdGreaterThanOrderByIdAsc(9L, Limit.of(CatalogIndexServiceImpl.CATCH_UP_BATCH_SIZE));
+        verify(eventPublisher, never()).publishEvent(any(CatalogChangedEvent.class));
+    }
+
+    @Test
+    void catchUp_ShouldReplayCategoryChange_WhenOnlyCategoryNameDiffers() {
+        // Arrange
+        category.setName("Charging cables");
+        when(catalogChangeRepository.findByIdGreaterThanOrderByIdAsc(5L, Limit.of(CatalogIndexServiceImpl.CATCH_UP_BATCH_SIZE)))
+                .thenReturn(List.of(change(6L, 10L), change(7L, 11L)));
+        when(productRepository.findAllById(any())).thenReturn(List.of(product(10L, 1L, 100.0), product(11L, 1L, 20.0)));
+
+        // Act
+        catalogIndexService.catchUp();
+
+        // Assert
+        final ArgumentCaptor<CatalogChangedEvent> event = ArgumentCaptor.forClass(CatalogChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(CatalogChangedEvent.Type.CATEGORY_CHANGED, event.getValue().getType());
+        assertEquals(1L, event.getValue().getEntityId());
+    }
+
+    private Product product(final Long id, final Long version, final Double price) {
+        return Product.builder()
+                .id(id)
+                .nameENG("Product " + id)
+                .price(price)
+                .category(category)
+                .imageIds(List.of())
+                .version(version)
+                .build();
+    }
+
+    private static CatalogChange change(final Long sequence, final Long productId) {
+        return CatalogChange.builder().id(sequence).productId(productId).type(CatalogChange.Type.UPSERT).build();
+    }
+}
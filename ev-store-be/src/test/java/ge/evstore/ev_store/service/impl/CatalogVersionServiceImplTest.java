@@ -0,0 +1,87 @@
+package ge.evstore.ev_store.service.impl;
+
+import ge.evstore.ev_store.catalog.CatalogVersion;
+import ge.evstore.ev_store.catalog.RankingGeneration;
+import ge.evstore.ev_store.entity.CatalogChange;
+import ge.evstore.ev_store.event.CatalogChangedEvent;
+import ge.evstore.ev_store.event.PopularityRankingChangedEvent;
+import ge.evstore.ev_store.repository.CatalogChangeRepository;
+import ge.evstore.ev_store.service.interf.CatalogIndexService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+class CatalogVersionServiceImplTest {
+
+    private static final LocalDateTime CHANGED_AT = LocalDateTime.of(2026, 3, 1, 12, 30, 15, 250_000_000);
+
+    @Mock
+    private CatalogIndexService catalogIndexService;
+    @Mock
+    private CatalogChangeRepository catalogChangeRepository;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(catalogChangeRepository.findById(7L)).thenReturn(Optional.of(CatalogChange.builder().id(7L).changedAt(CHANGED_AT).build()));
+    }
+
+    @Test
+    void current_ShouldBeEqualOnEveryInstance_WhenSharedStateIsEqual() {
+        // Arrange
+        final CatalogVersionServiceImpl instance = new CatalogVersionServiceImpl(catalogIndexService, catalogChangeRepository);
+        final CatalogVersionServiceImpl other = new CatalogVersionServiceImpl(catalogIndexService, catalogChangeRepository);
+        when(catalogIndexService.getAppliedSequence()).thenReturn(7L);
+        final PopularityRankingChangedEvent rankingChanged = new PopularityRankingChangedEvent(new RankingGeneration(3, 0));
+
+        // Act
+        instance.onCatalogChanged(CatalogChangedEvent.productDeleted(1L));
+        instance.onPopularityRankingChanged(rankingChanged);
+        other.onPopularityRankingChanged(rankingChanged);
+        other.onCatalogChanged(CatalogChangedEvent.productDeleted(2L).asReplayed(7L));
+
+        // Assert
+        final CatalogVersion version = instance.current();
+        assertEquals(version, other.current());
+        assertEquals("\"7-3\"", version.getETag());
+        assertEquals(CHANGED_AT.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() / 1000 * 1000, version.getLastModified());
+    }
+
+    @Test
+    void onCatalogChanged_ShouldCatchUpBeforeReadingSequence_WhenWriteIsLocal() {
+        // Arrange
+        final CatalogVersionServiceImpl catalogVersionService = new CatalogVersionServiceImpl(catalogIndexService, catalogChangeRepository);
+        when(catalogIndexService.getAppliedSequence()).thenReturn(7L);
+
+        // Act
+        catalogVersionService.onCatalogChanged(CatalogChangedEvent.productDeleted(1L));
+
+        // Assert
+        final InOrder inOrder = inOrder(catalogIndexService);
+        inOrder.verify(catalogIndexService).catchUp();
+        inOrder.verify(catalogIndexService).getAppliedSequence();
+    }
+
+    @Test
+    void onCatalogChanged_ShouldKeepSequence_WhenOlderReplayArrivesLate() {
+        // Arrange
+        final CatalogVersionServiceImpl catalogVersionService = new CatalogVersionServiceImpl(catalogIndexService, catalogChangeRepository);
+        catalogVersionService.onCatalogChanged(CatalogChangedEvent.productDeleted(1L).asReplayed(7L));
+
+        // Act
+        catalogVersionService.onCatalogChanged(CatalogChangedEvent.productDeleted(2L).asReplayed(5L));
+
+        // Assert
+        assertEquals("\"7-0\"", catalogVersionService.current().getETag());
+        verify(catalogIndexService, never()).catchUp();
+    }
+}
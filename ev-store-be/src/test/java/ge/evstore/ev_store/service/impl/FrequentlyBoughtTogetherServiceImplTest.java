@@ -0,0 +1,87 @@
+package ge.evstore.ev_store.service.impl;
+
+import ge.evstore.ev_store.catalog.CatalogSnapshot;
+import ge.evstore.ev_store.catalog.CoOccurrenceIndex;
+import ge.evstore.ev_store.exception.InvalidPageRequestException;
+import ge.evstore.ev_store.repository.CoOccurrenceJdbcRepository;
+import ge.evstore.ev_store.response.ProductResponse;
+import ge.evstore.ev_store.service.interf.CatalogIndexService;
+import ge.evstore.ev_store.service.interf.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class FrequentlyBoughtTogetherServiceImplTest {
+
+    @Mock
+    private CoOccurrenceJdbcRepository coOccurrenceJdbcRepository;
+
+    @Mock
+    private CatalogIndexService catalogIndexService;
+
+    @Mock
+    private ProductService productService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private FrequentlyBoughtTogetherServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        service = new FrequentlyBoughtTogetherServiceImpl(coOccurrenceJdbcRepository, catalogIndexService, productService, transactionManager, 5);
+    }
+
+    @Test
+    void countNewOrders_ShouldCountBatchesUntilNoneIsFull_ThenReload() {
+        // Arrange
+        final List<Long> fullBatch = LongStream.rangeClosed(1, FrequentlyBoughtTogetherServiceImpl.ORDER_BATCH_SIZE).boxed().toList();
+        when(coOccurrenceJdbcRepository.claimUncountedOrders(FrequentlyBoughtTogetherServiceImpl.ORDER_BATCH_SIZE))
+                .thenReturn(fullBatch, List.of(501L));
+        when(coOccurrenceJdbcRepository.countOrders(any())).thenReturn(Set.of(7L, 8L), Set.of());
+        when(coOccurrenceJdbcRepository.findAllNeighbours()).thenReturn(Map.of(7L, List.of(new CoOccurrenceIndex.Neighbour(8L, 3))));
+        when(catalogIndexService.getSnapshot()).thenReturn(Optional.of(CatalogSnapshot.of(
+                List.of(ProductResponse.builder().productId(8L).categoryId(1L).build()), Collections.singletonMap(1L, null))));
+
+        // Act
+        service.countNewOrders();
+
+        // Assert
+        verify(coOccurrenceJdbcRepository, times(2)).countOrders(any());
+        verify(coOccurrenceJdbcRepository, times(1)).rebuildNeighbours(Set.of(7L, 8L), 5);
+        assertEquals(List.of(8L), service.getFrequentlyBoughtTogether(List.of(7L), 5).stream().map(ProductResponse::getProductId).toList());
+    }
+
+    @Test
+    void countNewOrders_ShouldNotReload_WhenNoOrderIsNew() {
+        // Arrange
+        when(coOccurrenceJdbcRepository.claimUncountedOrders(anyInt())).thenReturn(List.of());
+
+        // Act
+        service.countNewOrders();
+
+        // Assert
+        verify(coOccurrenceJdbcRepository, never()).findAllNeighbours();
+    }
+
+    @Test
+    void getFrequentlyBoughtTogether_ShouldThrow_WhenLimitExceedsStoredNeighbours() {
+        // Act & Assert
+        assertThrows(InvalidPageRequestException.class, () -> service.getFrequentlyBoughtTogether(List.of(1L), 6));
+    }
+}
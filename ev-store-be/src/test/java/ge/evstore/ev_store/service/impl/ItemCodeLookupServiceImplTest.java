@@ -0,0 +1,107 @@
+package ge.evstore.ev_store.service.impl;
+
+import ge.evstore.ev_store.catalog.CatalogSnapshot;
+import ge.evstore.ev_store.entity.Category;
+import ge.evstore.ev_store.entity.Product;
+import ge.evstore.ev_store.event.CatalogSnapshotLoadedEvent;
+import ge.evstore.ev_store.event.CatalogSnapshotPatchedEvent;
+import ge.evstore.ev_store.exception.InvalidPageRequestException;
+import ge.evstore.ev_store.repository.ProductRepository;
+import ge.evstore.ev_store.response.ProductResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ItemCodeLookupServiceImplTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private ItemCodeLookupServiceImpl itemCodeLookupService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        itemCodeLookupService = new ItemCodeLookupServiceImpl(productRepository);
+    }
+
+    @Test
+    void findByItemCodes_ShouldReturnProductsInRequestOrder_WhenSnapshotIsLoaded() {
+        // Arrange
+        final CatalogSnapshot snapshot = mock(CatalogSnapshot.class);
+        when(snapshot.getProducts()).thenReturn(List.of(response(1L, "A"), response(2L, "B"), response(3L, "C")));
+        itemCodeLookupService.onSnapshotLoaded(new CatalogSnapshotLoadedEvent(snapshot));
+
+        // Act
+        final List<ProductResponse> products = itemCodeLookupService.findByItemCodes(List.of("C", " A ", "missing", "C"));
+
+        // Assert
+        assertEquals(List.of(3L, 1L), products.stream().map(ProductResponse::getProductId).toList());
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void findByItemCodes_ShouldSeeCommittedWrites_WhenSnapshotIsPatched() {
+        // Arrange
+        final CatalogSnapshot snapshot = mock(CatalogSnapshot.class);
+        when(snapshot.getProducts()).thenReturn(List.of(response(1L, "A"), response(2L, "B")));
+        itemCodeLookupService.onSnapshotLoaded(new CatalogSnapshotLoadedEvent(snapshot));
+
+        // Act
+        itemCodeLookupService.onSnapshotPatched(new CatalogSnapshotPatchedEvent(snapshot, 1L, ProductResponse.from(product(1L, "B"))));
+        itemCodeLookupService.onSnapshotPatched(new CatalogSnapshotPatchedEvent(snapshot, 2L, null));
+
+        // Assert
+        assertTrue(itemCodeLookupService.findByItemCodes(List.of("A")).isEmpty());
+        assertEquals(List.of(1L), itemCodeLookupService.findByItemCodes(List.of("B")).stream().map(ProductResponse::getProductId).toList());
+    }
+
+    @Test
+    void findByItemCodes_ShouldQueryDatabaseInRequestOrder_WhenSnapshotIsNotLoaded() {
+        // Arrange
+        when(productRepository.findByItemCodeInOrderByIdAsc(Set.of("A", "B"))).thenReturn(List.of(product(1L, "A"), product(2L, "B")));
+
+        // Act
+        final List<ProductResponse> products = itemCodeLookupService.findByItemCodes(List.of("B", "A"));
+
+        // Assert
+        assertEquals(List.of(2L, 1L), products.stream().map(ProductResponse::getProductId).toList());
+    }
+
+    @Test
+    void findByItemCodes_ShouldThrow_WhenTooManyCodesAreRequested() {
+        // Arrange
+        final List<String> codes = new ArrayList<>();
+        for (int i = 0; i <= ItemCodeLookupServiceImpl.MAX_CODES; i++) {
+            codes.add("code-" + i);
+        }
+
+        // Act & Assert
+        assertThrows(InvalidPageRequestException.class, () -> itemCodeLookupService.findByItemCodes(codes));
+        verify(productRepository, never()).findByItemCodeInOrderByIdAsc(any());
+    }
+
+    private static ProductResponse response(final Long id, final String itemCode) {
+        return ProductResponse.builder().productId(id).itemCode(itemCode).build();
+    }
+
+    private static Product product(final Long id, final String itemCode) {
+        final Category category = new Category();
+        category.setId(1L);
+        category.setName("Chargers");
+        final Product product = new Product();
+        product.setId(id);
+        product.setItemCode(itemCode);
+        product.setCategory(category);
+        return product;
+    }
+}
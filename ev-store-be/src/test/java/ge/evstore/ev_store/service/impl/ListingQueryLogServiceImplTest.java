@@ -0,0 +1,97 @@
+package ge.evstore.ev_store.service.impl;
+
+import ge.evstore.ev_store.catalog.ListingQuery;
+import ge.evstore.ev_store.event.CatalogChangedEvent;
+import ge.evstore.ev_store.exception.InvalidPageRequestException;
+import ge.evstore.ev_store.repository.ListingQueryJdbcRepository;
+import ge.evstore.ev_store.response.ListingQueryStatsResponse;
+import ge.evstore.ev_store.service.interf.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ListingQueryLogServiceImplTest {
+
+    @Mock
+    private ListingQueryJdbcRepository listingQueryJdbcRepository;
+
+    @Mock
+    private ProductService productService;
+
+    private ListingQueryLogServiceImpl listingQueryLogService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        listingQueryLogService = new ListingQueryLogServiceImpl(listingQueryJdbcRepository, productService, 2, 5, Duration.ofDays(7), Duration.ofDays(30));
+    }
+
+    @Test
+    void flushAndPrewarm_ShouldAddCountsOfBufferedQueriesInOneBatch() {
+        // Arrange
+        final ListingQuery hot = query("2");
+        listingQueryLogService.record(hot);
+        listingQueryLogService.record(hot);
+        listingQueryLogService.record(query("4"));
+
+        // Act
+        listingQueryLogService.flushAndPrewarm();
+
+        // Assert
+        verify(listingQueryJdbcRepository).addCounts(eq(Map.of(hot, 2L)), eq(LocalDate.now()));
+        verifyNoInteractions(productService);
+    }
+
+    @Test
+    void flushAndPrewarm_ShouldReplayTopQueriesOnce_WhenCatalogChanged() {
+        // Arrange
+        final ListingQuery hot = query("2");
+        when(listingQueryJdbcRepository.findTop(any(), eq(5))).thenReturn(List.of(new ListingQueryStatsResponse(hot, 40)));
+        listingQueryLogService.onCatalogChanged(CatalogChangedEvent.categoryChanged(2L));
+        listingQueryLogService.onCatalogChanged(CatalogChangedEvent.categoryChanged(3L));
+
+        // Act
+        listingQueryLogService.flushAndPrewarm();
+        listingQueryLogService.flushAndPrewarm();
+
+        // Assert
+        verify(productService, times(1)).getAllProducts(0, 10, "price", "asc", null, "2", null, null, null, null, null, null, null, false);
+    }
+
+    @Test
+    void flushAndPrewarm_ShouldContinueWithNextQuery_WhenReplayFails() {
+        // Arrange
+        when(listingQueryJdbcRepository.findTop(any(), eq(5))).thenReturn(List.of(
+                new ListingQueryStatsResponse(query("9"), 40), new ListingQueryStatsResponse(query("2"), 30)));
+        when(productService.getAllProducts(anyInt(), anyInt(), any(), any(), any(), eq("9"), any(), any(), any(), any(), any(), any(), any(), anyBoolean()))
+                .thenThrow(new RuntimeException("Category not found"));
+        listingQueryLogService.onApplicationReady();
+
+        // Act
+        listingQueryLogService.flushAndPrewarm();
+
+        // Assert
+        verify(productService).getAllProducts(0, 10, "price", "asc", null, "2", null, null, null, null, null, null, null, false);
+    }
+
+    @Test
+    void getTopQueries_ShouldThrow_WhenLimitIsOutOfRange() {
+        // Act & Assert
+        assertThrows(InvalidPageRequestException.class, () -> listingQueryLogService.getTopQueries(0));
+        assertThrows(InvalidPageRequestException.class, () -> listingQueryLogService.getTopQueries(ListingQueryLogServiceImpl.MAX_LIMIT + 1));
+    }
+
+    private static ListingQuery query(final String categoryId) {
+        return new ListingQuery(0, 10, "price", "asc", null, categoryId, null, null, null, null, null, null, null, false);
+    }
+}
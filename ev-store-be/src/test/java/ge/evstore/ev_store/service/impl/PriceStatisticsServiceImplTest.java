@@ -0,0 +1,69 @@
+package ge.evstore.ev_store.service.impl;
+
+import ge.evstore.ev_store.catalog.CatalogSnapshot;
+import ge.evstore.ev_store.event.CatalogSnapshotLoadedEvent;
+import ge.evstore.ev_store.event.CatalogSnapshotPatchedEvent;
+import ge.evstore.ev_store.repository.ProductJdbcRepository;
+import ge.evstore.ev_store.response.PriceStatisticsResponse;
+import ge.evstore.ev_store.response.ProductResponse;
+import ge.evstore.ev_store.service.interf.CatalogIndexService;
+import ge.evstore.ev_store.service.interf.CategoryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class PriceStatisticsServiceImplTest {
+
+    @Mock
+    private CatalogIndexService catalogIndexService;
+    @Mock
+    private CategoryService categoryService;
+    @Mock
+    private ProductJdbcRepository productJdbcRepository;
+    @Mock
+    private CatalogSnapshot snapshot;
+
+    private PriceStatisticsServiceImpl priceStatisticsService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        priceStatisticsService = new PriceStatisticsServiceImpl(catalogIndexService, categoryService, productJdbcRepository);
+        when(catalogIndexService.getSnapshot()).thenReturn(Optional.of(snapshot));
+        when(snapshot.containsCategories(List.of(1L))).thenReturn(true);
+        when(snapshot.getDescendantCategoryIds(1L)).thenReturn(Set.of(1L, 2L));
+        when(snapshot.getProducts()).thenReturn(List.of(product(10L, 1L, 100.0), product(11L, 2L, 20.0), product(12L, 3L, 5.0)));
+        priceStatisticsService.onSnapshotLoaded(new CatalogSnapshotLoadedEvent(snapshot));
+    }
+
+    @Test
+    void getStatistics_ShouldReuseSubtreeSummary_UntilSnapshotIsPatched() {
+        // Act
+        final PriceStatisticsResponse first = priceStatisticsService.getStatistics(1L);
+        final PriceStatisticsResponse cached = priceStatisticsService.getStatistics(1L);
+        priceStatisticsService.onSnapshotPatched(new CatalogSnapshotPatchedEvent(snapshot, 11L, product(11L, 2L, 300.0)));
+        final PriceStatisticsResponse patched = priceStatisticsService.getStatistics(1L);
+
+        // Assert
+        assertEquals(2, first.getCount());
+        assertEquals(20.0, first.getMin());
+        assertEquals(first, cached);
+        assertEquals(100.0, patched.getMin());
+        assertEquals(300.0, patched.getMax());
+        verify(snapshot, times(2)).getDescendantCategoryIds(1L);
+        verify(productJdbcRepository, never()).priceStatistics(any());
+    }
+
+    private static ProductResponse product(final Long id, final Long categoryId, final Double price) {
+        return ProductResponse.builder().productId(id).categoryId(categoryId).price(price).build();
+    }
+}
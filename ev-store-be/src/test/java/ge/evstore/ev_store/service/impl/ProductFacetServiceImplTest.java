@@ -0,0 +1,108 @@
+package ge.evstore.ev_store.service.impl;
+
+import ge.evstore.ev_store.catalog.CatalogSnapshot;
+import ge.evstore.ev_store.catalog.ProductFilter;
+import ge.evstore.ev_store.event.CatalogChangedEvent;
+import ge.evstore.ev_store.exception.InvalidPageRequestException;
+import ge.evstore.ev_store.repository.CategoryRepository;
+import ge.evstore.ev_store.repository.ProductRepository;
+import ge.evstore.ev_store.response.ProductFacetsResponse;
+import ge.evstore.ev_store.response.ProductResponse;
+import ge.evstore.ev_store.service.interf.CatalogIndexService;
+import ge.evstore.ev_store.service.interf.CategoryService;
+import ge.evstore.ev_store.service.interf.ProductSearchService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+class ProductFacetServiceImplTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private CategoryService categoryService;
+
+    @Mock
+    private CatalogIndexService catalogIndexService;
+
+    @Mock
+    private ProductSearchService productSearchService;
+
+    private ProductFacetServiceImpl productFacetService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        productFacetService = new ProductFacetServiceImpl(productRepository, categoryRepository, categoryService, catalogIndexService, productSearchService);
+        final Map<Long, Long> parents = new HashMap<>();
+        parents.put(1L, null);
+        parents.put(2L, 1L);
+        final CatalogSnapshot snapshot = CatalogSnapshot.of(List.of(
+                ProductResponse.builder().productId(10L).categoryId(2L).price(5.0).stockAmount(1).build(),
+                ProductResponse.builder().productId(11L).categoryId(1L).price(7.0).stockAmount(0).build()
+        ), parents);
+        when(catalogIndexService.getSnapshot()).thenReturn(Optional.of(snapshot));
+    }
+
+    @Test
+    void getFacets_ShouldResolveCategoriesThroughCategoryServiceAndCountFromSnapshot() {
+        // Arrange
+        when(categoryService.getDescendantCategoryIds(1L)).thenReturn(Set.of(1L, 2L));
+        final ProductFilter filter = ProductFilter.of(null, "1", null, null, null, null, null, null, null);
+
+        // Act
+        final ProductFacetsResponse facets = productFacetService.getFacets(filter, 5);
+
+        // Assert
+        assertEquals(2, facets.getTotal());
+        assertEquals(Map.of(1L, 2L, 2L, 1L), facets.getCategoryCounts());
+        assertEquals(1, facets.getInStock());
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void getFacets_ShouldServeFromCacheUntilCatalogChanges() {
+        // Arrange
+        final ProductFilter filter = ProductFilter.builder().build();
+
+        // Act
+        final ProductFacetsResponse first = productFacetService.getFacets(filter, 5);
+        final ProductFacetsResponse second = productFacetService.getFacets(filter, 5);
+        productFacetService.onCatalogChanged(CatalogChangedEvent.productDeleted(10L));
+        final ProductFacetsResponse third = productFacetService.getFacets(filter, 5);
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(first, third);
+        assertNotSame(first, third);
+    }
+
+    @Test
+    void getFacets_ShouldThrow_WhenPriceBucketsAreOutOfRange() {
+        // Arrange
+        final ProductFilter filter = ProductFilter.builder().build();
+
+        // Act & Assert
+        assertThrows(InvalidPageRequestException.class, () -> productFacetService.getFacets(filter, 0));
+        assertThrows(InvalidPageRequestException.class, () -> productFacetService.getFacets(filter, -5));
+        assertThrows(InvalidPageRequestException.class, () -> productFacetService.getFacets(filter, ProductFacetServiceImpl.MAX_PRICE_BUCKETS + 1));
+        verifyNoInteractions(productRepository);
+    }
+}
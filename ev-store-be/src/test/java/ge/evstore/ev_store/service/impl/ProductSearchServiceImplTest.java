@@ -0,0 +1,60 @@
+package ge.evstore.ev_store.service.impl;
+
+import ge.evstore.ev_store.catalog.CatalogSnapshot;
+import ge.evstore.ev_store.event.CatalogSnapshotLoadedEvent;
+import ge.evstore.ev_store.event.CatalogSnapshotPatchedEvent;
+import ge.evstore.ev_store.exception.InvalidPageRequestException;
+import ge.evstore.ev_store.response.ProductResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProductSearchServiceImplTest {
+
+    private ProductSearchServiceImpl productSearchService;
+
+    @BeforeEach
+    void setUp() {
+        productSearchService = new ProductSearchServiceImpl();
+    }
+
+    @Test
+    void search_ShouldSeeCommittedWrites_WhenSnapshotIsPatched() {
+        // Arrange
+        final CatalogSnapshot snapshot = mock(CatalogSnapshot.class);
+        when(snapshot.getProducts()).thenReturn(List.of(product(1L, "Wall box"), product(2L, "Type 2 cable")));
+        productSearchService.onSnapshotLoaded(new CatalogSnapshotLoadedEvent(snapshot));
+
+        // Act
+        productSearchService.onSnapshotPatched(new CatalogSnapshotPatchedEvent(snapshot, 1L, product(1L, "Wall cable")));
+        productSearchService.onSnapshotPatched(new CatalogSnapshotPatchedEvent(snapshot, 2L, null));
+
+        // Assert
+        assertEquals(List.of(1L), productSearchService.search("cable", 10));
+        assertTrue(productSearchService.search("box", 10).isEmpty());
+    }
+
+    @Test
+    void search_ShouldThrow_WhenLimitIsOutOfRange() {
+        // Act & Assert
+        assertThrows(InvalidPageRequestException.class, () -> productSearchService.search("cable", -1));
+        assertThrows(InvalidPageRequestException.class, () -> productSearchService.search("cable", 0));
+        assertThrows(InvalidPageRequestException.class, () -> productSearchService.search("cable", ProductSearchServiceImpl.MAX_LIMIT + 1));
+    }
+
+    @Test
+    void autocomplete_ShouldThrow_WhenLimitIsOutOfRange() {
+        // Act & Assert
+        assertThrows(InvalidPageRequestException.class, () -> productSearchService.autocomplete("ca", -1));
+        assertThrows(InvalidPageRequestException.class, () -> productSearchService.autocomplete("ca", ProductSearchServiceImpl.MAX_LIMIT + 1));
+    }
+
+    private static ProductResponse product(final Long id, final String name) {
+        return ProductResponse.builder().productId(id).nameENG(name).build();
+    }
+}
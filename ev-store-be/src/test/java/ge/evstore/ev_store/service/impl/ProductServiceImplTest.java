@@ -1,23 +1,45 @@
 package ge.evstore.ev_store.service.impl;
 
-import ge.evstore.ev_store.converter.JsonListConverter;
-import ge.evstore.ev_store.entity.MaxPriceEasySaver;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ge.evstore.ev_store.cache.ListingCountCache;
+import ge.evstore.ev_store.catalog.CatalogSnapshot;
+import ge.evstore.ev_store.catalog.ProductCursor;
+import ge.evstore.ev_store.catalog.ProductFilter;
+import ge.evstore.ev_store.catalog.ProductSortKey;
+import ge.evstore.ev_store.entity.Category;
 import ge.evstore.ev_store.entity.Product;
+import ge.evstore.ev_store.exception.InvalidPageRequestException;
 import ge.evstore.ev_store.exception.ProductNotFoundException;
-import ge.evstore.ev_store.repository.MaxPriceSaverRepository;
+import ge.evstore.ev_store.repository.ProductJdbcRepository;
 import ge.evstore.ev_store.repository.ProductRepository;
 import ge.evstore.ev_store.response.MaxPriceResponse;
+import ge.evstore.ev_store.response.PriceStatisticsResponse;
+import ge.evstore.ev_store.response.ProductResponse;
+import ge.evstore.ev_store.response.ProductScrollResponse;
+import ge.evstore.ev_store.service.interf.CatalogIndexService;
 import ge.evstore.ev_store.service.interf.CategoryService;
+import ge.evstore.ev_store.service.interf.PriceStatisticsService;
+import ge.evstore.ev_store.service.interf.ProductPopularityService;
+import ge.evstore.ev_store.service.interf.ProductSearchService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class ProductServiceImplTest {
@@ -26,20 +48,33 @@ class ProductServiceImplTest {
     private ProductRepository productRepository;
 
     @Mock
-    private MaxPriceSaverRepository maxPriceSaverRepository;
+    private PriceStatisticsService priceStatisticsService;
 
     @Mock
     private CategoryService categoryService;
 
     @Mock
-    private JsonListConverter jsonListConverter;
+    private CatalogIndexService catalogIndexService;
+
+    @Mock
+    private ProductSearchService productSearchService;
+
+    @Mock
+    private ListingCountCache listingCountCache;
+
+    @Mock
+    private ProductJdbcRepository productJdbcRepository;
+
+    @Mock
+    private ProductPopularityService productPopularityService;
 
     private ProductServiceImpl productService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        productService = new ProductServiceImpl(productRepository, maxPriceSaverRepository, categoryService, jsonListConverter);
+        productService = new ProductServiceImpl(productRepository, priceStatisticsService, categoryService, catalogIndexService, productSearchService, listingCountCache,
+                productJdbcRepository, new ObjectMapper(), productPopularityService);
     }
 
     @Test
@@ -84,11 +119,9 @@ class ProductServiceImplTest {
     }
 
     @Test
-    void getOverAllMaxPrice_ShouldReturnMaxPrice_WhenRepositoryHasData() {
+    void getOverAllMaxPrice_ShouldReturnMaxPrice_WhenProductsArePriced() {
         // Arrange
-        final MaxPriceEasySaver mockSaver = new MaxPriceEasySaver();
-        mockSaver.setMaxPrice(199.99);
-        when(maxPriceSaverRepository.findAll()).thenReturn(List.of(mockSaver));
+        when(priceStatisticsService.getStatistics(null)).thenReturn(new PriceStatisticsResponse(3, 10.0, 199.99, 50.0, 199.99));
 
         // Act
         final MaxPriceResponse response = productService.getOverAllMaxPrice();
@@ -96,13 +129,13 @@ class ProductServiceImplTest {
         // Assert
         assertNotNull(response);
         assertEquals(200.0, response.getMaxPrice()); // MaxPrice is rounded up
-        verify(maxPriceSaverRepository, times(1)).findAll();
+        verify(priceStatisticsService, times(1)).getStatistics(null);
     }
 
     @Test
-    void getOverAllMaxPrice_ShouldReturnZero_WhenRepositoryIsEmpty() {
+    void getOverAllMaxPrice_ShouldReturnZero_WhenNoProductIsPriced() {
         // Arrange
-        when(maxPriceSaverRepository.findAll()).thenReturn(Collections.emptyList());
+        when(priceStatisticsService.getStatistics(null)).thenReturn(new PriceStatisticsResponse(0, null, null, null, null));
 
         // Act
         final MaxPriceResponse response = productService.getOverAllMaxPrice();
@@ -110,6 +143,114 @@ class ProductServiceImplTest {
         // Assert
         assertNotNull(response);
         assertEquals(0.0, response.getMaxPrice());
-        verify(maxPriceSaverRepository, times(1)).findAll();
     }
-}
\ No newline at end of file
+
+    @Test
+    void getMaxPriceByCategory_ShouldReturnMaxPriceOfCategory() {
+        // Arrange
+        when(priceStatisticsService.getStatistics(4L)).thenReturn(new PriceStatisticsResponse(1, 49.5, 49.5, 49.5, 49.5));
+
+        // Act
+        final MaxPriceResponse response = productService.getMaxPriceByCategory(4L);
+
+        // Assert
+        assertEquals(50.0, response.getMaxPrice());
+    }
+
+    @Test
+    void getAllProducts_ShouldUseCatalogIndex_WhenIndexCanServeQuery() {
+        // Arrange
+        final Page<ProductResponse> indexed = new PageImpl<>(List.of(ProductResponse.builder().productId(1L).build()));
+        when(catalogIndexService.canServe(any(ProductFilter.class), eq("price"))).thenReturn(true);
+        when(catalogIndexService.findAll(any(ProductFilter.class), any(Pageable.class))).thenReturn(indexed);
+
+        // Act
+        final Slice<ProductResponse> result = productService.getAllProducts(0, 10, "price", "asc", null, null, null, null, true, null, null, null, null, true);
+
+        // Assert
+        assertSame(indexed, result);
+        verifyNoInteractions(productRepository, categoryService);
+    }
+
+    @Test
+    void getAllProducts_ShouldSkipCount_WhenTotalIsNotRequested() {
+        // Arrange
+        final Window<Product> window = Window.from(List.of(productInCategory(1L)), ScrollPosition::offset, true);
+        when(productRepository.findBy(any(Specification.class), any())).thenReturn(window);
+
+        // Act
+        final Slice<ProductResponse> result = productService.getAllProducts(2, 1, "price", "asc", null, null, null, null, null, null, null, null, null, false);
+
+        // Assert
+        assertFalse(result instanceof Page);
+        assertTrue(result.hasNext());
+        assertEquals(1, result.getContent().size());
+        verify(productRepository, never()).count(any(Specification.class));
+        verifyNoInteractions(listingCountCache);
+    }
+
+    @Test
+    void getAllProducts_ShouldTakeTotalFromCountCache_WhenTotalIsRequested() {
+        // Arrange
+        final Window<Product> window = Window.from(List.of(productInCategory(1L)), ScrollPosition::offset, false);
+        when(productRepository.findBy(any(Specification.class), any())).thenReturn(window);
+        when(listingCountCache.countProducts(any(ProductFilter.class), any())).thenReturn(11L);
+
+        // Act
+        final Slice<ProductResponse> result = productService.getAllProducts(0, 10, "price", "asc", null, null, null, null, null, null, null, null, null, true);
+
+        // Assert
+        assertEquals(11L, ((Page<ProductResponse>) result).getTotalElements());
+        verify(productRepository, never()).count(any(Specification.class));
+    }
+
+    @Test
+    void getAllProducts_ShouldListRankedProductsInRankOrder_WhenSortedByPopularity() {
+        // Arrange
+        final CatalogSnapshot snapshot = CatalogSnapshot.of(List.of(
+                ProductResponse.builder().productId(1L).categoryId(5L).stockAmount(1).build(),
+                ProductResponse.builder().productId(2L).categoryId(5L).stockAmount(0).build(),
+                ProductResponse.builder().productId(3L).categoryId(5L).stockAmount(4).build()), Collections.singletonMap(5L, null));
+        when(productPopularityService.getPopularProductIds(null)).thenReturn(List.of(3L, 2L, 1L));
+        when(catalogIndexService.getSnapshot()).thenReturn(Optional.of(snapshot));
+
+        // Act
+        final Slice<ProductResponse> result = productService.getAllProducts(0, 10, ProductPopularityService.SORT_PROPERTY, "asc", null, null, null, null, true, null, null, null, null, true);
+
+        // Assert
+        assertEquals(List.of(3L, 1L), result.getContent().stream().map(ProductResponse::getProductId).toList());
+        assertEquals(2L, ((Page<ProductResponse>) result).getTotalElements());
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void scrollProducts_ShouldReturnCursorOfLastRow_WhenMoreRowsExist() {
+        // Arrange
+        final List<Product> rows = List.of(productInCategory(3L), productInCategory(1L), productInCategory(2L));
+        when(productRepository.findBy(any(Specification.class), any())).thenReturn(rows);
+
+        // Act
+        final ProductScrollResponse result = productService.scrollProducts(ProductFilter.builder().build(), 2, "price", "asc", null);
+
+        // Assert
+        assertTrue(result.isHasNext());
+        assertEquals(2, result.getContent().size());
+        final ProductCursor next = ProductCursor.decode(result.getNextCursor(), ProductSortKey.PRICE);
+        assertEquals(1L, next.getId());
+        assertEquals(10.0, next.getValue());
+    }
+
+    @Test
+    void scrollProducts_ShouldThrow_WhenSortIsNotIndexed() {
+        // Act & Assert
+        assertThrows(InvalidPageRequestException.class,
+                () -> productService.scrollProducts(ProductFilter.builder().build(), 10, "descriptionENG", "asc", null));
+        verifyNoInteractions(productRepository);
+    }
+
+    private static Product productInCategory(final Long id) {
+        final Category category = new Category();
+        category.setId(1L);
+        return Product.builder().id(id).price(id * 10.0).category(category).build();
+    }
+}
@@ -0,0 +1,138 @@
+package ge.evstore.ev_store.service.impl;
+
+import ge.evstore.ev_store.entity.CatalogChange;
+import ge.evstore.ev_store.repository.CatalogChangeRepository;
+import ge.evstore.ev_store.repository.CategoryRepository;
+import ge.evstore.ev_store.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class SitemapServiceImplTest {
+
+    @Mock
+    private CatalogChangeRepository catalogChangeRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @TempDir
+    Path directory;
+
+    private SitemapServiceImpl sitemapService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        sitemapService = service();
+        when(categoryRepository.findAllIds()).thenReturn(List.of(1L));
+    }
+
+    @Test
+    void refresh_ShouldWriteAllShardsAndIndex_WhenRunForTheFirstTime() throws Exception {
+        // Arrange
+        when(catalogChangeRepository.findLatestSequence()).thenReturn(Optional.of(7L));
+        when(productRepository.findAllIds()).thenReturn(List.of(3L, 12L, 25L));
+
+        // Act
+        sitemapService.refresh();
+
+        // Assert
+        assertTrue(read("sitemap-products-0.xml").contains("<loc>https://evstore.ge/product/3</loc>"));
+        assertTrue(read("sitemap-products-1.xml").contains("<loc>https://evstore.ge/product/12</loc>"));
+        assertTrue(read("sitemap-products-2.xml").contains("<loc>https://evstore.ge/product/25</loc>"));
+        assertTrue(read("sitemap-categories.xml").contains("<loc>https://evstore.ge/catalog?categories=1</loc>"));
+        final String index = read("sitemap.xml");
+        assertTrue(index.contains("<loc>https://evstore.ge/sitemap-categories.xml</loc>"));
+        assertTrue(index.indexOf("sitemap-products-1.xml") < index.indexOf("sitemap-products-2.xml"));
+        assertTrue(Files.exists(directory.resolve("sitemap-products-0.xml.gz")));
+    }
+
+    @Test
+    void refresh_ShouldRewriteOnlyChangedShards_WhenContinuingFromStoredSequence() throws Exception {
+        // Arrange
+        when(catalogChangeRepository.findLatestSequence()).thenReturn(Optional.of(7L));
+        when(productRepository.findAllIds()).thenReturn(List.of(3L, 12L));
+        sitemapService.refresh();
+        // a restarted instance continues from the sequence stored with the files
+        sitemapService = service();
+        when(catalogChangeRepository.findLatestSequence()).thenReturn(Optional.of(9L));
+        when(catalogChangeRepository.findByIdGreaterThanOrderByIdAsc(7L, Limit.of(1000))).thenReturn(List.of(
+                CatalogChange.builder().id(8L).productId(12L).type(CatalogChange.Type.DELETE).build(),
+                CatalogChange.builder().id(9L).productId(14L).type(CatalogChange.Type.UPSERT).build()));
+        when(productRepository.findIdsBetween(10L, 19L)).thenReturn(List.of(14L));
+
+        // Act
+        sitemapService.refresh();
+
+        // Assert
+        final String shard = read("sitemap-products-1.xml");
+        assertTrue(shard.contains("/product/14<"));
+        assertFalse(shard.contains("/product/12<"));
+        verify(productRepository, times(1)).findAllIds();
+        verify(productRepository, never()).findIdsBetween(0L, 9L);
+        assertEquals("9", read("sitemap.sequence"));
+    }
+
+    @Test
+    void refresh_ShouldDeleteShardAndDropItFromIndex_WhenItsLastProductIsDeleted() throws Exception {
+        // Arrange
+        when(catalogChangeRepository.findLatestSequence()).thenReturn(Optional.of(1L));
+        when(productRepository.findAllIds()).thenReturn(List.of(3L, 12L));
+        sitemapService.refresh();
+        when(catalogChangeRepository.findLatestSequence()).thenReturn(Optional.of(2L));
+        when(catalogChangeRepository.findByIdGreaterThanOrderByIdAsc(1L, Limit.of(1000))).thenReturn(List.of(
+                CatalogChange.builder().id(2L).productId(12L).type(CatalogChange.Type.DELETE).build()));
+        when(productRepository.findIdsBetween(anyLong(), anyLong())).thenReturn(List.of());
+
+        // Act
+        sitemapService.refresh();
+
+        // Assert
+        assertFalse(Files.exists(directory.resolve("sitemap-products-1.xml")));
+        assertFalse(Files.exists(directory.resolve("sitemap-products-1.xml.gz")));
+        assertFalse(read("sitemap.xml").contains("sitemap-products-1.xml"));
+    }
+
+    @Test
+    void refresh_ShouldRegenerateEverything_WhenStoredSequenceIsAheadOfDatabase() throws Exception {
+        // Arrange
+        when(catalogChangeRepository.findLatestSequence()).thenReturn(Optional.of(50L));
+        when(productRepository.findAllIds()).thenReturn(List.of(3L));
+        sitemapService.refresh();
+        sitemapService = service();
+        when(catalogChangeRepository.findLatestSequence()).thenReturn(Optional.of(0L));
+
+        // Act
+        sitemapService.refresh();
+
+        // Assert
+        verify(productRepository, times(2)).findAllIds();
+        assertEquals("0", read("sitemap.sequence"));
+    }
+
+    private SitemapServiceImpl service() {
+        return new SitemapServiceImpl(catalogChangeRepository, productRepository, categoryRepository,
+                directory.toString(), "https://evstore.ge/", "https://evstore.ge", 10);
+    }
+
+    private String read(final String file) throws Exception {
+        return Files.readString(directory.resolve(file), StandardCharsets.UTF_8);
+    }
+}
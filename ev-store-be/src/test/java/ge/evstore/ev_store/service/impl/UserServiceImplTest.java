@@ -15,12 +15,14 @@ import ge.evstore.ev_store.response.OrderHistoryResponse;
 import ge.evstore.ev_store.response.UserResponse;
 import ge.evstore.ev_store.service.interf.ProductService;
 import ge.evstore.ev_store.utils.JwtUtils;
+import ge.evstore.ev_store.event.OrderChangedEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
@@ -54,6 +56,9 @@ class UserServiceImplTest {
     @Mock
     private ParametersConfigEntityRepository configEntityRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private UserServiceImpl userService;
 
     private final int VERIFICATION_CODE_DURATION = 30;
@@ -70,7 +75,8 @@ class UserServiceImplTest {
                 jwtUtils,
                 productService,
                 orderRepository,
-                configEntityRepository
+                configEntityRepository,
+                eventPublisher
         );
     }
 
@@ -427,6 +433,7 @@ class UserServiceImplTest {
         verify(productService).getProductById(1L);
         verify(productService).getProductById(2L);
         verify(orderRepository).save(result);
+        verify(eventPublisher).publishEvent(any(OrderChangedEvent.class));
     }
 
     @Test
@@ -0,0 +1,34 @@
+package ge.evstore.ev_store.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TransliterationUtilsTest {
+
+    @Test
+    void fold_withGeorgianText_shouldTransliterateToLatin() {
+        // Act & Assert
+        assertEquals("damteni kabeli", TransliterationUtils.fold("დამტენი კაბელი"));
+        assertEquals("shtsheli", TransliterationUtils.fold("შტშელი"));
+    }
+
+    @Test
+    void fold_withCyrillicText_shouldTransliterateToLatin() {
+        // Act & Assert
+        assertEquals("kabel", TransliterationUtils.fold("Кабель"));
+        assertEquals("zaryadka", TransliterationUtils.fold("Зарядка"));
+    }
+
+    @Test
+    void fold_withAccentedLatinText_shouldStripDiacriticsAndLowerCase() {
+        // Act & Assert
+        assertEquals("cafe type 2", TransliterationUtils.fold("Café TYPE 2"));
+    }
+
+    @Test
+    void fold_withNull_shouldReturnEmptyString() {
+        // Act & Assert
+        assertEquals("", TransliterationUtils.fold(null));
+    }
+}